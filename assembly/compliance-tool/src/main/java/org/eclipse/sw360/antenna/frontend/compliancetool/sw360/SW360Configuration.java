@@ -23,6 +23,7 @@ import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -35,6 +36,7 @@ public class SW360Configuration extends ConfigurableWorkflowItem {
     private final SW360Connection connection;
     private final Path sourcesPath;
     private final Path baseDir;
+    private final Path downloadCacheDirectory;
     private final ServiceFactory serviceFactory;
 
     public SW360Configuration(File propertiesFile) {
@@ -59,6 +61,9 @@ public class SW360Configuration extends ConfigurableWorkflowItem {
         baseDir = Paths.get(getProperty("basedir")).toAbsolutePath().normalize();
         sourcesPath = baseDir.resolve(getProperty("sourcesDirectory"));
         csvFilePath = baseDir.resolve(getProperty("csvFilePath"));
+        String downloadCacheProperty = properties.get("downloadCacheDirectory");
+        downloadCacheDirectory = StringUtils.isBlank(downloadCacheProperty) ? null :
+                baseDir.resolve(downloadCacheProperty);
         connection = makeConnection();
     }
 
@@ -95,6 +100,16 @@ public class SW360Configuration extends ConfigurableWorkflowItem {
         return csvFilePath;
     }
 
+    /**
+     * Returns the directory of the download cache shared across runs, which
+     * is configured by the optional {@code downloadCacheDirectory} property.
+     *
+     * @return an {@code Optional} with the download cache directory
+     */
+    public Optional<Path> getDownloadCacheDirectory() {
+        return Optional.ofNullable(downloadCacheDirectory);
+    }
+
     /**
      * Returns the value of the configuration property with the given key. All
      * properties are considered mandatory; so if the property cannot be
@@ -130,6 +145,7 @@ public class SW360Configuration extends ConfigurableWorkflowItem {
         logger.info("Base directory: {}", getBaseDir());
         logger.info("Sources directory: {}", getSourcesPath());
         logger.info("CSV path: {}", getCsvFilePath());
+        getDownloadCacheDirectory().ifPresent(directory -> logger.info("Download cache directory: {}", directory));
     }
 
     SW360ConnectionConfigurationFactory getConnectionFactory() {
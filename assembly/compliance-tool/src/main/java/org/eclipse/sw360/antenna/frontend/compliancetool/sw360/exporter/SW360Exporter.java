@@ -23,6 +23,7 @@ import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360Spar
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360Release;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360SparseRelease;
 import org.eclipse.sw360.antenna.sw360.utils.ArtifactToReleaseUtils;
+import org.eclipse.sw360.antenna.util.DownloadCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,7 +31,6 @@ import java.io.File;
 import java.nio.charset.Charset;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -69,7 +69,8 @@ public class SW360Exporter {
     private SW360Connection connection;
 
     public SW360Exporter(SW360Configuration configuration) {
-        this(configuration, new SourcesExporter(configuration.getSourcesPath()));
+        this(configuration, new SourcesExporter(configuration.getSourcesPath(),
+                configuration.getDownloadCacheDirectory().map(DownloadCache::new)));
     }
 
     SW360Exporter(SW360Configuration configuration, SourcesExporter sourcesExporter) {
@@ -90,11 +91,6 @@ public class SW360Exporter {
         Collection<ReleaseWithSources> nonApprovedReleasesWithSources =
                 sourcesExporter.downloadSources(connection.getReleaseAdapterAsync(), sw360ReleasesNotApproved);
 
-        List<Artifact> artifacts = nonApprovedReleasesWithSources.stream()
-                .sorted(RELEASES_COMPARATOR)
-                .map(this::releaseAsArtifact)
-                .collect(Collectors.toList());
-
         File csvFile =  configuration.getCsvFilePath()
                 .toFile();
 
@@ -103,7 +99,9 @@ public class SW360Exporter {
                 configuration.getProperty(PROP_DELIMITER).charAt(0),
                 configuration.getBaseDir());
 
-        csvArtifactMapper.writeArtifactsToCsvFile(artifacts);
+        csvArtifactMapper.writeArtifactsToCsvFile(nonApprovedReleasesWithSources.stream()
+                .sorted(RELEASES_COMPARATOR)
+                .map(this::releaseAsArtifact));
 
         if (Boolean.parseBoolean(configuration.getProperty(PROP_REMOVE_SOURCES))) {
             sourcesExporter.removeUnreferencedFiles(nonApprovedReleasesWithSources);
@@ -20,6 +20,7 @@ import org.eclipse.sw360.antenna.sw360.client.rest.resource.attachments.SW360Spa
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360Release;
 import org.eclipse.sw360.antenna.sw360.client.utils.FutureUtils;
 import org.eclipse.sw360.antenna.sw360.client.utils.SW360ClientException;
+import org.eclipse.sw360.antenna.util.DownloadCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -82,6 +83,12 @@ class SourcesExporter {
      */
     private final Path sourcePath;
 
+    /**
+     * The cache from which attachments are taken by their hash instead of
+     * downloading them, if any.
+     */
+    private final Optional<DownloadCache> downloadCache;
+
     /**
      * Creates a new instance of {@code SourcesExporter} and sets the directory
      * where sources are to be downloaded.
@@ -89,7 +96,20 @@ class SourcesExporter {
      * @param sourcePath the path to the sources directory
      */
     public SourcesExporter(Path sourcePath) {
+        this(sourcePath, Optional.empty());
+    }
+
+    /**
+     * Creates a new instance of {@code SourcesExporter} which takes the
+     * attachments from the given download cache if possible and adds all
+     * downloaded attachments to it.
+     *
+     * @param sourcePath    the path to the sources directory
+     * @param downloadCache the cache for downloaded files, if any
+     */
+    public SourcesExporter(Path sourcePath, Optional<DownloadCache> downloadCache) {
         this.sourcePath = sourcePath;
+        this.downloadCache = downloadCache;
     }
 
     /**
@@ -164,7 +184,8 @@ class SourcesExporter {
 
     /**
      * Asynchronously downloads a single source attachment. A download is
-     * triggered only if no local file with the expected hash exists. If the
+     * triggered only if no local file with the expected hash exists and the
+     * download cache does not contain a file with this hash either. If the
      * download fails, a meaningful exception message is generated.
      *
      * @param releaseAdapter the release adapter
@@ -176,16 +197,62 @@ class SourcesExporter {
     private CompletableFuture<Path> downloadAttachment(SW360ReleaseClientAdapterAsync releaseAdapter,
                                                        SW360Release release, SW360SparseAttachment attachment,
                                                        Path releasePath) {
-        return getLocalAttachmentPath(attachment, releasePath)
+        Optional<Path> localPath = getLocalAttachmentPath(attachment, releasePath);
+        if (!localPath.isPresent()) {
+            localPath = getCachedAttachmentPath(attachment, releasePath);
+        }
+        return localPath
                 .map(CompletableFuture::completedFuture)
                 .orElseGet(() -> FutureUtils.wrapFutureForConditionalFallback(releaseAdapter.processAttachment(release,
                         attachment.getAttachmentId(),
                         createDownloadProcessor(releasePath, attachment)), ex -> true,
                         () -> FutureUtils.failedFuture(new IllegalStateException(String.format(FMT_DOWNLOAD_ERROR,
                                 attachment.getFilename(), release.getName(), release.getVersion()))))
+                        .thenApply(this::addToDownloadCache)
                 );
     }
 
+    /**
+     * Tries to place an attachment from the download cache in the release
+     * folder. SW360 stores the SHA-1 hash of every attachment, so the
+     * attachment can be looked up in the cache without downloading it.
+     *
+     * @param attachment  the attachment affected
+     * @param releasePath the path where to store the release's attachments
+     * @return an {@code Optional} with the local attachment path
+     */
+    private Optional<Path> getCachedAttachmentPath(SW360SparseAttachment attachment, Path releasePath) {
+        if (!downloadCache.isPresent() || attachment.getSha1() == null) {
+            return Optional.empty();
+        }
+        Path localPath = releasePath.resolve(sanitizePath(attachment.getFilename()));
+        try {
+            return downloadCache.get().linkByChecksum(attachment.getSha1(), localPath)
+                    .map(file -> localPath);
+        } catch (IOException e) {
+            LOG.warn("Failed to take attachment {} from the download cache", attachment.getFilename(), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores a downloaded attachment in the download cache, if there is one.
+     * Failures are only logged, as the attachment itself is available.
+     *
+     * @param downloadedPath the path of the downloaded attachment
+     * @return the path of the downloaded attachment
+     */
+    private Path addToDownloadCache(Path downloadedPath) {
+        if (downloadCache.isPresent()) {
+            try {
+                downloadCache.get().storeFile(downloadedPath, null);
+            } catch (IOException e) {
+                LOG.warn("Failed to store attachment {} in the download cache", downloadedPath, e);
+            }
+        }
+        return downloadedPath;
+    }
+
     /**
      * Tries to find the local path for an attachment. This method prevents
      * unnecessary downloads by checking whether the attachment already exists
@@ -47,6 +47,13 @@ public class ConfigurationTest extends AntennaTestWithMockedContext {
         verify(antennaContextMock, atLeast(0)).getConfiguration();
         verify(antennaContextMock, atLeast(0)).getProcessingReporter();
         verify(toolConfigMock, atLeast(0)).getWorkflow();
+        verify(toolConfigMock, atLeast(0)).getAnalyzerParallelism();
+        verify(toolConfigMock, atLeast(0)).getProcessorParallelism();
+        verify(toolConfigMock, atLeast(0)).getGeneratorParallelism();
+        verify(toolConfigMock, atLeast(0)).isRecordStepMetrics();
+        verify(toolConfigMock, atLeast(0)).isIncrementalExecution();
+        verify(toolConfigMock, atLeast(0)).getDownloadCacheDirectory();
+        verify(toolConfigMock, atLeast(0)).getArtifactChunkSize();
 
         // antenna-source-validator
         verify(configMock, atLeast(0)).getValidForMissingSources();
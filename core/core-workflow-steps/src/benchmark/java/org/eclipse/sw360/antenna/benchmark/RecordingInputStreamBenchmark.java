@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.benchmark;
+
+import org.eclipse.sw360.antenna.jsonreader.RecordingInputStream;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of reading a JSON document of 16 MB from the raw
+ * stream with reading it through a {@link RecordingInputStream}, which
+ * records it to a plain or a gzip compressed file.
+ * <p>
+ * The document is read by a reader with the default buffer, like the JSON
+ * parsers of the {@code JsonReader} do.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile} and the main method of this
+ * class on the test class path.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecordingInputStreamBenchmark {
+    private static final int DOCUMENT_SIZE = 16 * 1024 * 1024;
+
+    private byte[] document;
+    private Path recordingDirectory;
+
+    @Setup
+    public void setUp() throws IOException {
+        StringBuilder json = new StringBuilder("{\"components\": [");
+        for (int i = 0; json.length() < DOCUMENT_SIZE; i++) {
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"hash\": \"").append(Integer.toHexString(i * 31 + 17))
+                    .append("\", \"pathnames\": [\"lib/component-").append(i).append(".jar\"]")
+                    .append(", \"matchState\": \"exact\", \"proprietary\": false}");
+        }
+        document = json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+        recordingDirectory = Files.createTempDirectory("recording-benchmark");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(recordingDirectory.resolve("recording.json"));
+        Files.deleteIfExists(recordingDirectory.resolve("recording.json.gz"));
+        Files.deleteIfExists(recordingDirectory);
+    }
+
+    private static long consume(InputStream stream) throws IOException {
+        long checksum = 0;
+        try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+            char[] buffer = new char[8192];
+            int read;
+            while ((read = reader.read(buffer)) >= 0) {
+                checksum += read;
+            }
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long rawStream() throws IOException {
+        return consume(new ByteArrayInputStream(document));
+    }
+
+    @Benchmark
+    public long recordingStream() throws IOException {
+        return consume(new RecordingInputStream(new ByteArrayInputStream(document),
+                recordingDirectory.resolve("recording.json")));
+    }
+
+    @Benchmark
+    public long gzipRecordingStream() throws IOException {
+        return consume(new RecordingInputStream(new ByteArrayInputStream(document),
+                recordingDirectory.resolve("recording.json.gz")));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RecordingInputStreamBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -19,12 +19,14 @@ import org.eclipse.sw360.antenna.api.exceptions.ExecutionException;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
 import org.eclipse.sw360.antenna.model.artifact.ArtifactCoordinates;
 import org.eclipse.sw360.antenna.model.artifact.ArtifactFactWithPayload;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactIdentifierIndex;
 import org.eclipse.sw360.antenna.model.artifact.facts.*;
 import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
 import org.eclipse.sw360.antenna.model.coordinates.CoordinateBuilder;
 import org.eclipse.sw360.antenna.model.license.License;
 import org.eclipse.sw360.antenna.model.license.LicenseInformation;
 import org.eclipse.sw360.antenna.model.xml.generated.MatchState;
+import org.eclipse.sw360.antenna.workflow.WorkflowStepExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,12 +36,20 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class CSVArtifactMapper {
     private static final Logger LOGGER = LoggerFactory.getLogger(CSVArtifactMapper.class);
 
+    /**
+     * The number of records mapped to artifacts by one task in the parallel
+     * parse mode.
+     */
+    static final int RECORDS_PER_CHUNK = 256;
+
     private static final String NAME = "Artifact Id";
     private static final String GROUP = "Group Id";
     private static final String VERSION = "Version";
@@ -79,23 +89,50 @@ public class CSVArtifactMapper {
     private final Charset encoding;
     private final char delimiter;
     private final Path baseDir;
+    private final int parallelism;
 
 
     public CSVArtifactMapper(Path csvFile, Charset encoding, char delimiter, Path baseDir) {
+        this(csvFile, encoding, delimiter, baseDir, 1);
+    }
+
+    /**
+     * Creates a mapper which maps the records of the csv file to artifacts on
+     * the given number of threads. The records are still read and the
+     * artifacts are still merged in the order of the file, so the result is
+     * the same as with a single thread.
+     *
+     * @param parallelism the number of threads mapping the records, 1 maps
+     *                    them on the calling thread
+     */
+    public CSVArtifactMapper(Path csvFile, Charset encoding, char delimiter, Path baseDir, int parallelism) {
         this.csvFile = csvFile;
         this.encoding = encoding;
         this.delimiter = delimiter;
         this.baseDir = baseDir;
+        this.parallelism = Math.max(1, parallelism);
     }
 
     public Path writeArtifactsToCsvFile(Collection<Artifact> artifacts) {
-        try (BufferedWriter writer = Files.newBufferedWriter(csvFile);
-             CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT.withHeader(COLUMN_NAMES))
-        ) {
-            for (Artifact artifact : artifacts) {
-                csvPrinter.printRecords(makeCsvRecordsFromArtifact(artifact));
+        return writeArtifactsToCsvFile(artifacts.stream());
+    }
+
+    /**
+     * Writes the rows of every artifact as soon as the stream produces it, so
+     * that the artifacts do not have to be collected before the file is
+     * written.
+     *
+     * @param artifacts the artifacts to write
+     * @return the absolute path of the written file, or null if it could not
+     * be written
+     */
+    public Path writeArtifactsToCsvFile(Stream<Artifact> artifacts) {
+        try (ArtifactCsvWriter writer = openCsvWriter()) {
+            Iterator<Artifact> iterator = artifacts.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
             }
-            csvPrinter.flush();
+            writer.flush();
             return csvFile.toAbsolutePath();
         } catch (IOException e) {
             LOGGER.error("Error when writing the csv file", e);
@@ -103,6 +140,49 @@ public class CSVArtifactMapper {
         }
     }
 
+    /**
+     * Opens the csv file for writing artifacts one at a time. The header row
+     * is written immediately, the rows of an artifact are written when it is
+     * passed to {@link ArtifactCsvWriter#write(Artifact)}.
+     *
+     * @return the writer, which has to be closed by the caller
+     * @throws IOException if the file cannot be opened
+     */
+    public ArtifactCsvWriter openCsvWriter() throws IOException {
+        BufferedWriter writer = Files.newBufferedWriter(csvFile);
+        try {
+            return new ArtifactCsvWriter(new CSVPrinter(writer, CSVFormat.DEFAULT.withHeader(COLUMN_NAMES)));
+        } catch (IOException | RuntimeException e) {
+            writer.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the rows of artifacts to the csv file of the enclosing mapper.
+     */
+    public class ArtifactCsvWriter implements Closeable, Flushable {
+        private final CSVPrinter csvPrinter;
+
+        private ArtifactCsvWriter(CSVPrinter csvPrinter) {
+            this.csvPrinter = csvPrinter;
+        }
+
+        public void write(Artifact artifact) throws IOException {
+            csvPrinter.printRecords(makeCsvRecordsFromArtifact(artifact));
+        }
+
+        @Override
+        public void flush() throws IOException {
+            csvPrinter.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            csvPrinter.close();
+        }
+    }
+
     private Object[] makeCsvRecordsFromArtifact(Artifact artifact) {
         List<Object> csvRecords = new ArrayList<>();
 
@@ -172,34 +252,98 @@ public class CSVArtifactMapper {
     }
 
     public Collection<Artifact> createArtifactsList() {
-
         List<Artifact> artifacts = new ArrayList<>();
-        List<CSVRecord> records = getRecordsFromCsvFile();
+        ArtifactIdentifierIndex index = new ArtifactIdentifierIndex();
+        Consumer<Artifact> merger = newArtifact -> mergeArtifact(artifacts, index, newArtifact);
 
-        for (CSVRecord record : records) {
-            Artifact newArtifact = mapRecordToArtifact(record);
-
-            final Optional<Artifact> oldArtifact = artifactListContainsArtifact(artifacts, newArtifact);
-            if(oldArtifact.isPresent()) {
-                oldArtifact.get().mergeWith(newArtifact);
+        try (FileInputStream fs = new FileInputStream(csvFile.toAbsolutePath().toString());
+             InputStreamReader isr = new InputStreamReader(fs, encoding);
+             CSVParser csvParser = new CSVParser(isr, createCsvFormat())) {
+            Iterator<CSVRecord> records = csvParser.iterator();
+            if (parallelism > 1) {
+                mapRecordsInParallel(records, merger);
             } else {
-                artifacts.add(newArtifact);
+                while (hasNextRecord(records)) {
+                    merger.accept(mapRecordToArtifact(records.next()));
+                }
             }
+        } catch (FileNotFoundException e) {
+            throw new ExecutionException(
+                    "Antenna is configured to read a CSV configuration file (" + csvFile.toString() + "), but the file wasn't found",
+                    e);
+        } catch (IOException e) {
+            throw new ExecutionException("Error when attempting to parse CSV configuration file: " + csvFile.toString(), e);
         }
 
         return artifacts;
     }
 
-    private Optional<Artifact> artifactListContainsArtifact(List<Artifact> artifacts, Artifact artifact) {
-        return artifact.askFor(ArtifactCoordinates.class)
-                .flatMap(artifactCoordinates -> artifactListContainsArtifact(artifacts, artifactCoordinates));
+    /**
+     * Splits the records into chunks at record boundaries and maps the chunks
+     * concurrently. The file is tokenized on the calling thread, as a quoted
+     * value may contain line breaks, so that record boundaries cannot be found
+     * without parsing. The mapped artifacts are passed to the consumer in the
+     * order of the records.
+     */
+    private void mapRecordsInParallel(Iterator<CSVRecord> records, Consumer<Artifact> consumer) {
+        try (WorkflowStepExecutor executor = new WorkflowStepExecutor("csv-mapper", parallelism)) {
+            while (hasNextRecord(records)) {
+                List<List<CSVRecord>> chunks = new ArrayList<>(parallelism);
+                while (chunks.size() < parallelism && hasNextRecord(records)) {
+                    chunks.add(readChunk(records));
+                }
+                executor.invokeAll(chunks, this::mapRecordsToArtifacts)
+                        .forEach(chunk -> chunk.forEach(consumer));
+            }
+        }
+    }
+
+    private List<CSVRecord> readChunk(Iterator<CSVRecord> records) {
+        List<CSVRecord> chunk = new ArrayList<>(RECORDS_PER_CHUNK);
+        while (chunk.size() < RECORDS_PER_CHUNK && hasNextRecord(records)) {
+            chunk.add(records.next());
+        }
+        return chunk;
+    }
 
+    private List<Artifact> mapRecordsToArtifacts(List<CSVRecord> records) {
+        return records.stream()
+                .map(this::mapRecordToArtifact)
+                .collect(Collectors.toList());
     }
 
-    private Optional<Artifact> artifactListContainsArtifact(List<Artifact> artifacts, ArtifactCoordinates coordinates) {
-        return artifacts.stream()
-                .filter(coordinates::matches)
-                .findFirst();
+    /**
+     * The record iterator of the parser reports read errors as
+     * {@link IllegalStateException}, they are turned into the same exception
+     * as any other failure to parse the file.
+     */
+    private boolean hasNextRecord(Iterator<CSVRecord> records) {
+        try {
+            return records.hasNext();
+        } catch (IllegalStateException e) {
+            throw new ExecutionException("Error when attempting to parse CSV configuration file: " + csvFile.toString(), e);
+        }
+    }
+
+    /**
+     * Merges the artifact into the first artifact read before with matching
+     * coordinates, or adds it as a new artifact. Candidates are looked up in
+     * the index, as matching coordinates make artifacts potential duplicates.
+     * A merged artifact is added to the index again, as merging may have
+     * added identifiers to it.
+     */
+    private static void mergeArtifact(List<Artifact> artifacts, ArtifactIdentifierIndex index, Artifact newArtifact) {
+        final Optional<Artifact> oldArtifact = newArtifact.askFor(ArtifactCoordinates.class)
+                .flatMap(coordinates -> index.getPotentialDuplicatesOf(newArtifact).stream()
+                        .filter(coordinates::matches)
+                        .findFirst());
+        if (oldArtifact.isPresent()) {
+            oldArtifact.get().mergeWith(newArtifact);
+            index.add(oldArtifact.get());
+        } else {
+            artifacts.add(newArtifact);
+            index.add(newArtifact);
+        }
     }
 
     private Artifact mapRecordToArtifact(CSVRecord record) {
@@ -343,25 +487,10 @@ public class CSVArtifactMapper {
         return builder.build();
     }
 
-    private List<CSVRecord> getRecordsFromCsvFile() {
-        CSVFormat csvFormat = CSVFormat.DEFAULT;
-        csvFormat = csvFormat.withFirstRecordAsHeader();
-        csvFormat = csvFormat.withDelimiter(delimiter);
-        List<CSVRecord> records;
-
-        try (FileInputStream fs = new FileInputStream(csvFile.toAbsolutePath().toString());
-             InputStreamReader isr = new InputStreamReader(fs, encoding);
-             CSVParser csvParser = new CSVParser(isr, csvFormat)) {
-            records = csvParser.getRecords();
-        } catch (FileNotFoundException e) {
-            throw new ExecutionException(
-                    "Antenna is configured to read a CSV configuration file (" + csvFile.toString() + "), but the file wasn't found",
-                    e);
-        } catch (IOException e) {
-            throw new ExecutionException("Error when attempting to parse CSV configuration file: " + csvFile.toString(), e);
-        }
-
-        return records;
+    private CSVFormat createCsvFormat() {
+        return CSVFormat.DEFAULT
+                .withFirstRecordAsHeader()
+                .withDelimiter(delimiter);
     }
 
     private static String mapOverriddenLicenseToString(Artifact artifact) {
@@ -12,11 +12,14 @@
 
 package org.eclipse.sw360.antenna.jsonreader;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.github.cliftonlabs.json_simple.JsonArray;
 import com.github.cliftonlabs.json_simple.JsonException;
 import com.github.cliftonlabs.json_simple.JsonObject;
 import com.github.cliftonlabs.json_simple.Jsoner;
 import org.eclipse.sw360.antenna.api.exceptions.ExecutionException;
+import org.eclipse.sw360.antenna.api.service.ServiceFactory;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
 import org.eclipse.sw360.antenna.model.artifact.facts.*;
 import org.eclipse.sw360.antenna.model.artifact.facts.java.ArtifactPathnames;
@@ -35,12 +38,18 @@ import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 /**
  * Reads a JsonDocument and returns its JsonObjects.
+ * <p>
+ * Besides reading the whole document at once, the components can be read
+ * one after the other with {@link #readArtifacts(InputStream, Consumer)},
+ * so that the memory needed for parsing does not depend on the size of the
+ * document.
  */
 public class JsonReader {
     private static final Logger LOGGER = LoggerFactory.getLogger(JsonReader.class);
@@ -92,11 +101,7 @@ public class JsonReader {
         List<Artifact> artifacts = new ArrayList<>();
         List<JsonObject> objects = readJsonObjects(stream);
         for (JsonObject obj : objects) {
-            if (filterObject(obj, Optional.ofNullable(filterStrings))) {
-                continue;
-            }
-            Artifact artifact = mapArtifact(obj);
-            artifacts.add(artifact);
+            mapUnfilteredObject(obj, filterStrings).ifPresent(artifacts::add);
         }
         LOGGER.debug("Creation of artifacts list finished.");
         try {
@@ -107,6 +112,89 @@ public class JsonReader {
         return artifacts;
     }
 
+    /**
+     * Reads the components of the document incrementally and passes every
+     * component to the consumer as an artifact as soon as it has been read.
+     * Only the component currently read is kept in memory.
+     *
+     * @param stream   the stream of the document, which is closed afterwards
+     * @param consumer the consumer of the artifacts
+     */
+    public void readArtifacts(InputStream stream, Consumer<Artifact> consumer) {
+        readArtifacts(stream, null, consumer);
+    }
+
+    @SuppressWarnings("WeakerAccess")
+    protected void readArtifacts(InputStream stream, List<String> filterStrings, Consumer<Artifact> consumer) {
+        LOGGER.debug("Read artifacts incrementally from input stream.");
+        try (InputStream recordingStream = new RecordingInputStream(stream, recordingFile);
+             InputStreamReader reader = new InputStreamReader(recordingStream, encoding);
+             JsonParser parser = ServiceFactory.getObjectMapper().getFactory().createParser(reader)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new ExecutionException("Cannot read json objects from input stream, the document is no object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (COMPONENTS.equals(fieldName) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        mapUnfilteredObject((JsonObject) readValue(parser), filterStrings).ifPresent(consumer);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new ExecutionException("Cannot read json objects from input stream", e);
+        }
+        LOGGER.debug("Incremental reading of artifacts finished.");
+    }
+
+    /**
+     * Reads the value at the current token, in the representation created by
+     * {@link Jsoner#deserialize(java.io.Reader)}, so that it can be mapped in
+     * the same way.
+     */
+    private static Object readValue(JsonParser parser) throws IOException {
+        switch (parser.getCurrentToken()) {
+            case START_OBJECT:
+                JsonObject object = new JsonObject();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String fieldName = parser.getCurrentName();
+                    parser.nextToken();
+                    object.put(fieldName, readValue(parser));
+                }
+                return object;
+            case START_ARRAY:
+                JsonArray array = new JsonArray();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    array.add(readValue(parser));
+                }
+                return array;
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDecimalValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                throw new ExecutionException("Unexpected json token " + parser.getCurrentToken()
+                        + " at " + parser.getCurrentLocation());
+        }
+    }
+
+    private Optional<Artifact> mapUnfilteredObject(JsonObject obj, List<String> filterStrings) {
+        if (filterObject(obj, Optional.ofNullable(filterStrings))) {
+            return Optional.empty();
+        }
+        return Optional.of(mapArtifact(obj));
+    }
+
     public List<Artifact> createArtifactsList(InputStream is) {
         return createArtifactsList(is, null);
     }
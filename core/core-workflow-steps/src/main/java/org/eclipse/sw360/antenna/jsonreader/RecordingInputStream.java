@@ -16,15 +16,28 @@ import org.apache.commons.io.output.NullOutputStream;
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Reads the inputStream an returns the bytes which are read, and writes the
  * bytes to the file at the recordingFilePath.
+ * <p>
+ * Reads in bulk are passed through as they are and the read bytes are written
+ * to a buffered sink, so recording costs little more than reading. Skipped
+ * bytes are read and recorded as well, and mark/reset is not supported, so
+ * that the recording always equals the content of the stream. The recording
+ * is completed when the end of the stream is reached or the stream is
+ * closed. It can be compressed with gzip, which is done by default for
+ * recording files whose name ends with {@code .gz}.
  */
 public class RecordingInputStream extends InputStream {
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String GZIP_SUFFIX = ".gz";
+
     private InputStream target;
     private OutputStream output;
+    private boolean outputClosed;
 
     /**
      *
@@ -36,16 +49,38 @@ public class RecordingInputStream extends InputStream {
      * @throws IOException
      */
     public RecordingInputStream(InputStream target, Path recordingFilePath) throws IOException {
+        this(target, recordingFilePath,
+                recordingFilePath != null && recordingFilePath.getFileName().toString().endsWith(GZIP_SUFFIX));
+    }
+
+    /**
+     *
+     * @param target
+     *            InputStream which will be read.
+     * @param recordingFilePath
+     *            Path to the file to which the content of the InputStream is
+     *            written.
+     * @param compress
+     *            Whether the recording is compressed with gzip.
+     * @throws IOException
+     */
+    public RecordingInputStream(InputStream target, Path recordingFilePath, boolean compress) throws IOException {
         this.target = target;
         if (recordingFilePath == null) {
-            this.output = new NullOutputStream();
+            this.output = NullOutputStream.NULL_OUTPUT_STREAM;
         } else {
-            File recordingFile = recordingFilePath.toFile();
             Path parent = recordingFilePath.getParent();
             if (parent != null) {
                 Files.createDirectories(parent);
             }
-            this.output = new FileOutputStream(recordingFile);
+            OutputStream fileOutput = Files.newOutputStream(recordingFilePath);
+            try {
+                this.output = new BufferedOutputStream(
+                        compress ? new GZIPOutputStream(fileOutput, BUFFER_SIZE) : fileOutput, BUFFER_SIZE);
+            } catch (IOException e) {
+                fileOutput.close();
+                throw e;
+            }
         }
     }
 
@@ -56,21 +91,32 @@ public class RecordingInputStream extends InputStream {
      */
     @Override
     public int read() throws IOException {
-        int readByte = -1;
-        try {
-            readByte = target.read();
-
-            if (readByte != -1) {
-                output.write(readByte);
-            }
-        } finally {
-            if (readByte == -1) {
-                output.close();
-            }
+        int readByte = target.read();
+        if (readByte != -1) {
+            output.write(readByte);
+        } else {
+            closeOutput();
         }
         return readByte;
     }
 
+    /**
+     * Reads the InputStream in bulk and writes the read bytes to the
+     * specified file.
+     *
+     * @return the number of bytes read, or -1 at the end of the stream
+     */
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = target.read(buffer, offset, length);
+        if (read > 0) {
+            output.write(buffer, offset, read);
+        } else if (read == -1) {
+            closeOutput();
+        }
+        return read;
+    }
+
     @Override
     public int available() throws IOException {
         return target.available();
@@ -78,27 +124,23 @@ public class RecordingInputStream extends InputStream {
 
     @Override
     public void close() throws IOException {
-        target.close();
+        try {
+            target.close();
+        } finally {
+            closeOutput();
+        }
     }
 
-    @Override
-    public synchronized void mark(int arg0) {
-        target.mark(arg0);
+    private void closeOutput() throws IOException {
+        if (!outputClosed) {
+            outputClosed = true;
+            output.close();
+        }
     }
 
     @Override
     public boolean markSupported() {
-        return target.markSupported();
-    }
-
-    @Override
-    public synchronized void reset() throws IOException {
-        target.reset();
-    }
-
-    @Override
-    public long skip(long arg0) throws IOException {
-        return target.skip(arg0);
+        return false;
     }
 
     @Override
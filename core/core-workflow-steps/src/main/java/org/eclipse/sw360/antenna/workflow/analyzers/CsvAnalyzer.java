@@ -23,7 +23,9 @@ import java.util.Map;
 public class CsvAnalyzer extends ManualAnalyzer {
 
     private static final String DELIMITER = "delimiter";
+    private static final String PARALLELISM = "parallelism";
     private Character rowDelimiter = ',';
+    private int parallelism = 1;
 
     public CsvAnalyzer() {
         this.workflowStepOrder = 500;
@@ -35,7 +37,8 @@ public class CsvAnalyzer extends ManualAnalyzer {
                 componentInfoFile.toPath(),
                 context.getToolConfiguration().getEncoding(),
                 rowDelimiter,
-                baseDir).createArtifactsList();
+                baseDir,
+                parallelism).createArtifactsList();
 
         return new WorkflowStepResult(artifacts, true);
     }
@@ -46,6 +49,7 @@ public class CsvAnalyzer extends ManualAnalyzer {
         if(configMap.containsKey(DELIMITER))  {
             this.rowDelimiter = getConfigValue(DELIMITER, configMap).charAt(0);
         }
+        this.parallelism = getIntegerConfigValue(PARALLELISM, configMap, parallelism);
     }
 
     @Override
@@ -18,19 +18,32 @@ import org.eclipse.sw360.antenna.api.exceptions.ExecutionException;
 import org.eclipse.sw360.antenna.api.workflow.ManualAnalyzer;
 import org.eclipse.sw360.antenna.api.workflow.WorkflowStepResult;
 import org.eclipse.sw360.antenna.jsonreader.JsonReader;
+import org.eclipse.sw360.antenna.model.artifact.Artifact;
 
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 public class JsonAnalyzer extends ManualAnalyzer {
+    private static final String STREAMING_KEY = "streaming";
+
+    private boolean streaming;
 
     public JsonAnalyzer() {
         this.workflowStepOrder = 600;
     }
 
+    @Override
+    public void configure(Map<String, String> configMap) {
+        super.configure(configMap);
+        streaming = getBooleanConfigValue(STREAMING_KEY, configMap);
+    }
+
     private void validate(ToolConfiguration toolConfig) {
         // Check that JSON file is present
         if (!componentInfoFile.exists()) {
@@ -38,6 +51,11 @@ public class JsonAnalyzer extends ManualAnalyzer {
                     + componentInfoFile.getAbsolutePath() + "), but the file wasn't found.");
         }
 
+        if (streaming) {
+            // the file is checked while it is read
+            return;
+        }
+
         // Check that JSON file contains valid JSON.
         try (FileInputStream fileInputStream = new FileInputStream(componentInfoFile);
              InputStreamReader inputStreamReader = new InputStreamReader(fileInputStream, toolConfig.getEncoding())) {
@@ -60,6 +78,11 @@ public class JsonAnalyzer extends ManualAnalyzer {
         JsonReader jsonReader = new JsonReader(null, dependenciesDir, toolConfig.getEncoding());
 
         try (InputStream is = new FileInputStream(componentInfoFile)) {
+            if (streaming) {
+                List<Artifact> artifacts = new ArrayList<>();
+                jsonReader.readArtifacts(is, artifacts::add);
+                return new WorkflowStepResult(artifacts);
+            }
             return new WorkflowStepResult(jsonReader.createArtifactsList(is));
         } catch (IOException e) {
             throw new ExecutionException("Error opening the component information file: " + e.getMessage());
@@ -44,7 +44,7 @@ public class AntennaConfHandler extends AbstractProcessor {
     @Override
     public Collection<Artifact> process(Collection<Artifact> intermediates) {
         for(AbstractProcessor processor : localProcessors) {
-            intermediates = processor.process(intermediates);
+            intermediates = processWith(processor, intermediates);
         }
         return intermediates;
     }
@@ -55,6 +55,11 @@ public class LicenseKnowledgeBaseResolver extends AbstractProcessor {
         return new LicenseKnowledgeBaseResolverImpl(knowledgeBase).resolveKnowledgeBase(artifacts);
     }
 
+    @Override
+    public boolean isPerArtifact() {
+        return true;
+    }
+
     @Override
     public void configure(Map<String,String> configMap) {
         super.configure(configMap);
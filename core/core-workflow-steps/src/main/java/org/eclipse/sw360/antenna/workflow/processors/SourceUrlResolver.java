@@ -14,9 +14,11 @@ package org.eclipse.sw360.antenna.workflow.processors;
 
 import org.eclipse.sw360.antenna.api.configuration.ToolConfiguration;
 import org.eclipse.sw360.antenna.api.workflow.AbstractProcessor;
+import org.eclipse.sw360.antenna.api.workflow.ArtifactFactDeclaration;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
 import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactSourceFile;
 import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactSourceUrl;
+import org.eclipse.sw360.antenna.util.DownloadCache;
 import org.eclipse.sw360.antenna.util.HttpHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,6 +27,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 
@@ -33,6 +36,7 @@ public class SourceUrlResolver extends AbstractProcessor {
     private static final Logger LOGGER = LoggerFactory.getLogger(SourceUrlResolver.class);
     private HttpHelper httpHelper;
     private Path dependencyTargetDirectory;
+    private volatile boolean downloadFailed;
 
     public SourceUrlResolver() {
         this.workflowStepOrder = 1500;
@@ -41,30 +45,72 @@ public class SourceUrlResolver extends AbstractProcessor {
     @Override
     public Collection<Artifact> process(Collection<Artifact> artifacts) {
         LOGGER.debug("Resolve source urls...");
-        resolveSourceUrls(artifacts);
+        downloadFailed = !resolveSourceUrls(artifacts);
         LOGGER.debug("Resolve source urls... done");
         return artifacts;
     }
 
-    private void resolveSourceUrls(Collection<Artifact> artifacts) {
+    /**
+     * The sources behind a URL are expected not to change, so the URL is used
+     * as key of the download cache and cached sources are not downloaded
+     * again.
+     *
+     * @return true if all sources could be downloaded
+     */
+    private boolean resolveSourceUrls(Collection<Artifact> artifacts) {
+        boolean complete = true;
         for (Artifact artifact : artifacts) {
             Optional<String> sourceUrl = artifact.askForGet(ArtifactSourceUrl.class);
             if (sourceUrl.isPresent()) {
                 try {
-                    File file = httpHelper.downloadFile(sourceUrl.get(), dependencyTargetDirectory);
+                    File file = httpHelper.downloadFile(sourceUrl.get(), dependencyTargetDirectory,
+                            HttpHelper.getFilename(sourceUrl.get()), sourceUrl.get());
                     artifact.addFact(new ArtifactSourceFile(file.toPath()));
                 } catch (IOException e) {
                     LOGGER.warn("Issue during download of artifact sources", e);
+                    complete = false;
                 }
             }
         }
+        return complete;
+    }
+
+    @Override
+    public Optional<ArtifactFactDeclaration> getArtifactFactDeclaration() {
+        return Optional.of(new ArtifactFactDeclaration(
+                Collections.singleton(ArtifactSourceUrl.class),
+                Collections.singleton(ArtifactSourceFile.class)));
+    }
+
+    @Override
+    public boolean isCheckpointable() {
+        return true;
+    }
+
+    /**
+     * Failed downloads are retried in the next run, so a result with missing
+     * sources is not stored.
+     */
+    @Override
+    public boolean isLastResultCheckpointable() {
+        return !downloadFailed;
+    }
+
+    @Override
+    public Map<String, String> getCheckpointInputs() {
+        return Collections.singletonMap("dependenciesDirectory", dependencyTargetDirectory.toAbsolutePath().toString());
+    }
+
+    @Override
+    public boolean isPerArtifact() {
+        return true;
     }
 
     @Override
     public void configure(Map<String,String> configMap) {
         super.configure(configMap);
         ToolConfiguration toolConfig = context.getToolConfiguration();
-        httpHelper = new HttpHelper(context.getHttpClient());
+        httpHelper = new HttpHelper(context.getHttpClient(), DownloadCache.of(toolConfig));
         dependencyTargetDirectory = toolConfig.getDependenciesDirectory();
     }
 }
@@ -17,16 +17,14 @@ import org.eclipse.sw360.antenna.api.workflow.AbstractProcessor;
 import org.eclipse.sw360.antenna.model.Configuration;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
 import org.eclipse.sw360.antenna.model.artifact.ArtifactSelector;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactSelectorMatches;
 import org.eclipse.sw360.antenna.model.license.LicenseInformation;
 import org.eclipse.sw360.antenna.model.reporting.MessageType;
 import org.eclipse.sw360.antenna.model.xml.generated.Issues;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 /**
  * Checks if a Configuration has unnecessary elements.
@@ -108,11 +106,12 @@ public class ConfigurationChecker extends AbstractProcessor {
 
     private void check(Collection<Artifact> artifacts, Collection<ArtifactSelector> selectors, String type) {
         String message = "This artifact is not needed in the \""+type+"\" section of the configuration file as it does not exist in the artifacts list";
-        for (ArtifactSelector selector : selectors) {
-            if (artifacts.stream().noneMatch(selector::matches)) {
-                reporter.add(MessageType.UNNECESSARY_CONFIG,
-                        selector.toString() + ": " + message);
-            }
+        ArtifactSelectorMatches matches = matchSelectors(artifacts, selectors);
+        BitSet unmatchedSelectors = matches.getUnmatchedSelectors();
+        for (int position = unmatchedSelectors.nextSetBit(0); position >= 0;
+             position = unmatchedSelectors.nextSetBit(position + 1)) {
+            reporter.add(MessageType.UNNECESSARY_CONFIG,
+                    matches.getSelectors().get(position).toString() + ": " + message);
         }
     }
 }
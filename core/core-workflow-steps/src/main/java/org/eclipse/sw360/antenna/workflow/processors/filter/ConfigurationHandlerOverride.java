@@ -18,10 +18,13 @@ import org.eclipse.sw360.antenna.api.workflow.AbstractProcessor;
 import org.eclipse.sw360.antenna.model.Configuration;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
 import org.eclipse.sw360.antenna.model.artifact.ArtifactSelector;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactSelectorIndex;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactSelectorMatches;
 import org.eclipse.sw360.antenna.model.reporting.MessageType;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public class ConfigurationHandlerOverride extends AbstractProcessor {
     /**
@@ -50,10 +53,17 @@ public class ConfigurationHandlerOverride extends AbstractProcessor {
             IProcessingReporter reporter) {
         configureIgnoreForDownload(configuration, artifacts, reporter);
 
-        configuration.getOverride()
-                .forEach((key, override) -> artifacts.stream()
-                        .filter(key::matches)
-                        .forEach(artifact -> overrideArtifact(artifact, override)));
+        Map<ArtifactSelector, Artifact> overrides = configuration.getOverride();
+        ArtifactSelectorMatches overrideMatches = matchSelectors(artifacts, overrides.keySet());
+        ArtifactSelectorIndex overrideIndex = ArtifactSelectorIndex.of(overrides.keySet());
+        for (Artifact artifact : artifacts) {
+            int position = overrideMatches.getMatchingSelectors(artifact).nextSetBit(0);
+            while (position >= 0) {
+                overrideArtifact(artifact, overrides.get(overrideIndex.getSelectors().get(position)));
+                // the override may have changed what the artifact is matched by
+                position = overrideIndex.findNextMatchingPosition(artifact, position + 1);
+            }
+        }
     }
 
     private void overrideArtifact(Artifact artifact, Artifact override) {
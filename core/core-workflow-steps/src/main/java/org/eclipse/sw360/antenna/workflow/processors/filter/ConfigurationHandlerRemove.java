@@ -11,7 +11,6 @@
 
 package org.eclipse.sw360.antenna.workflow.processors.filter;
 
-import org.eclipse.sw360.antenna.analysis.filter.BlacklistFilter;
 import org.eclipse.sw360.antenna.analysis.filter.ProprietaryArtifactFilter;
 import org.eclipse.sw360.antenna.api.IArtifactFilter;
 import org.eclipse.sw360.antenna.api.configuration.AntennaContext;
@@ -19,6 +18,7 @@ import org.eclipse.sw360.antenna.api.workflow.AbstractProcessor;
 import org.eclipse.sw360.antenna.model.Configuration;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
 import org.eclipse.sw360.antenna.model.artifact.ArtifactSelector;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactSelectorMatches;
 import org.eclipse.sw360.antenna.model.reporting.MessageType;
 
 import java.util.*;
@@ -35,9 +35,11 @@ public class ConfigurationHandlerRemove extends AbstractProcessor {
 
     private void removeProprietaryArtifacts(Collection<Artifact> artifacts, Configuration configuration) {
         IArtifactFilter isProprietaryFilter = new ProprietaryArtifactFilter();
+        Map<ArtifactSelector, Artifact> overrides = configuration.getOverride();
+        ArtifactSelectorMatches overrideMatches = matchSelectors(artifacts, overrides.keySet());
         List<Artifact> remove = new ArrayList<>();
         for (Artifact artifact : artifacts) {
-            boolean overridePropertyValue = getProprietaryOverrideValue(configuration, artifact);
+            boolean overridePropertyValue = getProprietaryOverrideValue(overrides, overrideMatches, artifact);
             if (!isProprietaryFilter.passed(artifact)) {
                 if (overridePropertyValue) {
                     reporter.add(artifact, MessageType.ARTIFACT_IS_PROPRIETARY,
@@ -53,9 +55,9 @@ public class ConfigurationHandlerRemove extends AbstractProcessor {
     private void removeArtifacts(Collection<Artifact> artifacts, Configuration configuration) {
         List<ArtifactSelector> removeArtifact = configuration.getRemoveArtifact();
         List<Artifact> remove = new ArrayList<>();
-        BlacklistFilter configFilter = new BlacklistFilter(removeArtifact);
+        ArtifactSelectorMatches removeMatches = matchSelectors(artifacts, removeArtifact);
         for (Artifact artifact : artifacts) {
-            if (!configFilter.passed(artifact)) {
+            if (!removeMatches.getMatchingSelectors(artifact).isEmpty()) {
                 remove.add(artifact);
                 reporter.add(artifact, MessageType.REMOVE_ARTIFACT,
                         "Artifact is removed from artifacts list for processing.");
@@ -64,12 +66,13 @@ public class ConfigurationHandlerRemove extends AbstractProcessor {
         artifacts.removeAll(remove);
     }
 
-    private boolean getProprietaryOverrideValue(Configuration configuration, Artifact artifact) {
-        return configuration.getOverride().entrySet().stream()
-                .filter(e -> e.getValue() != null)
-                .filter(e -> e.getKey().matches(artifact))
-                .map(Map.Entry::getValue)
-                .findAny()
+    private boolean getProprietaryOverrideValue(Map<ArtifactSelector, Artifact> overrides,
+                                                ArtifactSelectorMatches overrideMatches, Artifact artifact) {
+        return overrideMatches.getMatchingSelectors(artifact).stream()
+                .mapToObj(overrideMatches.getSelectors()::get)
+                .map(overrides::get)
+                .filter(Objects::nonNull)
+                .findFirst()
                 .orElse(artifact)
                 .getFlag(Artifact.IS_PROPRIETARY_FLAG_KEY);
     }
@@ -89,6 +89,46 @@ public class CSVArtifactMapperTest {
         assertThat(csvReaderArtifacts).isEqualTo(artifacts);
     }
 
+    @Test
+    public void parallelParseMergesArtifactsLikeSequentialParse() {
+        int distinctArtifacts = CSVArtifactMapper.RECORDS_PER_CHUNK + 10;
+        List<Artifact> artifacts = new ArrayList<>();
+        for (int i = 0; i < 3 * distinctArtifacts; i++) {
+            artifacts.add(new Artifact("CSV")
+                    .addCoordinate(new Coordinate("pkg:maven/test/lib" + (i % distinctArtifacts) + "@1.0"))
+                    .addFact(new ArtifactFilename(null, "hash" + i)));
+        }
+        Path baseDir = csvFile.getParentFile().toPath();
+        new CSVArtifactMapper(csvFile.toPath(), StandardCharsets.UTF_8, DELIMITER, baseDir)
+                .writeArtifactsToCsvFile(artifacts);
+
+        Collection<Artifact> sequentialArtifacts =
+                new CSVArtifactMapper(csvFile.toPath(), StandardCharsets.UTF_8, DELIMITER, baseDir)
+                        .createArtifactsList();
+        Collection<Artifact> parallelArtifacts =
+                new CSVArtifactMapper(csvFile.toPath(), StandardCharsets.UTF_8, DELIMITER, baseDir, 4)
+                        .createArtifactsList();
+
+        assertThat(sequentialArtifacts).hasSize(distinctArtifacts);
+        assertThat(parallelArtifacts).isEqualTo(sequentialArtifacts);
+    }
+
+    @Test
+    public void csvWriterWritesRowsAsArtifactsArrive() throws IOException {
+        CSVArtifactMapper csvArtifactMapper = new CSVArtifactMapper(csvFile.toPath(), StandardCharsets.UTF_8, DELIMITER, csvFile.getParentFile().toPath());
+
+        try (CSVArtifactMapper.ArtifactCsvWriter writer = csvArtifactMapper.openCsvWriter()) {
+            writer.write(mkArtifact("test", false));
+            writer.flush();
+
+            assertThat(parseCsvFile()).hasSize(1);
+
+            writer.write(mkArtifact("test1", false));
+        }
+
+        assertThat(parseCsvFile()).hasSize(2);
+    }
+
     @Test
     public void writeReleaseListToCSVFileTest() throws IOException {
         List<Artifact> artifacts = new ArrayList<>();
@@ -27,6 +27,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -111,4 +112,19 @@ public class JsonReaderTest {
                     .isTrue();
                 });
     }
+
+    @Test
+    public void testIncrementalReadingMapsTheSameArtifacts() throws URISyntaxException, IOException {
+        Path recordFilePath = Paths.get(".", "target", "foo");
+        JsonReader jsonReader = new JsonReader(recordFilePath, Paths.get("tmp"), StandardCharsets.UTF_8);
+        for (String resource : new String[]{"JsonReaderTest/data.json", "JsonReaderTest/data2.json", "JsonReaderTest/data3.json"}) {
+            Path path = Paths.get(this.getClass().getClassLoader().getResource(resource).toURI());
+            artifacts = jsonReader.createArtifactsList(Files.newInputStream(path));
+
+            List<Artifact> incrementallyRead = new ArrayList<>();
+            jsonReader.readArtifacts(Files.newInputStream(path), incrementallyRead::add);
+
+            assertThat(incrementallyRead).isEqualTo(artifacts);
+        }
+    }
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.jsonreader;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RecordingInputStreamTest {
+    private static final byte[] CONTENT = "{\"components\": [{\"hash\": \"abc\"}]}".getBytes(StandardCharsets.UTF_8);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void readBytesAreRecorded() throws IOException {
+        Path recordingFile = temporaryFolder.getRoot().toPath().resolve("recordings").resolve("recording.json");
+
+        try (InputStream stream = new RecordingInputStream(new ByteArrayInputStream(CONTENT), recordingFile)) {
+            assertThat(stream.read()).isEqualTo(CONTENT[0]);
+            assertThat(stream.skip(2)).isEqualTo(2);
+            assertThat(IOUtils.toByteArray(stream)).isEqualTo(IOUtils.toByteArray(
+                    new ByteArrayInputStream(CONTENT, 3, CONTENT.length - 3)));
+        }
+
+        assertThat(Files.readAllBytes(recordingFile)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    public void recordingIsCompleteWhenClosedBeforeTheEnd() throws IOException {
+        Path recordingFile = temporaryFolder.getRoot().toPath().resolve("recording.json");
+
+        try (InputStream stream = new RecordingInputStream(new ByteArrayInputStream(CONTENT), recordingFile)) {
+            assertThat(stream.read(new byte[5])).isEqualTo(5);
+        }
+
+        assertThat(Files.readAllBytes(recordingFile)).hasSize(5);
+    }
+
+    @Test
+    public void recordingIsCompressedForGzipFiles() throws IOException {
+        Path recordingFile = temporaryFolder.getRoot().toPath().resolve("recording.json.gz");
+
+        try (InputStream stream = new RecordingInputStream(new ByteArrayInputStream(CONTENT), recordingFile)) {
+            IOUtils.toByteArray(stream);
+        }
+
+        try (InputStream recording = new GZIPInputStream(Files.newInputStream(recordingFile))) {
+            assertThat(IOUtils.toByteArray(recording)).isEqualTo(CONTENT);
+        }
+    }
+}
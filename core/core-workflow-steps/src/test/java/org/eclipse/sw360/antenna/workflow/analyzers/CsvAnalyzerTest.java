@@ -14,6 +14,7 @@ package org.eclipse.sw360.antenna.workflow.analyzers;
 
 import com.github.packageurl.PackageURL;
 import org.eclipse.sw360.antenna.api.IProject;
+import org.eclipse.sw360.antenna.api.exceptions.ConfigurationException;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
 import org.eclipse.sw360.antenna.model.artifact.ArtifactCoordinates;
 import org.eclipse.sw360.antenna.model.artifact.facts.*;
@@ -232,12 +233,24 @@ public class CsvAnalyzerTest extends AntennaTestWithMockedContext {
         verifyNoMoreInteractions(toolConfigMock);
     }
 
+    @Test(expected = ConfigurationException.class)
+    public void invalidParallelismIsRejected() throws URISyntaxException {
+        Map<String, String> configMap = createConfigMap("dependencies.csv", ",");
+        configMap.put("parallelism", "many");
+
+        analyzer.configure(configMap);
+    }
+
     private void configureAnalyzer(String fileName, String delimiter) throws URISyntaxException {
+        analyzer.configure(createConfigMap(fileName, delimiter));
+    }
+
+    private Map<String, String> createConfigMap(String fileName, String delimiter) throws URISyntaxException {
         Map<String, String> configMap = new HashMap<>();
         configMap.put("file.path", Paths.get("src", "test", "resources", "CsvAnalyzerTest", fileName).toString());
         configMap.put("base.dir", ClassCodeSourceLocation.getClassCodeSourceLocationAsString(this.getClass()));
         configMap.put("delimiter", delimiter);
-        analyzer.configure(configMap);
+        return configMap;
     }
 
     private void commonsCsvFullDependencyCheck(Artifact foundArtifact) {
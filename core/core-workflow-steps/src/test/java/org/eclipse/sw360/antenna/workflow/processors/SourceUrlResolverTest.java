@@ -22,8 +22,10 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.eclipse.sw360.antenna.testing.util.AntennaTestingUtils.setVariableValueInObject;
@@ -46,7 +48,8 @@ public class SourceUrlResolverTest {
 
     @Test
     public void processDownloadsSourcesAndSetsTheSourceFileFact() throws Exception {
-        when(httpHelper.downloadFile(eq("https://example.com/artifact0.zip"), any()))
+        when(httpHelper.downloadFile(eq("https://example.com/artifact0.zip"), any(), eq("artifact0.zip"),
+                eq("https://example.com/artifact0.zip")))
                 .thenReturn(new File("artifact0.zip"));
 
         Artifact artifact0 = new Artifact();
@@ -63,4 +66,23 @@ public class SourceUrlResolverTest {
 
         assertThat(artifact1.askForGet(ArtifactSourceFile.class).isPresent()).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void resultWithFailedDownloadIsNotCheckpointed() throws Exception {
+        when(httpHelper.downloadFile(eq("https://example.com/artifact0.zip"), any(), eq("artifact0.zip"),
+                eq("https://example.com/artifact0.zip")))
+                .thenThrow(new IOException("Not found"));
+
+        Artifact artifact0 = new Artifact();
+        artifact0.addFact(new ArtifactSourceUrl("https://example.com/artifact0.zip"));
+
+        resolver.process(Collections.singletonList(artifact0));
+
+        assertThat(artifact0.askForGet(ArtifactSourceFile.class)).isNotPresent();
+        assertThat(resolver.isLastResultCheckpointable()).isFalse();
+
+        resolver.process(Collections.singletonList(new Artifact()));
+
+        assertThat(resolver.isLastResultCheckpointable()).isTrue();
+    }
+}
@@ -105,6 +105,10 @@ public class AntennaCLISettingsReader {
         return readSettingsToToolConfiguration(reader, project);
     }
 
+    TemplateRenderer getTemplateRenderer() {
+        return tr;
+    }
+
     private void setVersionFromPom(MetaDataStoringProject project) {
         File pomFile = project.getConfigFile();
         try {
@@ -172,14 +176,21 @@ public class AntennaCLISettingsReader {
         readAntennaStringSetting(reader, "attributionDocumentNotes", toolConfigBuilder::setAttributionDocumentNotes);
         readAntennaStringSetting(reader, "encodingCharSet", toolConfigBuilder::setEncoding);
         readAntennaStringSetting(reader, "proxyHost", toolConfigBuilder::setProxyHost);
+        readAntennaStringSetting(reader, "downloadCacheDirectory", toolConfigBuilder::setDownloadCacheDirectory);
 
         readAntennaIntSetting(reader, "proxyPort", 0, toolConfigBuilder::setProxyPort);
+        readAntennaIntSetting(reader, "analyzerParallelism", 1, toolConfigBuilder::setAnalyzerParallelism);
+        readAntennaIntSetting(reader, "processorParallelism", 1, toolConfigBuilder::setProcessorParallelism);
+        readAntennaIntSetting(reader, "generatorParallelism", 1, toolConfigBuilder::setGeneratorParallelism);
+        readAntennaIntSetting(reader, "artifactChunkSize", 0, toolConfigBuilder::setArtifactChunkSize);
 
         // Booleans
         readAntennaBooleanSetting(reader, "attachAll", false, toolConfigBuilder::setAttachAll);
         readAntennaBooleanSetting(reader, "skip", false, toolConfigBuilder::setSkipAntennaExecution);
         readAntennaBooleanSetting(reader, "showCopyrightStatements", false, toolConfigBuilder::setShowCopyrightStatements);
         readAntennaBooleanSetting(reader, "isMavenInstalled", false, toolConfigBuilder::setMavenInstalled);
+        readAntennaBooleanSetting(reader, "recordStepMetrics", false, toolConfigBuilder::setRecordStepMetrics);
+        readAntennaBooleanSetting(reader, "incrementalExecution", false, toolConfigBuilder::setIncrementalExecution);
 
         // Other lists
         readStringListSetting(reader, "filesToAttach", toolConfigBuilder::setFilesToAttach);
@@ -194,6 +205,10 @@ public class AntennaCLISettingsReader {
     public ToolConfiguration readSettingsToToolConfiguration(XmlSettingsReader reader, MetaDataStoringProject project) {
         ToolConfiguration.ConfigurationBuilder toolConfigBuilder = readBasicSettingsToToolConfigurationBuilder(reader, project);
 
+        readAntennaBooleanSetting(reader, "singlePassTemplateRendering", false,
+                singlePass -> tr.setRenderMode(singlePass
+                        ? TemplateRenderer.RenderMode.SINGLE_PASS
+                        : TemplateRenderer.RenderMode.TWO_STAGE));
         Optional<File> workflowDefFile = Optional.ofNullable(reader.getFileProperty("workflowDefinitionFile"));
 
         Workflow finalWorkflow = WorkflowFileLoader.loadWorkflowFromClassPath(workflowDefFile, tr);
@@ -12,6 +12,7 @@ package org.eclipse.sw360.antenna.frontend.stub.cli;
 
 import org.eclipse.sw360.antenna.frontend.MetaDataStoringProject;
 import org.eclipse.sw360.antenna.api.configuration.ToolConfiguration;
+import org.eclipse.sw360.antenna.util.TemplateRenderer;
 import org.eclipse.sw360.antenna.util.XmlSettingsReader;
 import org.junit.Before;
 import org.junit.Rule;
@@ -33,6 +34,7 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -185,4 +187,22 @@ public class AntennaCLISettingsReaderTest {
             assertEquals(listAnswers.get(key), getter.apply(toolConfiguration));
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    public void workflowIsRenderedInTwoStagesByDefault() {
+        ToolConfiguration toolConfiguration = tcsr.readSettingsToToolConfiguration(reader, project);
+
+        assertEquals(TemplateRenderer.RenderMode.TWO_STAGE, tcsr.getTemplateRenderer().getRenderMode());
+        assertNotNull(toolConfiguration.getWorkflow());
+    }
+
+    @Test
+    public void workflowIsRenderedInSinglePassIfConfigured() {
+        booleanAnswers.put("singlePassTemplateRendering", true);
+
+        ToolConfiguration toolConfiguration = tcsr.readSettingsToToolConfiguration(reader, project);
+
+        assertEquals(TemplateRenderer.RenderMode.SINGLE_PASS, tcsr.getTemplateRenderer().getRenderMode());
+        assertNotNull(toolConfiguration.getWorkflow());
+    }
+}
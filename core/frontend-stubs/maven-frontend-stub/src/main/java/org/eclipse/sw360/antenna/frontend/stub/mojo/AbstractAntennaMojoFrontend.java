@@ -145,6 +145,30 @@ public abstract class AbstractAntennaMojoFrontend extends AbstractMojo implement
     @Parameter(property = "proxyId", defaultValue = "")
     private String proxyId;
 
+    @Parameter(property = "analyzerParallelism", defaultValue = "1")
+    private int analyzerParallelism;
+
+    @Parameter(property = "processorParallelism", defaultValue = "1")
+    private int processorParallelism;
+
+    @Parameter(property = "generatorParallelism", defaultValue = "1")
+    private int generatorParallelism;
+
+    @Parameter(property = "recordStepMetrics", defaultValue = "false")
+    private boolean recordStepMetrics;
+
+    @Parameter(property = "incrementalExecution", defaultValue = "false")
+    private boolean incrementalExecution;
+
+    @Parameter(property = "artifactChunkSize", defaultValue = "0")
+    private int artifactChunkSize;
+
+    @Parameter(property = "singlePassTemplateRendering", defaultValue = "false")
+    private boolean singlePassTemplateRendering;
+
+    @Parameter(property = "downloadCacheDirectory")
+    private String downloadCacheDirectory;
+
     @Parameter(defaultValue = "${settings}", readonly = true)
     private Settings settings;
 
@@ -256,7 +280,9 @@ public abstract class AbstractAntennaMojoFrontend extends AbstractMojo implement
                 .filter(e -> e.getKey().toString().startsWith("proxy"))
                 .forEach(e -> contextMap.put(e.getKey().toString(), e.getValue().toString()));
 
-        TemplateRenderer tr = new TemplateRenderer(contextMap);
+        TemplateRenderer tr = new TemplateRenderer(contextMap, singlePassTemplateRendering
+                ? TemplateRenderer.RenderMode.SINGLE_PASS
+                : TemplateRenderer.RenderMode.TWO_STAGE);
 
         Optional<File> workflowDefFile = Optional.ofNullable(workflowDefinitionFile)
                 .map(File::new);
@@ -280,6 +306,10 @@ public abstract class AbstractAntennaMojoFrontend extends AbstractMojo implement
                 .setCopyrightHoldersName(copyrightHoldersName).setCopyrightNotice(copyrightNotice)
                 .setAttributionDocumentNotes(attributionDocumentNotes).setWorkflow(finalWorkflow)
                 .setProxyHost(proxyHost).setProxyPort(proxyPort)
+                .setAnalyzerParallelism(analyzerParallelism).setProcessorParallelism(processorParallelism)
+                .setGeneratorParallelism(generatorParallelism).setRecordStepMetrics(recordStepMetrics)
+                .setIncrementalExecution(incrementalExecution).setArtifactChunkSize(artifactChunkSize)
+                .setDownloadCacheDirectory(downloadCacheDirectory)
                 .setShowCopyrightStatements(showCopyrightStatements).setEncoding(encodingCharSet);
 
         return toolConfigBuilder.buildConfiguration();
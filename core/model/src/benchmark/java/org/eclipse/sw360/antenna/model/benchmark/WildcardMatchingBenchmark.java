@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.model.benchmark;
+
+import org.eclipse.sw360.antenna.model.artifact.ArtifactSelectorHelper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Measures the average time to match a set of selectors against a set of
+ * inputs, once with the wildcard matching of artifact selectors and once by
+ * compiling a regular expression for every comparison.
+ * <p>
+ * The selectors mix literal coordinates, prefix and suffix globs as they are
+ * used in configuration files and a few wildcards with other regular
+ * expression characters. Every selector is matched against the names,
+ * namespaces and versions of a set of artifacts.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile} and the main method of this
+ * class on the test class path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WildcardMatchingBenchmark {
+    private static final List<String> SELECTORS = Arrays.asList(
+            "org.eclipse.sw360.antenna",
+            "org.apache.*",
+            "*.jackson.*",
+            "commons-*",
+            "*-SNAPSHOT",
+            "1.0.0",
+            "2.*",
+            "*",
+            "spring-(core|beans)",
+            "guava-[0-9]+.*");
+
+    private final List<String> inputs = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        String[] namespaces = {"org.eclipse.sw360.antenna", "org.apache.commons", "com.fasterxml.jackson.core",
+                "org.springframework", "com.google.guava"};
+        String[] names = {"model", "commons-lang3", "jackson-databind", "spring-core", "guava-28.1"};
+        for (int i = 0; i < 100; i++) {
+            inputs.add(namespaces[i % namespaces.length]);
+            inputs.add(names[i % names.length]);
+            inputs.add((i % 3) + "." + (i % 10) + "." + i + (i % 4 == 0 ? "-SNAPSHOT" : ""));
+        }
+    }
+
+    @Benchmark
+    public void compiledWildcards(Blackhole blackhole) {
+        for (String selector : SELECTORS) {
+            for (String input : inputs) {
+                blackhole.consume(ArtifactSelectorHelper.compareStringsAsWildcard(selector, input));
+            }
+        }
+    }
+
+    @Benchmark
+    public void regexPerComparison(Blackhole blackhole) {
+        for (String selector : SELECTORS) {
+            for (String input : inputs) {
+                blackhole.consume(selector.equals(input) || Pattern.matches(
+                        selector.trim().replaceAll("\\.", "\\\\.").replaceAll("\\*", ".*?"), input));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WildcardMatchingBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -14,12 +14,13 @@ package org.eclipse.sw360.antenna.api;
 import org.eclipse.sw360.antenna.api.exceptions.ExecutionException;
 
 import java.io.File;
+import java.io.Serializable;
 
 /**
  * An instance of this class describes an Artifact which will be attached to the
  * current build.
  */
-public class Attachable implements IAttachable {
+public class Attachable implements IAttachable, Serializable {
     private final String type;
     private final String classifier;
     private final File file;
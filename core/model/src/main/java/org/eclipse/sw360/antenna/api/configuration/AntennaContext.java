@@ -132,11 +132,12 @@ public class AntennaContext {
         /**
          * Creates a new instance of {@code ContextBuilder} and sets the
          * {@code ServiceFactory}. This constructor is used for testing
-         * purposes.
+         * purposes and to share the services with components which run
+         * before the context is built, e.g. the reading of the config files.
          *
          * @param serviceFactory the {@code ServiceFactory}
          */
-        ContextBuilder(ServiceFactory serviceFactory) {
+        public ContextBuilder(ServiceFactory serviceFactory) {
             this.serviceFactory = serviceFactory;
         }
 
@@ -56,6 +56,13 @@ public class ToolConfiguration {
     private final String proxyHost;
     private final int proxyPort;
     private final boolean useProxy;
+    private final int analyzerParallelism;
+    private final int processorParallelism;
+    private final int generatorParallelism;
+    private final boolean recordStepMetrics;
+    private final boolean incrementalExecution;
+    private final int artifactChunkSize;
+    private final Path downloadCacheDirectory;
 
     private <T> List<T> makeUnmodifiable(List<T> list) {
         if (list == null) {
@@ -90,6 +97,13 @@ public class ToolConfiguration {
         this.proxyHost = builder.proxyHost;
         this.proxyPort = builder.proxyPort;
         this.useProxy = this.proxyHost != null && !"".equals(this.proxyHost) && this.proxyPort > 0;
+        this.analyzerParallelism = Math.max(1, builder.analyzerParallelism);
+        this.processorParallelism = Math.max(1, builder.processorParallelism);
+        this.generatorParallelism = Math.max(1, builder.generatorParallelism);
+        this.recordStepMetrics = builder.recordStepMetrics;
+        this.incrementalExecution = builder.incrementalExecution;
+        this.artifactChunkSize = Math.max(0, builder.artifactChunkSize);
+        this.downloadCacheDirectory = builder.downloadCacheDirectory;
     }
 
     @Override
@@ -183,6 +197,85 @@ public class ToolConfiguration {
         return proxyPort;
     }
 
+    /**
+     * Returns the maximum number of analyzers that are executed concurrently.
+     * A value of 1 means that the analyzers run one after another.
+     *
+     * @return the number of analyzers that may run in parallel
+     */
+    public int getAnalyzerParallelism() {
+        return analyzerParallelism;
+    }
+
+    /**
+     * Returns the maximum number of processors that are executed concurrently.
+     * Only processors declaring the artifact facts they read and write can run
+     * in parallel. A value of 1 means that all processors run one after
+     * another.
+     *
+     * @return the number of processors that may run in parallel
+     */
+    public int getProcessorParallelism() {
+        return processorParallelism;
+    }
+
+    /**
+     * Returns the maximum number of generators that are executed concurrently.
+     * Generators running in parallel work on a shared read-only snapshot of
+     * the processing state. A value of 1 means that the generators run one
+     * after another.
+     *
+     * @return the number of generators that may run in parallel
+     */
+    public int getGeneratorParallelism() {
+        return generatorParallelism;
+    }
+
+    /**
+     * Returns a flag whether the costs of the single workflow steps should be
+     * measured and written to a JSON report in the Antenna target directory.
+     *
+     * @return flag whether workflow step metrics are recorded
+     */
+    public boolean isRecordStepMetrics() {
+        return recordStepMetrics;
+    }
+
+    /**
+     * Returns a flag whether the results of workflow steps supporting this
+     * should be persisted as checkpoints in the Antenna target directory, so
+     * that the steps can be skipped in later runs if their input is unchanged.
+     * Config files are then also only validated if their content changed.
+     *
+     * @return flag whether incremental execution is enabled
+     */
+    public boolean isIncrementalExecution() {
+        return incrementalExecution;
+    }
+
+    /**
+     * Returns the maximum number of artifacts passed at once to processors
+     * that handle every artifact on its own. A value of 0 means that these
+     * processors get all artifacts at once, like all other processors.
+     *
+     * @return the size of the artifact chunks, or 0 if chunking is disabled
+     */
+    public int getArtifactChunkSize() {
+        return artifactChunkSize;
+    }
+
+    /**
+     * Returns the directory of the download cache, which keeps downloaded
+     * files by their checksum, so that they are not downloaded again by later
+     * runs. The directory can be shared by several projects and workspaces.
+     *
+     * @return the directory of the download cache, or {@code null} if
+     * downloads are not cached
+     */
+    public Path getDownloadCacheDirectory() {
+        return downloadCacheDirectory;
+    }
+
     public static class ConfigurationBuilder {
         private Path antennaTargetDirectory;
 
@@ -205,6 +298,13 @@ public class ToolConfiguration {
         private Charset encodingCharSet;
         private String proxyHost;
         private int proxyPort;
+        private int analyzerParallelism = 1;
+        private int processorParallelism = 1;
+        private int generatorParallelism = 1;
+        private boolean recordStepMetrics;
+        private boolean incrementalExecution;
+        private int artifactChunkSize;
+        private Path downloadCacheDirectory;
 
         public ConfigurationBuilder setFilesToAttach(List<String> filesToAttach) {
             this.filesToAttach = filesToAttach;
@@ -328,6 +428,44 @@ public class ToolConfiguration {
             return this;
         }
 
+        public ConfigurationBuilder setAnalyzerParallelism(int analyzerParallelism) {
+            this.analyzerParallelism = analyzerParallelism;
+            return this;
+        }
+
+        public ConfigurationBuilder setProcessorParallelism(int processorParallelism) {
+            this.processorParallelism = processorParallelism;
+            return this;
+        }
+
+        public ConfigurationBuilder setGeneratorParallelism(int generatorParallelism) {
+            this.generatorParallelism = generatorParallelism;
+            return this;
+        }
+
+        public ConfigurationBuilder setRecordStepMetrics(boolean recordStepMetrics) {
+            this.recordStepMetrics = recordStepMetrics;
+            return this;
+        }
+
+        public ConfigurationBuilder setIncrementalExecution(boolean incrementalExecution) {
+            this.incrementalExecution = incrementalExecution;
+            return this;
+        }
+
+        public ConfigurationBuilder setArtifactChunkSize(int artifactChunkSize) {
+            this.artifactChunkSize = artifactChunkSize;
+            return this;
+        }
+
+        public ConfigurationBuilder setDownloadCacheDirectory(String downloadCacheDirectory) {
+            if (StringUtils.isBlank(downloadCacheDirectory)) {
+                return this;
+            }
+            this.downloadCacheDirectory = new File(downloadCacheDirectory).toPath();
+            return this;
+        }
+
         public ToolConfiguration buildConfiguration() {
             return new ToolConfiguration(this);
         }
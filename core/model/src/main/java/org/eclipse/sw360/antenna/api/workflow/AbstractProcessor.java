@@ -12,13 +12,55 @@ package org.eclipse.sw360.antenna.api.workflow;
 
 import org.eclipse.sw360.antenna.api.exceptions.ExecutionException;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactSelector;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactSelectorIndex;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactSelectorMatches;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
 
 public abstract class AbstractProcessor extends ConfigurableWorkflowItem {
+    private ProcessingState processingState;
+
     final public WorkflowStepResult process(ProcessingState previousState) throws ExecutionException {
-        WorkflowStepResult newResult = new WorkflowStepResult(process(previousState.getArtifacts()));
-        return postProcessResult(newResult);
+        processingState = previousState;
+        try {
+            WorkflowStepResult newResult = new WorkflowStepResult(process(previousState.getArtifacts()));
+            return postProcessResult(newResult);
+        } finally {
+            processingState = null;
+        }
+    }
+
+    /**
+     * Processes the artifacts of the given state in chunks of at most the
+     * given size, if this processor handles its artifacts independently of
+     * each other. The artifacts of the state are replaced chunk by chunk, so
+     * only a single chunk is copied at a time. Afterwards
+     * {@link #postProcessResult(WorkflowStepResult)} is called with a result
+     * without artifacts, which is to be appended to the state.
+     * <p>
+     * Processors that are not per artifact, or a chunk size of 0 or less,
+     * fall back to {@link #process(ProcessingState)}.
+     *
+     * @param previousState the state to process, which is modified in place
+     * @param chunkSize     the maximum number of artifacts per chunk
+     * @return the result of the post processing
+     * @throws ExecutionException if processing a chunk failed
+     */
+    final public WorkflowStepResult process(ProcessingState previousState, int chunkSize) throws ExecutionException {
+        if (chunkSize <= 0 || !isPerArtifact()) {
+            return process(previousState);
+        }
+        processingState = previousState;
+        try {
+            previousState.replaceArtifactsInChunks(chunkSize, this::process);
+            return postProcessResult(new WorkflowStepResult(Collections.emptySet(), true));
+        } finally {
+            processingState = null;
+        }
     }
 
     public abstract Collection<Artifact> process(Collection<Artifact> intermediates) throws ExecutionException;
@@ -26,4 +68,110 @@ public abstract class AbstractProcessor extends ConfigurableWorkflowItem {
     public WorkflowStepResult postProcessResult(WorkflowStepResult result) {
         return result;
     }
+
+    /**
+     * Evaluates the given selectors against the given artifacts. While this
+     * processor is run on a processing state, the matches are cached by the
+     * state, so that selectors already evaluated by an earlier workflow step
+     * are only evaluated again for new or modified artifacts.
+     *
+     * @param artifacts the artifacts passed to this processor
+     * @param selectors the selectors to evaluate
+     * @return the matches of the selectors with the artifacts
+     */
+    protected ArtifactSelectorMatches matchSelectors(Collection<Artifact> artifacts,
+                                                     Collection<? extends ArtifactSelector> selectors) {
+        ProcessingState state = processingState;
+        if (state == null) {
+            return new ArtifactSelectorMatches(ArtifactSelectorIndex.of(selectors), artifacts);
+        }
+        return state.getSelectorMatches(selectors, artifacts);
+    }
+
+    /**
+     * Processes the given artifacts with another processor as part of this
+     * processor. The other processor shares the processing state this
+     * processor is run on, see {@link #matchSelectors(Collection, Collection)}.
+     *
+     * @param delegate  the processor to run
+     * @param artifacts the artifacts to process
+     * @return the artifacts returned by the other processor
+     */
+    protected Collection<Artifact> processWith(AbstractProcessor delegate, Collection<Artifact> artifacts) {
+        ProcessingState delegateState = delegate.processingState;
+        delegate.processingState = processingState;
+        try {
+            return delegate.process(artifacts);
+        } finally {
+            delegate.processingState = delegateState;
+        }
+    }
+
+    /**
+     * Declares which artifact facts this processor reads and writes. Processors
+     * with a declaration may be executed concurrently with other declared
+     * processors that do not touch the same facts. Such processors must only
+     * modify the declared facts of the artifacts passed in. They must neither
+     * add nor remove artifacts, and they must not change artifact flags.
+     *
+     * @return the declaration, or an empty {@code Optional} if this processor
+     * has to run on its own (the default)
+     */
+    public Optional<ArtifactFactDeclaration> getArtifactFactDeclaration() {
+        return Optional.empty();
+    }
+
+    /**
+     * Tells whether the result of this processor may be restored from a
+     * checkpoint of an earlier run instead of executing the processor again.
+     * This is only valid for processors whose result depends solely on the
+     * artifacts passed in and on their step configuration, and which have no
+     * other effects that must be repeated, like adding messages to the
+     * processing report.
+     *
+     * @return true if the result may be restored from a checkpoint, false
+     * otherwise (the default)
+     */
+    public boolean isCheckpointable() {
+        return false;
+    }
+
+    /**
+     * Tells whether the result this checkpointable processor computed last
+     * may be stored as checkpoint. A processor returns false if its result is
+     * incomplete in a way the next run could fix, e.g. because a download
+     * failed, so that it is executed again instead of restored.
+     *
+     * @return true if the last result may be stored (the default), false
+     * otherwise
+     */
+    public boolean isLastResultCheckpointable() {
+        return true;
+    }
+
+    /**
+     * Names the inputs of a checkpointable processor besides its artifacts and
+     * its step configuration, e.g. the directory it writes files to. They are
+     * part of the fingerprint of a checkpoint, so that a checkpoint is not
+     * used once one of them changed.
+     *
+     * @return the further inputs by name, empty by default
+     */
+    public Map<String, String> getCheckpointInputs() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Tells whether this processor handles every artifact independently of
+     * all other artifacts, so that {@link #process(Collection)} can be called
+     * several times with disjoint chunks of the artifacts instead of once with
+     * all of them. The artifacts returned for a chunk replace the artifacts of
+     * that chunk.
+     *
+     * @return true if the artifacts may be passed in chunks, false otherwise
+     * (the default)
+     */
+    public boolean isPerArtifact() {
+        return false;
+    }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.api.workflow;
+
+import org.eclipse.sw360.antenna.model.artifact.ArtifactFact;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Describes which {@link ArtifactFact} types a processor reads and writes.
+ * <p>
+ * Fact types are compared by assignability, so declaring a super type such as
+ * {@code ArtifactFact.class} covers all of its sub types. Two declarations
+ * conflict if one of them writes a fact type that the other one reads or
+ * writes.
+ */
+public final class ArtifactFactDeclaration {
+    private final Set<Class<? extends ArtifactFact>> readFacts;
+    private final Set<Class<? extends ArtifactFact>> writtenFacts;
+
+    public ArtifactFactDeclaration(Collection<? extends Class<? extends ArtifactFact>> readFacts,
+                                   Collection<? extends Class<? extends ArtifactFact>> writtenFacts) {
+        this.readFacts = Collections.unmodifiableSet(new HashSet<>(readFacts));
+        this.writtenFacts = Collections.unmodifiableSet(new HashSet<>(writtenFacts));
+    }
+
+    public Set<Class<? extends ArtifactFact>> getReadFacts() {
+        return readFacts;
+    }
+
+    public Set<Class<? extends ArtifactFact>> getWrittenFacts() {
+        return writtenFacts;
+    }
+
+    public boolean conflictsWith(ArtifactFactDeclaration other) {
+        return overlap(writtenFacts, other.writtenFacts)
+                || overlap(writtenFacts, other.readFacts)
+                || overlap(readFacts, other.writtenFacts);
+    }
+
+    private static boolean overlap(Set<Class<? extends ArtifactFact>> facts, Set<Class<? extends ArtifactFact>> otherFacts) {
+        return facts.stream()
+                .anyMatch(fact -> otherFacts.stream()
+                        .anyMatch(otherFact -> fact.isAssignableFrom(otherFact) || otherFact.isAssignableFrom(fact)));
+    }
+}
@@ -18,6 +18,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -28,6 +29,7 @@ public abstract class ConfigurableWorkflowItem {
     protected AntennaContext context;
     protected short workflowStepOrder = 1000;
     protected final short VALIDATOR_BASE_ORDER = 10000;
+    private Map<String, String> configMap = Collections.emptyMap();
 
     public void setAntennaContext(AntennaContext context) {
         this.context = context;
@@ -56,6 +58,22 @@ public abstract class ConfigurableWorkflowItem {
         return workflowStepOrder;
     }
 
+    /**
+     * Returns the step configuration this item was created with by the
+     * workflow, e.g. to detect whether the configuration changed between two
+     * runs. Items which were not created from a workflow definition have an
+     * empty configuration.
+     *
+     * @return the unmodifiable step configuration
+     */
+    public Map<String, String> getConfigMap() {
+        return configMap;
+    }
+
+    public void setConfigMap(Map<String, String> configMap) {
+        this.configMap = Collections.unmodifiableMap(new HashMap<>(configMap));
+    }
+
     public void configure(Map<String, String> configMap) throws ConfigurationException {
 
     }
@@ -80,6 +98,20 @@ public abstract class ConfigurableWorkflowItem {
         return "true".equals(getConfigValue(key, configMap, "false").toLowerCase());
     }
 
+    public int getIntegerConfigValue(String key, Map<String, String> configMap, int defaultValue) {
+        String value = configMap.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            String error = String.format("%s misconfigured. \"%s\" is not a number: %s", getWorkflowItemName(), key, value);
+            LOGGER.error(error);
+            throw new ConfigurationException(error);
+        }
+    }
+
     public List<String> getCommaSeparatedConfigValue(String key, Map<String,String> configMap) {
         final String configValue = getConfigValue(key, configMap, "");
         if ("".equals(configValue)) {
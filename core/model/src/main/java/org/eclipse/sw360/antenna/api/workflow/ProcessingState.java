@@ -14,17 +14,31 @@ package org.eclipse.sw360.antenna.api.workflow;
 import org.eclipse.sw360.antenna.api.IAttachable;
 import org.eclipse.sw360.antenna.api.IEvaluationResult;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactIdentifierIndex;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactSelector;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactSelectorIndex;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactSelectorMatches;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class ProcessingState {
+    private static final int MAX_CACHED_SELECTOR_MATCHES = 32;
+
     private List<Artifact> artifacts = new ArrayList<>();
     private final Map<String,IAttachable> attachableMap = new HashMap<>();
     private final List<String> additionalReportComments = new ArrayList<>();
     private final Map<String, Set<IEvaluationResult>> failCausingResults = new HashMap<>();
+    private final Map<ArtifactSelectorIndex, ArtifactSelectorMatches> selectorMatches =
+            new LinkedHashMap<ArtifactSelectorIndex, ArtifactSelectorMatches>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ArtifactSelectorIndex, ArtifactSelectorMatches> eldest) {
+                    return size() > MAX_CACHED_SELECTOR_MATCHES;
+                }
+            };
 
     private final Logger LOGGER =  LoggerFactory.getLogger(ProcessingState.class);
 
@@ -40,6 +54,104 @@ public class ProcessingState {
         return new HashSet<>(artifacts);
     }
 
+    public int getNumberOfArtifacts() {
+        return artifacts.size();
+    }
+
+    /**
+     * Replaces the artifacts of this state chunk by chunk. The artifacts are
+     * split into chunks of at most the given size in their current order, and
+     * every chunk is replaced in place by the artifacts the given function
+     * returns for it, so only the current chunk is copied. Afterwards equal
+     * artifacts are merged, like in the set returned by {@link #getArtifacts()}.
+     *
+     * @param chunkSize      the maximum number of artifacts per chunk
+     * @param chunkProcessor the function computing the replacement of a chunk
+     */
+    public void replaceArtifactsInChunks(int chunkSize, Function<Collection<Artifact>, Collection<Artifact>> chunkProcessor) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("The chunk size must be positive, but was " + chunkSize);
+        }
+        int start = 0;
+        while (start < artifacts.size()) {
+            int end = Math.min(start + chunkSize, artifacts.size());
+            Collection<Artifact> replacement = chunkProcessor.apply(new ArrayList<>(artifacts.subList(start, end)));
+            if (replacement.size() == end - start) {
+                int index = start;
+                for (Artifact artifact : replacement) {
+                    artifacts.set(index++, artifact);
+                }
+            } else {
+                List<Artifact> chunk = artifacts.subList(start, end);
+                chunk.clear();
+                chunk.addAll(replacement);
+            }
+            start += replacement.size();
+        }
+        removeDuplicateArtifacts();
+    }
+
+    private void removeDuplicateArtifacts() {
+        Set<Artifact> distinctArtifacts = new HashSet<>();
+        int kept = 0;
+        for (Artifact artifact : artifacts) {
+            if (distinctArtifacts.add(artifact)) {
+                artifacts.set(kept++, artifact);
+            }
+        }
+        artifacts.subList(kept, artifacts.size()).clear();
+    }
+
+    /**
+     * Freezes the current content of this state into a read-only copy. The
+     * copy can be shared by consumers which only read the state, e.g.
+     * generators running concurrently. Its artifacts are frozen snapshots, see
+     * {@link Artifact#snapshot()}, collected once into an unmodifiable set
+     * that is handed out on every call of {@link #getArtifacts()}. Neither the
+     * copy nor its artifacts change when this state is modified afterwards,
+     * and trying to modify them fails.
+     *
+     * @return the read-only snapshot of this state
+     */
+    public ProcessingState createReadOnlySnapshot() {
+        return new ReadOnlyProcessingState(this);
+    }
+
+    /**
+     * @return true if this state is a read-only snapshot, which cannot be
+     * modified
+     */
+    public boolean isReadOnly() {
+        return false;
+    }
+
+    /**
+     * Evaluates the given selectors against the current artifacts of this
+     * state. The result is cached, so workflow steps evaluating the same
+     * selector collection, e.g. one of the {@code Configuration}, share it.
+     * When the artifacts have been replaced or modified since the last call,
+     * only the new and modified artifacts are evaluated again.
+     *
+     * @param selectors the selectors to evaluate
+     * @return the matches of the selectors with the current artifacts
+     */
+    public ArtifactSelectorMatches getSelectorMatches(Collection<? extends ArtifactSelector> selectors) {
+        return getSelectorMatches(selectors, artifacts);
+    }
+
+    protected ArtifactSelectorMatches getSelectorMatches(Collection<? extends ArtifactSelector> selectors,
+                                                         Collection<Artifact> currentArtifacts) {
+        ArtifactSelectorIndex index = ArtifactSelectorIndex.of(selectors);
+        synchronized (selectorMatches) {
+            ArtifactSelectorMatches matches = selectorMatches.get(index);
+            matches = matches != null
+                    ? matches.update(currentArtifacts)
+                    : new ArtifactSelectorMatches(index, currentArtifacts);
+            selectorMatches.put(index, matches);
+            return matches;
+        }
+    }
+
     public Map<String, IAttachable> getAttachables() {
         return attachableMap;
     }
@@ -70,12 +182,14 @@ public class ProcessingState {
     }
 
     private void checkingDuplicateArtifactsInWorkflowStepResults(Collection<WorkflowStepResult> initialResults) {
+        Map<WorkflowStepResult, ArtifactIdentifierIndex> indexes = new IdentityHashMap<>();
         List<Artifact> potentialArtifactDuplicates = initialResults.stream()
                 .filter(WorkflowStepResult::isArtifactsShouldBeAppended)
                 .flatMap(ir ->
                         initialResults.stream()
                                 .filter(ir2 -> !ir2.equals(ir))
-                                .map(ir::getPotentialDuplicatesWith)
+                                .map(ir2 -> ir.getPotentialDuplicatesIn(
+                                        indexes.computeIfAbsent(ir2, wsr -> new ArtifactIdentifierIndex(wsr.getArtifacts()))))
                 )
                 .flatMap(Collection::stream)
                 .collect(Collectors.toList());
@@ -89,4 +203,71 @@ public class ProcessingState {
             );
         }
     }
+
+    private static class ReadOnlyProcessingState extends ProcessingState {
+        private final Set<Artifact> artifactSnapshot;
+        private final Map<String, IAttachable> attachableSnapshot;
+        private final List<String> additionalReportCommentsSnapshot;
+        private final Map<String, Set<IEvaluationResult>> failCausingResultsSnapshot;
+
+        ReadOnlyProcessingState(ProcessingState original) {
+            super(null);
+            artifactSnapshot = Collections.unmodifiableSet(original.artifacts.stream()
+                    .map(Artifact::snapshot)
+                    .collect(Collectors.toCollection(HashSet::new)));
+            attachableSnapshot = Collections.unmodifiableMap(new HashMap<>(original.getAttachables()));
+            additionalReportCommentsSnapshot = Collections.unmodifiableList(new ArrayList<>(original.getAdditionalReportComments()));
+            failCausingResultsSnapshot = Collections.unmodifiableMap(new HashMap<>(original.getFailCausingResults()));
+        }
+
+        @Override
+        public Set<Artifact> getArtifacts() {
+            return artifactSnapshot;
+        }
+
+        @Override
+        public int getNumberOfArtifacts() {
+            return artifactSnapshot.size();
+        }
+
+        @Override
+        public ArtifactSelectorMatches getSelectorMatches(Collection<? extends ArtifactSelector> selectors) {
+            return getSelectorMatches(selectors, artifactSnapshot);
+        }
+
+        @Override
+        public Map<String, IAttachable> getAttachables() {
+            return attachableSnapshot;
+        }
+
+        @Override
+        public List<String> getAdditionalReportComments() {
+            return additionalReportCommentsSnapshot;
+        }
+
+        @Override
+        public Map<String, Set<IEvaluationResult>> getFailCausingResults() {
+            return failCausingResultsSnapshot;
+        }
+
+        @Override
+        public ProcessingState createReadOnlySnapshot() {
+            return this;
+        }
+
+        @Override
+        public boolean isReadOnly() {
+            return true;
+        }
+
+        @Override
+        public void applyWorkflowStepResult(WorkflowStepResult workflowStepResult, boolean forceAppend) {
+            throw new UnsupportedOperationException("A read-only processing state cannot be modified");
+        }
+
+        @Override
+        public void replaceArtifactsInChunks(int chunkSize, Function<Collection<Artifact>, Collection<Artifact>> chunkProcessor) {
+            throw new UnsupportedOperationException("A read-only processing state cannot be modified");
+        }
+    }
 }
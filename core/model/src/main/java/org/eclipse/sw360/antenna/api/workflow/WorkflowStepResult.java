@@ -13,6 +13,7 @@ package org.eclipse.sw360.antenna.api.workflow;
 import org.eclipse.sw360.antenna.api.IAttachable;
 import org.eclipse.sw360.antenna.api.IEvaluationResult;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactIdentifierIndex;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -78,11 +79,12 @@ public class WorkflowStepResult {
     }
 
     public List<Artifact> getPotentialDuplicatesWith(WorkflowStepResult compareWsr) {
+        return getPotentialDuplicatesIn(new ArtifactIdentifierIndex(compareWsr.getArtifacts()));
+    }
+
+    public List<Artifact> getPotentialDuplicatesIn(ArtifactIdentifierIndex compareIndex) {
         return this.artifacts.stream()
-                .flatMap(artifact ->
-                    compareWsr.getArtifacts().stream()
-                            .filter(artifact::isPotentialDuplicateOf)
-                )
+                .flatMap(artifact -> compareIndex.getPotentialDuplicatesOf(artifact).stream())
                 .collect(Collectors.toList());
     }
 }
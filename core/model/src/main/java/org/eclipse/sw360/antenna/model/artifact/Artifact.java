@@ -36,6 +36,23 @@ public class Artifact extends ArtifactCore {
         super(analysisSource);
     }
 
+    private Artifact(Artifact original) {
+        super(original);
+    }
+
+    /**
+     * Creates an immutable snapshot of this artifact, which can be shared with
+     * concurrent readers. The snapshot shares its facts with this artifact, so
+     * taking it is cheap, and it is not affected by facts added to this
+     * artifact afterwards. Facts which are modified in place, however, are
+     * visible in the snapshot as well.
+     *
+     * @return the frozen snapshot, or this artifact if it is frozen already
+     */
+    public Artifact snapshot() {
+        return isFrozen() ? this : new Artifact(this);
+    }
+
     @Override
     public Artifact addFact(ArtifactFact artifactFact) {
         return (Artifact) super.addFact(artifactFact);
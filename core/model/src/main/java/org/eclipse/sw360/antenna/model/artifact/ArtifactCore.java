@@ -15,25 +15,81 @@ import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.util.*;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * The facts of an artifact are stored in an array, in which every fact is
+ * placed at the index {@link ArtifactFactRegistry} assigned to its key. This
+ * keeps the memory footprint of an artifact small and makes looking up facts
+ * cheap. Facts are added under the lock of the artifact and the array is
+ * republished afterwards, so that facts with different keys can be added
+ * concurrently.
+ * <p>
+ * A frozen snapshot of an artifact shares the fact array with the artifact it
+ * was taken from. The artifact copies the array before it is modified the next
+ * time, so the snapshot keeps the facts the artifact had when it was taken.
+ */
 public class ArtifactCore
-        implements IPrettyPrintable{
-    private final Map<Class<? extends ArtifactFact>, ArtifactFact> artifactFacts = new HashMap<>();
-    private final ArtifactFlags artifactFlags = new ArtifactFlags();
-    private final Optional<String> analysisSource;
+        implements IPrettyPrintable, Serializable {
+    private static final ArtifactFact[] NO_FACTS = new ArtifactFact[0];
+
+    private transient volatile ArtifactFact[] artifactFacts = NO_FACTS;
+    private transient boolean factsShared;
+    private transient volatile int modificationCount;
+    private final ArtifactFlags artifactFlags;
+    private final String analysisSource;
+    private final boolean frozen;
 
-    private final Logger LOGGER =  LoggerFactory.getLogger(ArtifactCore.class);
+    private static final Logger LOGGER =  LoggerFactory.getLogger(ArtifactCore.class);
 
     public ArtifactCore() {
-        analysisSource = Optional.empty();
+        this((String) null);
     }
 
     public ArtifactCore(String analysisSource) {
-        this.analysisSource = Optional.ofNullable(analysisSource);
+        this.artifactFlags = new ArtifactFlags();
+        this.analysisSource = analysisSource;
+        this.frozen = false;
+    }
+
+    /**
+     * Creates a frozen snapshot of the given artifact, which cannot be
+     * modified.
+     *
+     * @param original the artifact to take the snapshot of
+     */
+    protected ArtifactCore(ArtifactCore original) {
+        synchronized (original) {
+            this.artifactFacts = original.artifactFacts;
+            original.factsShared = true;
+            this.artifactFlags = original.artifactFlags.copy();
+        }
+        this.analysisSource = original.analysisSource;
+        this.frozen = true;
+    }
+
+    /**
+     * Tells whether this artifact is a frozen snapshot. Trying to add facts to
+     * or to set flags on a frozen artifact fails with an
+     * {@code UnsupportedOperationException}.
+     *
+     * @return true if this artifact cannot be modified
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException("A frozen artifact cannot be modified");
+        }
     }
 
     private <T extends ArtifactFact> Predicate<T> not(Predicate<T> predicate) {
@@ -45,23 +101,49 @@ public class ArtifactCore
                 .filter(not(ArtifactFact::isEmpty));
     }
 
-    private <T extends ArtifactFact> Optional<T> filterEmptyFacts(Optional<T> stream) {
-        return stream
-                .filter(not(ArtifactFact::isEmpty));
+    private Stream<ArtifactFact> streamFacts() {
+        return Arrays.stream(artifactFacts)
+                .filter(Objects::nonNull);
+    }
+
+    private static ArtifactFact getFact(ArtifactFact[] facts, int index) {
+        return index >= 0 && index < facts.length ? facts[index] : null;
     }
 
-    @SuppressWarnings("unchecked")
     public ArtifactCore addFact(ArtifactFact artifactFact) {
         LOGGER.trace(artifactFact.prettyPrint());
+        checkNotFrozen();
+        putFact(artifactFact);
+        return this;
+    }
 
-        final Class<? extends ArtifactFact> rowClass = artifactFact.getKey();
+    @SuppressWarnings("unchecked")
+    private void putFact(ArtifactFact artifactFact) {
+        final int index = ArtifactFactRegistry.register(artifactFact.getKey());
 
-        if(artifactFacts.containsKey(rowClass)) {
-            artifactFacts.put(rowClass, artifactFacts.get(rowClass).mergeWith(artifactFact));
-        } else {
-            artifactFacts.put(rowClass, artifactFact);
+        synchronized (this) {
+            ArtifactFact[] facts = artifactFacts;
+            if (index >= facts.length || factsShared) {
+                facts = Arrays.copyOf(facts, Math.max(facts.length, index + 1));
+                factsShared = false;
+            }
+            final ArtifactFact existingFact = facts[index];
+            facts[index] = existingFact != null ? existingFact.mergeWith(artifactFact) : artifactFact;
+            artifactFacts = facts;
+            modificationCount++;
         }
-        return this;
+    }
+
+    /**
+     * Returns a counter which is increased whenever a fact is added to this
+     * artifact or one of its flags is set. Results derived from the facts and
+     * flags of the artifact, e.g. the selectors matching it, remain valid as
+     * long as the counter has the same value.
+     *
+     * @return the current value of the modification counter
+     */
+    public int getModificationCount() {
+        return modificationCount;
     }
 
     public ArtifactCore addCoordinate(Coordinate coordinate) {
@@ -86,18 +168,27 @@ public class ArtifactCore
 
     @SuppressWarnings("unchecked")
     public <T extends ArtifactFact> Optional<T> askFor(Class<T> rowClass) {
-        return filterEmptyFacts(Optional.ofNullable(artifactFacts.get(rowClass))
-                .filter(rowClass::isInstance)
-                .map(rowClass::cast));
+        final ArtifactFact fact = getFact(artifactFacts, ArtifactFactRegistry.indexOf(rowClass));
+        if (!rowClass.isInstance(fact) || fact.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(rowClass.cast(fact));
     }
 
     @SuppressWarnings("unchecked")
     public <T extends ArtifactFact> List<T> askForAll(Class<T> rowSuperClass) {
-        return filterEmptyFacts(artifactFacts.entrySet().stream()
-                .filter(classArtifactFactEntry -> rowSuperClass.isAssignableFrom(classArtifactFactEntry.getKey()))
-                .map(Map.Entry::getValue)
-                .map(o -> (T) o))
-                .collect(Collectors.toList());
+        final ArtifactFact[] facts = artifactFacts;
+        List<T> result = Collections.emptyList();
+        for (int index : ArtifactFactRegistry.getAssignableIndices(rowSuperClass)) {
+            final ArtifactFact fact = getFact(facts, index);
+            if (fact != null && !fact.isEmpty()) {
+                if (result.isEmpty()) {
+                    result = new ArrayList<>();
+                }
+                result.add((T) fact);
+            }
+        }
+        return result;
     }
 
     @SuppressWarnings("unchecked")
@@ -111,13 +202,16 @@ public class ArtifactCore
     }
 
     public ArtifactCore setFlag(String key, boolean value) {
-        artifactFlags.setFlag(key, value);
+        checkNotFrozen();
+        synchronized (this) {
+            artifactFlags.setFlag(key, value);
+            modificationCount++;
+        }
         return this;
     }
 
     public ArtifactCore setFlag(String key) {
-        artifactFlags.setFlag(key, true);
-        return this;
+        return setFlag(key, true);
     }
 
     public boolean getFlag(String key) {
@@ -125,12 +219,12 @@ public class ArtifactCore
     }
 
     public String getAnalysisSource() {
-        return analysisSource
+        return Optional.ofNullable(analysisSource)
                 .orElse("UNKNOWN");
     }
 
     public void overrideWith(ArtifactCore artifactWithPrecedence) {
-        filterEmptyFacts(artifactWithPrecedence.artifactFacts.values().stream())
+        filterEmptyFacts(artifactWithPrecedence.streamFacts())
                 .forEach(this::addFact);
         artifactWithPrecedence.artifactFlags.getRawContent()
                 .forEach(this::setFlag);
@@ -152,11 +246,11 @@ public class ArtifactCore
                     .append(")");
         }
         stringBuilder.append(": ");
-        if((artifactFacts.isEmpty() || artifactFacts.values().stream().allMatch(ArtifactFact::isEmpty)) &&
+        if(streamFacts().allMatch(ArtifactFact::isEmpty) &&
                 artifactFlags.isEmpty()) {
             stringBuilder.append("empty");
         } else {
-            stringBuilder.append(filterEmptyFacts(artifactFacts.values().stream())
+            stringBuilder.append(filterEmptyFacts(streamFacts())
                     .map(IPrettyPrintable::prettyPrint)
                     .sorted()
                     .collect(Collectors.joining("\n\t")));
@@ -188,13 +282,52 @@ public class ArtifactCore
         if (this == o) return true;
         if (!(o instanceof ArtifactCore)) return false;
         ArtifactCore that = (ArtifactCore) o;
-        return Objects.equals(artifactFacts, that.artifactFacts) &&
+        return haveEqualFacts(artifactFacts, that.artifactFacts) &&
                 Objects.equals(artifactFlags, that.artifactFlags) &&
                 Objects.equals(analysisSource, that.analysisSource);
     }
 
+    private static boolean haveEqualFacts(ArtifactFact[] facts, ArtifactFact[] otherFacts) {
+        for (int index = 0; index < Math.max(facts.length, otherFacts.length); index++) {
+            if (!Objects.equals(getFact(facts, index), getFact(otherFacts, index))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hashes the facts like a map from fact key to fact, as they have been
+     * stored before.
+     */
+    private static int hashFacts(ArtifactFact[] facts) {
+        int hash = 0;
+        for (int index = 0; index < facts.length; index++) {
+            if (facts[index] != null) {
+                hash += ArtifactFactRegistry.getFactKey(index).hashCode() ^ facts[index].hashCode();
+            }
+        }
+        return hash;
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(artifactFacts, artifactFlags, analysisSource);
+        return Objects.hash(hashFacts(artifactFacts), artifactFlags, analysisSource);
+    }
+
+    /**
+     * The indices of the fact keys are only valid within one JVM, so the facts
+     * are written as plain list and put into place again when being read.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeObject(streamFacts().collect(Collectors.toCollection(ArrayList::new)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        artifactFacts = NO_FACTS;
+        ((List<ArtifactFact>) in.readObject()).forEach(this::putFact);
     }
 }
@@ -10,8 +10,10 @@
  */
 package org.eclipse.sw360.antenna.model.artifact;
 
+import java.io.Serializable;
+
 public interface ArtifactFact<T extends ArtifactFact>
-        extends IPrettyPrintable {
+        extends IPrettyPrintable, Serializable {
     String getFactContentName(); // used for pretty printing
     boolean isEmpty();
     default T mergeWith(T resultWithPrecedence) {
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.model.artifact;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns every fact key, i.e. every class returned by
+ * {@link ArtifactFact#getKey()}, a dense index, which is used by
+ * {@link ArtifactCore} as position of the fact in its fact array.
+ * <p>
+ * Indices are assigned in the order the fact keys are first used and are only
+ * valid within the running JVM. For every type asked for via
+ * {@link ArtifactCore#askForAll(Class)} the indices of the assignable fact keys
+ * are computed once and only extended when new fact keys are registered.
+ */
+final class ArtifactFactRegistry {
+    static final int UNKNOWN = -1;
+
+    private static final Map<Class<?>, Integer> INDICES = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, AssignableFactKeys> ASSIGNABLE_FACT_KEYS = new ConcurrentHashMap<>();
+    private static volatile Class<?>[] factKeys = new Class<?>[0];
+
+    private ArtifactFactRegistry() {
+        // only static methods
+    }
+
+    /**
+     * Returns the index of a fact key, registering the key if necessary.
+     */
+    static int register(Class<?> factKey) {
+        Integer index = INDICES.get(factKey);
+        return index != null ? index : registerNew(factKey);
+    }
+
+    private static synchronized int registerNew(Class<?> factKey) {
+        Integer index = INDICES.get(factKey);
+        if (index != null) {
+            return index;
+        }
+        int newIndex = factKeys.length;
+        Class<?>[] extendedFactKeys = Arrays.copyOf(factKeys, newIndex + 1);
+        extendedFactKeys[newIndex] = factKey;
+        factKeys = extendedFactKeys;
+        INDICES.put(factKey, newIndex);
+        return newIndex;
+    }
+
+    /**
+     * Returns the index of a fact key, or {@link #UNKNOWN} if no fact with
+     * this key has been added to any artifact yet.
+     */
+    static int indexOf(Class<?> factKey) {
+        Integer index = INDICES.get(factKey);
+        return index != null ? index : UNKNOWN;
+    }
+
+    static Class<?> getFactKey(int index) {
+        return factKeys[index];
+    }
+
+    /**
+     * Returns the indices of all registered fact keys which are assignable to
+     * the given type, in ascending order. The returned array must not be
+     * modified.
+     */
+    static int[] getAssignableIndices(Class<?> type) {
+        Class<?>[] registeredFactKeys = factKeys;
+        AssignableFactKeys assignable = ASSIGNABLE_FACT_KEYS.get(type);
+        if (assignable == null || assignable.checkedFactKeys < registeredFactKeys.length) {
+            assignable = AssignableFactKeys.extend(assignable, type, registeredFactKeys);
+            ASSIGNABLE_FACT_KEYS.put(type, assignable);
+        }
+        return assignable.indices;
+    }
+
+    private static final class AssignableFactKeys {
+        private final int checkedFactKeys;
+        private final int[] indices;
+
+        private AssignableFactKeys(int checkedFactKeys, int[] indices) {
+            this.checkedFactKeys = checkedFactKeys;
+            this.indices = indices;
+        }
+
+        private static AssignableFactKeys extend(AssignableFactKeys known, Class<?> type, Class<?>[] registeredFactKeys) {
+            int checked = known != null ? known.checkedFactKeys : 0;
+            int[] indices = known != null
+                    ? Arrays.copyOf(known.indices, known.indices.length + registeredFactKeys.length - checked)
+                    : new int[registeredFactKeys.length];
+            int count = known != null ? known.indices.length : 0;
+            for (int index = checked; index < registeredFactKeys.length; index++) {
+                if (type.isAssignableFrom(registeredFactKeys[index])) {
+                    indices[count++] = index;
+                }
+            }
+            return new AssignableFactKeys(registeredFactKeys.length, Arrays.copyOf(indices, count));
+        }
+    }
+}
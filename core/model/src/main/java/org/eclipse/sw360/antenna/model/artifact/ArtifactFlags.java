@@ -11,6 +11,7 @@
 
 package org.eclipse.sw360.antenna.model.artifact;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -18,7 +19,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 public class ArtifactFlags
-        implements IPrettyPrintable {
+        implements IPrettyPrintable, Serializable {
     private final Map<String,Boolean> flags = new HashMap<>();
 
     public String prettyPrint() {
@@ -44,6 +45,12 @@ public class ArtifactFlags
         return flags.isEmpty();
     }
 
+    ArtifactFlags copy() {
+        ArtifactFlags copy = new ArtifactFlags();
+        copy.flags.putAll(flags);
+        return copy;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.model.artifact;
+
+import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactFile;
+import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactFilename;
+import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactIdentifier;
+import org.eclipse.sw360.antenna.model.artifact.facts.java.ArtifactPathnames;
+import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * An index over the {@link ArtifactIdentifier}s of a collection of artifacts,
+ * which finds the potential duplicates of an artifact without comparing it to
+ * every indexed artifact.
+ * <p>
+ * The identifiers are hashed into buckets by their coordinate types and
+ * names, their file names, their file hashes and their file paths. Only the
+ * artifacts sharing a bucket with the searched artifact are compared to it via
+ * {@link Artifact#isPotentialDuplicateOf(Artifact)}, so the result is the same
+ * as comparing with all artifacts. Identifiers that cannot be hashed, because
+ * they contain wildcards or are of an unknown type, are compared with every
+ * artifact.
+ */
+public class ArtifactIdentifierIndex {
+    private final List<Artifact> artifacts = new ArrayList<>();
+    private final Map<String, List<Integer>> buckets = new HashMap<>();
+    private final BitSet unhashedArtifacts = new BitSet();
+
+    public ArtifactIdentifierIndex() {
+    }
+
+    public ArtifactIdentifierIndex(Collection<Artifact> artifacts) {
+        artifacts.forEach(this::add);
+    }
+
+    /**
+     * Adds an artifact to the index. The artifact is indexed by its current
+     * identifiers, so it has to be added again if they change.
+     *
+     * @param artifact the artifact to add
+     */
+    public void add(Artifact artifact) {
+        int position = artifacts.size();
+        artifacts.add(artifact);
+        Optional<Set<String>> keys = getKeys(artifact);
+        if (keys.isPresent()) {
+            keys.get().forEach(key -> buckets.computeIfAbsent(key, k -> new ArrayList<>()).add(position));
+        } else {
+            unhashedArtifacts.set(position);
+        }
+    }
+
+    /**
+     * Returns all indexed artifacts the given artifact is a potential
+     * duplicate of, in the order they were added to the index.
+     *
+     * @param artifact the artifact to look up
+     * @return the potential duplicates of the artifact
+     */
+    public List<Artifact> getPotentialDuplicatesOf(Artifact artifact) {
+        return getCandidates(artifact).stream()
+                .mapToObj(artifacts::get)
+                .filter(artifact::isPotentialDuplicateOf)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the first indexed artifact the given artifact is a potential
+     * duplicate of.
+     *
+     * @param artifact the artifact to look up
+     * @return the first potential duplicate, if there is any
+     */
+    public Optional<Artifact> findPotentialDuplicateOf(Artifact artifact) {
+        return getCandidates(artifact).stream()
+                .mapToObj(artifacts::get)
+                .filter(artifact::isPotentialDuplicateOf)
+                .findFirst();
+    }
+
+    private BitSet getCandidates(Artifact artifact) {
+        BitSet candidates = new BitSet(artifacts.size());
+        Optional<Set<String>> keys = getKeys(artifact);
+        if (!keys.isPresent()) {
+            candidates.set(0, artifacts.size());
+            return candidates;
+        }
+        keys.get().stream()
+                .map(buckets::get)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .forEach(candidates::set);
+        candidates.or(unhashedArtifacts);
+        return candidates;
+    }
+
+    private static Optional<Set<String>> getKeys(Artifact artifact) {
+        Set<String> keys = new HashSet<>();
+        for (ArtifactIdentifier identifier : artifact.getArtifactIdentifiers()) {
+            if (!addKeys(identifier, keys)) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(keys);
+    }
+
+    /**
+     * Adds the bucket keys of an identifier. Two identifiers which match each
+     * other always share at least one key.
+     *
+     * @return false if the identifier cannot be hashed
+     */
+    private static boolean addKeys(ArtifactIdentifier identifier, Set<String> keys) {
+        if (identifier instanceof ArtifactCoordinates) {
+            for (Coordinate coordinate : ((ArtifactCoordinates) identifier).getCoordinates()) {
+                if (!WildcardMatcher.isExactLiteral(coordinate.getType()) || !WildcardMatcher.isExactLiteral(coordinate.getName())) {
+                    return false;
+                }
+                keys.add("coordinate:" + coordinate.getType() + ":" + coordinate.getName());
+            }
+            return true;
+        }
+        if (identifier instanceof ArtifactFilename) {
+            for (ArtifactFilename.ArtifactFilenameEntry entry : ((ArtifactFilename) identifier).getArtifactFilenameEntries()) {
+                if (!addKeys(entry, keys)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (identifier instanceof ArtifactPathnames) {
+            Optional.ofNullable(((ArtifactPathnames) identifier).get())
+                    .ifPresent(pathnames -> pathnames.stream()
+                            .filter(Objects::nonNull)
+                            .forEach(pathname -> keys.add("filename:" + getLastPathSegment(pathname))));
+            return true;
+        }
+        if (identifier instanceof ArtifactFile) {
+            keys.add("file:" + ((ArtifactFile) identifier).get().toString().toLowerCase(Locale.ROOT));
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean addKeys(ArtifactFilename.ArtifactFilenameEntry entry, Set<String> keys) {
+        String filename = entry.getFilename();
+        String hash = entry.getHash();
+        if (filename == null && hash == null) {
+            return false;
+        }
+        if (filename != null) {
+            if (!WildcardMatcher.isExactLiteral(filename)) {
+                return false;
+            }
+            keys.add("filename:" + getLastPathSegment(filename));
+        }
+        if (hash != null) {
+            if (!WildcardMatcher.isExactLiteral(hash)) {
+                return false;
+            }
+            keys.add("hash:" + hash);
+        }
+        return true;
+    }
+
+    private static String getLastPathSegment(String path) {
+        return path.substring(Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\')) + 1);
+    }
+}
@@ -11,8 +11,6 @@
 
 package org.eclipse.sw360.antenna.model.artifact;
 
-import java.util.regex.Pattern;
-
 public class ArtifactSelectorHelper {
     private ArtifactSelectorHelper() {
         // only static methods
@@ -33,8 +31,6 @@ public class ArtifactSelectorHelper {
         if(regex == null) {
             return true;
         }
-        return regex.equals(input) || Pattern.matches(
-                regex.trim().replaceAll("\\.", "\\\\.").replaceAll("\\*", ".*?"),
-                input != null ? input : "");
+        return regex.equals(input) || WildcardMatcher.matches(regex, input);
     }
 }
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.model.artifact;
+
+import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * An index over a collection of {@link ArtifactSelector}s, which finds the
+ * selectors matching an artifact without evaluating every selector.
+ * <p>
+ * Selectors requiring coordinates with a literal type and name, e.g. the ones
+ * of the configuration file, are hashed by the type, namespace and name of
+ * these coordinates. A selector whose namespace is not literal is hashed with
+ * a wildcard namespace. Only the selectors sharing a key with the coordinates
+ * of an artifact and the selectors which cannot be hashed are evaluated via
+ * {@link ArtifactSelector#matches(Artifact)}, so the result is the same as
+ * evaluating all selectors.
+ * <p>
+ * The indexes of the selector collections of a configuration can be shared by
+ * all workflow steps via {@link #of(Collection)}.
+ */
+public class ArtifactSelectorIndex {
+    private static final String ANY_NAMESPACE = "*";
+    private static final Map<SelectorsReference, ArtifactSelectorIndex> SHARED_INDEXES = new HashMap<>();
+    private static final ReferenceQueue<Collection<?>> RELEASED_SELECTORS = new ReferenceQueue<>();
+
+    private final List<ArtifactSelector> selectors;
+    private final Map<String, List<Integer>> buckets = new HashMap<>();
+    private final BitSet unhashedSelectors = new BitSet();
+
+    public ArtifactSelectorIndex(Collection<? extends ArtifactSelector> selectors) {
+        this.selectors = Collections.unmodifiableList(new ArrayList<>(selectors));
+        for (int position = 0; position < this.selectors.size(); position++) {
+            Optional<Set<String>> keys = getKeys(this.selectors.get(position));
+            if (keys.isPresent()) {
+                final int selectorPosition = position;
+                keys.get().forEach(key -> buckets.computeIfAbsent(key, k -> new ArrayList<>()).add(selectorPosition));
+            } else {
+                unhashedSelectors.set(position);
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the given selectors, which is shared with all
+     * callers passing the same collection instance, e.g. a selector list of
+     * the {@code Configuration}. The index is built again if the collection
+     * has been modified in the meantime. The collection is only referenced
+     * weakly, so its index is dropped once the collection is not used anymore.
+     *
+     * @param selectors the selectors to index
+     * @return the shared index of the selectors
+     */
+    public static ArtifactSelectorIndex of(Collection<? extends ArtifactSelector> selectors) {
+        synchronized (SHARED_INDEXES) {
+            removeReleasedIndexes();
+            ArtifactSelectorIndex index = SHARED_INDEXES.get(new SelectorsReference(selectors, null));
+            if (index == null || !index.isBuiltFrom(selectors)) {
+                index = new ArtifactSelectorIndex(selectors);
+                SHARED_INDEXES.put(new SelectorsReference(selectors, RELEASED_SELECTORS), index);
+            }
+            return index;
+        }
+    }
+
+    private static void removeReleasedIndexes() {
+        Reference<? extends Collection<?>> released;
+        while ((released = RELEASED_SELECTORS.poll()) != null) {
+            SHARED_INDEXES.remove(released);
+        }
+    }
+
+    /**
+     * @return the indexed selectors in the order they were passed in
+     */
+    public List<ArtifactSelector> getSelectors() {
+        return selectors;
+    }
+
+    /**
+     * Returns the positions of all selectors matching the given artifact, in
+     * the order of {@link #getSelectors()}.
+     *
+     * @param artifact the artifact to match
+     * @return the positions of the matching selectors
+     */
+    public BitSet getMatchingPositions(Artifact artifact) {
+        BitSet matches = getCandidates(artifact);
+        for (int position = matches.nextSetBit(0); position >= 0; position = matches.nextSetBit(position + 1)) {
+            if (!selectors.get(position).matches(artifact)) {
+                matches.clear(position);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns all selectors matching the given artifact, in the order of
+     * {@link #getSelectors()}.
+     *
+     * @param artifact the artifact to match
+     * @return the matching selectors
+     */
+    public List<ArtifactSelector> getMatchingSelectors(Artifact artifact) {
+        return getMatchingPositions(artifact).stream()
+                .mapToObj(selectors::get)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the position of the first selector at or after the given
+     * position which matches the artifact. As the candidates are determined
+     * from the current coordinates of the artifact, the artifact may be
+     * modified between two calls, e.g. when applying the matching selectors
+     * one after the other.
+     *
+     * @param artifact     the artifact to match
+     * @param fromPosition the position to start searching at
+     * @return the position of the matching selector, or -1 if there is none
+     */
+    public int findNextMatchingPosition(Artifact artifact, int fromPosition) {
+        BitSet candidates = getCandidates(artifact);
+        for (int position = candidates.nextSetBit(fromPosition); position >= 0; position = candidates.nextSetBit(position + 1)) {
+            if (selectors.get(position).matches(artifact)) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param artifact the artifact to match
+     * @return true if any of the selectors matches the given artifact
+     */
+    public boolean matchesAny(Artifact artifact) {
+        return findNextMatchingPosition(artifact, 0) >= 0;
+    }
+
+    private BitSet getCandidates(Artifact artifact) {
+        BitSet candidates = (BitSet) unhashedSelectors.clone();
+        if (buckets.isEmpty()) {
+            return candidates;
+        }
+        for (Coordinate coordinate : artifact.getCoordinates()) {
+            addCandidates(candidates, getKey(coordinate.getType(), coordinate.getNamespace(), coordinate.getName()));
+            addCandidates(candidates, getKey(coordinate.getType(), ANY_NAMESPACE, coordinate.getName()));
+        }
+        return candidates;
+    }
+
+    private void addCandidates(BitSet candidates, String key) {
+        List<Integer> bucket = buckets.get(key);
+        if (bucket != null) {
+            bucket.forEach(candidates::set);
+        }
+    }
+
+    private boolean isBuiltFrom(Collection<? extends ArtifactSelector> otherSelectors) {
+        if (otherSelectors.size() != selectors.size()) {
+            return false;
+        }
+        Iterator<ArtifactSelector> iterator = selectors.iterator();
+        for (ArtifactSelector selector : otherSelectors) {
+            if (iterator.next() != selector) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes the keys of a selector. An artifact matched by the selector
+     * always has coordinates with one of these keys.
+     *
+     * @return the keys, or an empty {@code Optional} if the selector cannot be
+     * hashed
+     */
+    private static Optional<Set<String>> getKeys(ArtifactSelector selector) {
+        if (selector instanceof ArtifactCoordinates) {
+            return getCoordinateKeys((ArtifactCoordinates) selector);
+        }
+        if (selector instanceof ArtifactSelectorAndSet) {
+            // every selector of the set has to match, so the keys of one of them suffice
+            return ((ArtifactSelectorAndSet) selector).getSelectors().stream()
+                    .map(ArtifactSelectorIndex::getKeys)
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .findFirst();
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<Set<String>> getCoordinateKeys(ArtifactCoordinates artifactCoordinates) {
+        Set<Coordinate> coordinates = artifactCoordinates.getCoordinates();
+        if (coordinates.isEmpty()) {
+            return Optional.empty();
+        }
+        Set<String> keys = new HashSet<>();
+        for (Coordinate coordinate : coordinates) {
+            if (!WildcardMatcher.isExactLiteral(coordinate.getType()) || !WildcardMatcher.isExactLiteral(coordinate.getName())) {
+                return Optional.empty();
+            }
+            String namespace = WildcardMatcher.isExactLiteral(coordinate.getNamespace())
+                    ? coordinate.getNamespace()
+                    : ANY_NAMESPACE;
+            keys.add(getKey(coordinate.getType(), namespace, coordinate.getName()));
+        }
+        return Optional.of(keys);
+    }
+
+    private static String getKey(String type, String namespace, String name) {
+        return type + ":" + namespace + ":" + name;
+    }
+
+    /**
+     * Compares selector collections by identity, as comparing them by their
+     * content would cost as much as evaluating them. A released reference is
+     * only equal to itself, so that it can still be removed from the map.
+     */
+    private static final class SelectorsReference extends WeakReference<Collection<?>> {
+        private final int hashCode;
+
+        private SelectorsReference(Collection<?> selectors, ReferenceQueue<Collection<?>> queue) {
+            super(selectors, queue);
+            this.hashCode = System.identityHashCode(selectors);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SelectorsReference)) {
+                return false;
+            }
+            Collection<?> selectors = get();
+            return selectors != null && ((SelectorsReference) o).get() == selectors;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.model.artifact;
+
+import java.util.*;
+
+/**
+ * The result of evaluating a collection of {@link ArtifactSelector}s against a
+ * collection of artifacts at once. Selectors and artifacts are addressed by
+ * their positions in {@link #getSelectors()} and {@link #getArtifacts()}, the
+ * matches are kept as one {@link BitSet} of artifact positions per selector.
+ * <p>
+ * Instances are immutable. The matches of an artifact are only valid as long
+ * as its {@link Artifact#getModificationCount()} does not change, so
+ * {@link #update(Collection)} has to be called before reusing the matches
+ * after the artifacts may have been modified. It evaluates the selectors only
+ * against new and modified artifacts.
+ */
+public final class ArtifactSelectorMatches {
+    private final ArtifactSelectorIndex index;
+    private final List<Artifact> artifacts;
+    private final int[] modificationCounts;
+    private final BitSet[] selectorsPerArtifact;
+    private final BitSet[] artifactsPerSelector;
+    private final Map<Artifact, Integer> artifactPositions = new IdentityHashMap<>();
+
+    /**
+     * Evaluates all selectors of the index against the given artifacts.
+     *
+     * @param index     the selectors to evaluate
+     * @param artifacts the artifacts to match
+     */
+    public ArtifactSelectorMatches(ArtifactSelectorIndex index, Collection<Artifact> artifacts) {
+        this(index, artifacts, null);
+    }
+
+    private ArtifactSelectorMatches(ArtifactSelectorIndex index, Collection<Artifact> artifacts,
+                                    ArtifactSelectorMatches previous) {
+        this.index = index;
+        this.artifacts = Collections.unmodifiableList(new ArrayList<>(artifacts));
+        this.modificationCounts = new int[this.artifacts.size()];
+        this.selectorsPerArtifact = new BitSet[this.artifacts.size()];
+        this.artifactsPerSelector = new BitSet[index.getSelectors().size()];
+        for (int selectorPosition = 0; selectorPosition < artifactsPerSelector.length; selectorPosition++) {
+            artifactsPerSelector[selectorPosition] = new BitSet(this.artifacts.size());
+        }
+
+        for (int position = 0; position < this.artifacts.size(); position++) {
+            Artifact artifact = this.artifacts.get(position);
+            artifactPositions.put(artifact, position);
+            Integer previousPosition = previous != null ? previous.artifactPositions.get(artifact) : null;
+            // the count is read before matching, so a concurrent modification invalidates the matches
+            int modificationCount = artifact.getModificationCount();
+            BitSet matchingSelectors = previousPosition != null && previous.isUpToDate(previousPosition)
+                    ? previous.selectorsPerArtifact[previousPosition]
+                    : index.getMatchingPositions(artifact);
+
+            modificationCounts[position] = modificationCount;
+            selectorsPerArtifact[position] = matchingSelectors;
+            for (int selectorPosition = matchingSelectors.nextSetBit(0); selectorPosition >= 0;
+                 selectorPosition = matchingSelectors.nextSetBit(selectorPosition + 1)) {
+                artifactsPerSelector[selectorPosition].set(position);
+            }
+        }
+    }
+
+    /**
+     * Returns matches for the given artifacts, reusing the matches of all
+     * artifacts which are known to this instance and have not been modified
+     * since.
+     *
+     * @param currentArtifacts the artifacts to match
+     * @return this instance if it is still valid for the given artifacts,
+     * otherwise a new instance
+     */
+    public ArtifactSelectorMatches update(Collection<Artifact> currentArtifacts) {
+        if (isUpToDate(currentArtifacts)) {
+            return this;
+        }
+        return new ArtifactSelectorMatches(index, currentArtifacts, this);
+    }
+
+    private boolean isUpToDate(Collection<Artifact> currentArtifacts) {
+        if (currentArtifacts.size() != artifacts.size()) {
+            return false;
+        }
+        int position = 0;
+        for (Artifact artifact : currentArtifacts) {
+            if (artifacts.get(position) != artifact || !isUpToDate(position)) {
+                return false;
+            }
+            position++;
+        }
+        return true;
+    }
+
+    private boolean isUpToDate(int position) {
+        return artifacts.get(position).getModificationCount() == modificationCounts[position];
+    }
+
+    /**
+     * @return the evaluated selectors in the order of their positions
+     */
+    public List<ArtifactSelector> getSelectors() {
+        return index.getSelectors();
+    }
+
+    /**
+     * @return the matched artifacts in the order of their positions
+     */
+    public List<Artifact> getArtifacts() {
+        return artifacts;
+    }
+
+    /**
+     * @param selectorPosition the position of the selector
+     * @return the positions of all artifacts matched by the selector
+     */
+    public BitSet getMatchingArtifacts(int selectorPosition) {
+        return (BitSet) artifactsPerSelector[selectorPosition].clone();
+    }
+
+    /**
+     * Returns the positions of all selectors matching the given artifact. An
+     * artifact which is not part of these matches is evaluated on the fly.
+     *
+     * @param artifact the artifact to look up
+     * @return the positions of the matching selectors
+     */
+    public BitSet getMatchingSelectors(Artifact artifact) {
+        Integer position = artifactPositions.get(artifact);
+        if (position == null || !isUpToDate(position)) {
+            return index.getMatchingPositions(artifact);
+        }
+        return (BitSet) selectorsPerArtifact[position].clone();
+    }
+
+    /**
+     * @param selectorPosition the position of the selector
+     * @return true if the selector matches any of the artifacts
+     */
+    public boolean isMatched(int selectorPosition) {
+        return !artifactsPerSelector[selectorPosition].isEmpty();
+    }
+
+    /**
+     * @return the positions of all selectors which match none of the artifacts
+     */
+    public BitSet getUnmatchedSelectors() {
+        BitSet unmatched = new BitSet(artifactsPerSelector.length);
+        for (int selectorPosition = 0; selectorPosition < artifactsPerSelector.length; selectorPosition++) {
+            if (!isMatched(selectorPosition)) {
+                unmatched.set(selectorPosition);
+            }
+        }
+        return unmatched;
+    }
+}
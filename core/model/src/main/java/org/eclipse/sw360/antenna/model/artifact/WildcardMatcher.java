@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.model.artifact;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Matches strings against the wildcards used in artifact selectors, see
+ * {@link ArtifactSelectorHelper#compareStringsAsWildcard(String, String)}.
+ * <p>
+ * A wildcard is trimmed, its dots are taken literally and its asterisks
+ * match any sequence of characters, all other characters keep their regular
+ * expression meaning. Literal wildcards are compared directly without any
+ * allocation. Wildcards consisting of literal parts and asterisks only are
+ * matched by searching for their parts, other wildcards by a precompiled
+ * pattern. The matchers of both kinds are kept in a bounded cache.
+ */
+final class WildcardMatcher {
+    private static final int MAX_CACHED_MATCHERS = 1024;
+    private static final String REGEX_CHARACTERS = "\\^$|?+()[]{}";
+    private static final String LINE_TERMINATORS = "\n\r\u0085\u2028\u2029";
+
+    private static final Map<String, Predicate<String>> MATCHERS = new ConcurrentHashMap<>();
+
+    private WildcardMatcher() {
+        // only static methods
+    }
+
+    static boolean matches(String wildcard, String input) {
+        String value = input != null ? input : "";
+        if (isLiteral(wildcard)) {
+            return equalsTrimmed(wildcard, value);
+        }
+        return getMatcher(wildcard).test(value);
+    }
+
+    /**
+     * Tells whether a wildcard is only matched by itself, i.e. it is not
+     * empty, has no surrounding whitespace and no characters with a special
+     * meaning.
+     */
+    static boolean isExactLiteral(String wildcard) {
+        return wildcard != null && !wildcard.isEmpty() && wildcard.equals(wildcard.trim()) && isLiteral(wildcard);
+    }
+
+    private static boolean isLiteral(String wildcard) {
+        for (int i = 0; i < wildcard.length(); i++) {
+            char c = wildcard.charAt(i);
+            if (c == '*' || REGEX_CHARACTERS.indexOf(c) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares the value with the wildcard trimmed like {@link String#trim()}
+     * without creating the trimmed string.
+     */
+    private static boolean equalsTrimmed(String wildcard, String value) {
+        int start = 0;
+        int end = wildcard.length();
+        while (start < end && wildcard.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && wildcard.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return value.length() == end - start && wildcard.regionMatches(start, value, 0, end - start);
+    }
+
+    private static Predicate<String> getMatcher(String wildcard) {
+        Predicate<String> matcher = MATCHERS.get(wildcard);
+        if (matcher == null) {
+            matcher = createMatcher(wildcard);
+            if (MATCHERS.size() >= MAX_CACHED_MATCHERS) {
+                MATCHERS.clear();
+            }
+            MATCHERS.put(wildcard, matcher);
+        }
+        return matcher;
+    }
+
+    private static Predicate<String> createMatcher(String wildcard) {
+        String trimmed = wildcard.trim();
+        Pattern pattern = Pattern.compile(trimmed.replaceAll("\\.", "\\\\.").replaceAll("\\*", ".*?"));
+        if (trimmed.chars().anyMatch(c -> REGEX_CHARACTERS.indexOf(c) >= 0)) {
+            return input -> pattern.matcher(input).matches();
+        }
+        return new GlobMatcher(trimmed.split("\\*", -1), pattern);
+    }
+
+    /**
+     * Matches wildcards consisting of literal parts separated by asterisks.
+     * As the asterisks of the wildcard do not match line terminators, inputs
+     * containing line terminators are matched by the compiled pattern instead.
+     */
+    private static final class GlobMatcher implements Predicate<String> {
+        private final String[] parts;
+        private final Pattern pattern;
+
+        private GlobMatcher(String[] parts, Pattern pattern) {
+            this.parts = parts;
+            this.pattern = pattern;
+        }
+
+        @Override
+        public boolean test(String input) {
+            if (containsLineTerminator(input)) {
+                return pattern.matcher(input).matches();
+            }
+            String prefix = parts[0];
+            String suffix = parts[parts.length - 1];
+            if (input.length() < prefix.length() + suffix.length()
+                    || !input.startsWith(prefix) || !input.endsWith(suffix)) {
+                return false;
+            }
+            int position = prefix.length();
+            int end = input.length() - suffix.length();
+            for (int i = 1; i < parts.length - 1; i++) {
+                int found = input.indexOf(parts[i], position);
+                if (found < 0 || found + parts[i].length() > end) {
+                    return false;
+                }
+                position = found + parts[i].length();
+            }
+            return true;
+        }
+
+        private static boolean containsLineTerminator(String input) {
+            for (int i = 0; i < input.length(); i++) {
+                if (LINE_TERMINATORS.indexOf(input.charAt(i)) >= 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -29,4 +29,8 @@ public class ArtifactClearingDocument extends ArtifactFactWithPayload<Path> {
     public Class<? extends ArtifactFact> getKey() {
         return ArtifactClearingDocument.class;
     }
+
+    protected Object writeReplace() {
+        return new PathFactSerializationProxy(getClass(), get());
+    }
 }
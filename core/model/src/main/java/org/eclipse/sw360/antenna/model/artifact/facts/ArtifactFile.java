@@ -31,6 +31,10 @@ public class ArtifactFile extends ArtifactFactWithPayload<Path> implements Artif
         return ArtifactFile.class;
     }
 
+    protected Object writeReplace() {
+        return new PathFactSerializationProxy(getClass(), get());
+    }
+
     @Override
     public boolean matches(ArtifactIdentifier artifactIdentifier) {
         if (artifactIdentifier instanceof ArtifactFile) {
@@ -14,6 +14,7 @@ package org.eclipse.sw360.antenna.model.artifact.facts;
 import org.eclipse.sw360.antenna.model.artifact.ArtifactFact;
 import org.eclipse.sw360.antenna.model.artifact.facts.java.ArtifactPathnames;
 
+import java.io.Serializable;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -22,7 +23,7 @@ import static org.eclipse.sw360.antenna.model.artifact.ArtifactSelectorHelper.co
 public class ArtifactFilename implements ArtifactFact<ArtifactFilename>, ArtifactIdentifier<ArtifactFilename> {
     private final Set<ArtifactFilenameEntry> artifactFilenameEntries = new HashSet<>();
 
-    public static class ArtifactFilenameEntry {
+    public static class ArtifactFilenameEntry implements Serializable {
         private final String filename;
         private final String hash;
         private final String hashAlgorithm;
@@ -110,6 +111,10 @@ public class ArtifactFilename implements ArtifactFact<ArtifactFilename>, Artifac
         artifactFilenameEntries.add(new ArtifactFilenameEntry(filename, hash, hashAlgorithm));
     }
 
+    private ArtifactFilename(Collection<ArtifactFilenameEntry> artifactFilenameEntries) {
+        this.artifactFilenameEntries.addAll(artifactFilenameEntries);
+    }
+
     public Set<ArtifactFilenameEntry> getArtifactFilenameEntries() {
         return Collections.unmodifiableSet(artifactFilenameEntries);
     }
@@ -129,7 +134,9 @@ public class ArtifactFilename implements ArtifactFact<ArtifactFilename>, Artifac
     @Override
     public ArtifactFilename mergeWith(ArtifactFilename resultWithPrecedence) {
         if (resultWithPrecedence != null) {
-            artifactFilenameEntries.addAll(resultWithPrecedence.getArtifactFilenameEntries());
+            ArtifactFilename merged = new ArtifactFilename(artifactFilenameEntries);
+            merged.artifactFilenameEntries.addAll(resultWithPrecedence.getArtifactFilenameEntries());
+            return merged;
         }
         return this;
     }
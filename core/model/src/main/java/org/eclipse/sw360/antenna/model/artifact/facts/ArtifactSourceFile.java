@@ -30,4 +30,8 @@ public class ArtifactSourceFile extends ArtifactFactWithPayload<Path> {
     public Class<? extends ArtifactFact> getKey() {
         return ArtifactSourceFile.class;
     }
+
+    protected Object writeReplace() {
+        return new PathFactSerializationProxy(getClass(), get());
+    }
 }
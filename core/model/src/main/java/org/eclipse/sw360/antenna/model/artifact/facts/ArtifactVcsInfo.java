@@ -12,13 +12,14 @@ package org.eclipse.sw360.antenna.model.artifact.facts;
 
 import org.eclipse.sw360.antenna.model.artifact.ArtifactFact;
 
+import java.io.Serializable;
 import java.util.Objects;
 import java.util.Optional;
 
 public class ArtifactVcsInfo implements ArtifactFact<ArtifactVcsInfo> {
     private final VcsInfo vcsInfo;
 
-    public static class VcsInfo {
+    public static class VcsInfo implements Serializable {
         private final String type;
         private final String url;
         private final String revision;
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.model.artifact.facts;
+
+import org.eclipse.sw360.antenna.model.artifact.ArtifactFact;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Serialized form of the facts with a {@link Path} payload, as the
+ * {@code Path} implementations of the JDK are not serializable. The path is
+ * stored as string and the fact is recreated through its constructor taking
+ * a single {@code Path} on deserialization.
+ */
+final class PathFactSerializationProxy implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Class<? extends ArtifactFact> factClass;
+    private final String path;
+
+    PathFactSerializationProxy(Class<? extends ArtifactFact> factClass, Path path) {
+        this.factClass = factClass;
+        this.path = path != null ? path.toString() : null;
+    }
+
+    private Object readResolve() throws ObjectStreamException {
+        try {
+            return factClass.getConstructor(Path.class).newInstance(path != null ? Paths.get(path) : null);
+        } catch (ReflectiveOperationException e) {
+            InvalidObjectException exception = new InvalidObjectException("Could not recreate fact " + factClass.getName());
+            exception.initCause(e);
+            throw exception;
+        }
+    }
+}
@@ -14,6 +14,7 @@ import com.github.packageurl.MalformedPackageURLException;
 import com.github.packageurl.PackageURL;
 import org.eclipse.sw360.antenna.api.exceptions.ExecutionException;
 
+import java.io.Serializable;
 import java.util.Map;
 import java.util.Objects;
 import java.util.TreeMap;
@@ -22,7 +23,7 @@ import java.util.TreeMap;
  * A thin wrapper around com.github.packageurl.PackageURL
  * It just delegates
  */
-public abstract class PackageURLFacade {
+public abstract class PackageURLFacade implements Serializable {
     private final PackageURL packageURL;
 
     PackageURLFacade(PackageURL packageURL) {
@@ -10,6 +10,7 @@
  */
 package org.eclipse.sw360.antenna.model.license;
 
+import java.io.Serializable;
 import java.util.Collection;
 
 /**
@@ -17,7 +18,7 @@ import java.util.Collection;
  * license expression or a single {@link License}, resp. a {@link WithLicense}, i.e., a license with an exception
  * according to the SPDX expression standard.
  */
-public interface LicenseInformation {
+public interface LicenseInformation extends Serializable {
     /**
      * Give a canonical form of the license expression, i.e., this returns a string with the SPDX expression of the
      * license statement. In cases where the licenses referenced are not referenced by a SPDX identifier, the expression
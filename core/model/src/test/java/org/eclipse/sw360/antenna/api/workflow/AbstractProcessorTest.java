@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.api.workflow;
+
+import org.eclipse.sw360.antenna.model.artifact.Artifact;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactSelector;
+import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactFilename;
+import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactIdentifier;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AbstractProcessorTest {
+
+    private ProcessingState createProcessingState(int numberOfArtifacts) {
+        List<Artifact> artifacts = IntStream.range(0, numberOfArtifacts)
+                .mapToObj(i -> new Artifact("test").addFact(new ArtifactFilename("artifact-" + i + ".jar")))
+                .collect(Collectors.toList());
+        return new ProcessingState(Collections.singleton(new WorkflowStepResult(artifacts, true)));
+    }
+
+    @Test
+    public void perArtifactProcessorIsFedChunks() {
+        ProcessingState processingState = createProcessingState(5);
+        RecordingProcessor processor = new RecordingProcessor(true);
+
+        WorkflowStepResult result = processor.process(processingState, 2);
+
+        assertThat(processor.chunkSizes).containsExactly(2, 2, 1);
+        assertThat(result.getArtifacts()).isEmpty();
+        assertThat(result.isArtifactsShouldBeAppended()).isTrue();
+        assertThat(processingState.getNumberOfArtifacts()).isEqualTo(5);
+        assertThat(processingState.getArtifacts()).allMatch(artifact -> artifact.getFlag("processed"));
+    }
+
+    @Test
+    public void artifactsReturnedForAChunkReplaceTheChunk() {
+        ProcessingState processingState = createProcessingState(4);
+        AbstractProcessor dropEverySecondArtifact = new RecordingProcessor(true) {
+            @Override
+            public Collection<Artifact> process(Collection<Artifact> intermediates) {
+                return Collections.singleton(intermediates.iterator().next());
+            }
+        };
+
+        processingState.applyWorkflowStepResult(dropEverySecondArtifact.process(processingState, 2));
+
+        assertThat(processingState.getNumberOfArtifacts()).isEqualTo(2);
+    }
+
+    @Test
+    public void equalArtifactsOfDifferentChunksAreMerged() {
+        ProcessingState processingState = createProcessingState(3);
+        processingState.applyWorkflowStepResult(new WorkflowStepResult(Collections.singleton(
+                new Artifact("test").addFact(new ArtifactFilename("artifact-0.jar"))), true));
+        assertThat(processingState.getNumberOfArtifacts()).isEqualTo(4);
+
+        processingState.applyWorkflowStepResult(new RecordingProcessor(true).process(processingState, 2));
+
+        assertThat(processingState.getNumberOfArtifacts()).isEqualTo(3);
+        assertThat(processingState.getArtifacts()).hasSize(3);
+    }
+
+    @Test
+    public void processorsNotPerArtifactGetAllArtifacts() {
+        ProcessingState processingState = createProcessingState(5);
+        RecordingProcessor processor = new RecordingProcessor(false);
+
+        WorkflowStepResult result = processor.process(processingState, 2);
+
+        assertThat(processor.chunkSizes).containsExactly(5);
+        assertThat(result.getArtifacts()).hasSize(5);
+    }
+
+    @Test
+    public void selectorMatchesAreSharedViaTheProcessingState() {
+        ProcessingState processingState = createProcessingState(5);
+        CountingSelector selector = new CountingSelector("artifact-1.jar");
+        List<ArtifactSelector> selectors = Collections.singletonList(selector);
+        MatchingProcessor first = new MatchingProcessor(selectors);
+        MatchingProcessor second = new MatchingProcessor(selectors);
+
+        processingState.applyWorkflowStepResult(first.process(processingState));
+        processingState.applyWorkflowStepResult(second.process(processingState));
+
+        assertThat(first.matchedArtifacts).isEqualTo(1);
+        assertThat(second.matchedArtifacts).isEqualTo(1);
+        assertThat(selector.evaluations.get()).isEqualTo(5);
+
+        processingState.getArtifacts().iterator().next().setFlag("modified");
+        processingState.applyWorkflowStepResult(second.process(processingState));
+
+        assertThat(second.matchedArtifacts).isEqualTo(1);
+        assertThat(selector.evaluations.get()).isEqualTo(6);
+    }
+
+    @Test
+    public void selectorsAreEvaluatedWithoutProcessingState() {
+        CountingSelector selector = new CountingSelector("artifact-1.jar");
+        MatchingProcessor processor = new MatchingProcessor(Collections.singletonList(selector));
+
+        processor.process(createProcessingState(3).getArtifacts());
+        processor.process(createProcessingState(3).getArtifacts());
+
+        assertThat(processor.matchedArtifacts).isEqualTo(1);
+        assertThat(selector.evaluations.get()).isEqualTo(6);
+    }
+
+    private static class CountingSelector implements ArtifactSelector {
+        private final ArtifactFilename filename;
+        private final AtomicInteger evaluations = new AtomicInteger();
+
+        CountingSelector(String filename) {
+            this.filename = new ArtifactFilename(filename);
+        }
+
+        @Override
+        public boolean matches(Artifact artifact) {
+            evaluations.incrementAndGet();
+            return filename.matches(artifact);
+        }
+
+        @Override
+        public boolean matches(ArtifactIdentifier artifactIdentifier) {
+            return filename.matches(artifactIdentifier);
+        }
+    }
+
+    private static class MatchingProcessor extends AbstractProcessor {
+        private final List<ArtifactSelector> selectors;
+        private int matchedArtifacts;
+
+        MatchingProcessor(List<ArtifactSelector> selectors) {
+            this.selectors = selectors;
+        }
+
+        @Override
+        public Collection<Artifact> process(Collection<Artifact> intermediates) {
+            matchedArtifacts = matchSelectors(intermediates, selectors).getMatchingArtifacts(0).cardinality();
+            return intermediates;
+        }
+    }
+
+    private static class RecordingProcessor extends AbstractProcessor {
+        private final boolean perArtifact;
+        private final List<Integer> chunkSizes = new ArrayList<>();
+
+        RecordingProcessor(boolean perArtifact) {
+            this.perArtifact = perArtifact;
+        }
+
+        @Override
+        public Collection<Artifact> process(Collection<Artifact> intermediates) {
+            chunkSizes.add(intermediates.size());
+            intermediates.forEach(artifact -> artifact.setFlag("processed"));
+            return intermediates;
+        }
+
+        @Override
+        public boolean isPerArtifact() {
+            return perArtifact;
+        }
+    }
+}
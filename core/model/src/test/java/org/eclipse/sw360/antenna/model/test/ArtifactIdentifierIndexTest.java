@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.model.test;
+
+import org.eclipse.sw360.antenna.model.artifact.Artifact;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactCoordinates;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactIdentifierIndex;
+import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactFile;
+import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactFilename;
+import org.eclipse.sw360.antenna.model.artifact.facts.java.ArtifactPathnames;
+import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
+import org.junit.Test;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ArtifactIdentifierIndexTest {
+
+    private static Artifact withCoordinate(String namespace, String name, String version) {
+        return new Artifact("test")
+                .addFact(new ArtifactCoordinates(new Coordinate(Coordinate.Types.MAVEN, namespace, name, version)));
+    }
+
+    private final List<Artifact> artifacts = Arrays.asList(
+            withCoordinate("org.example", "library", "1.0"),
+            withCoordinate("org.example", "library", "2.0"),
+            withCoordinate("org.example", "other", "1.0"),
+            withCoordinate("org.example", "lib*", "1.0"),
+            new Artifact("test").addFact(new ArtifactFilename("library-1.0.jar", "abc123")),
+            new Artifact("test").addFact(new ArtifactFilename(null, "abc123")),
+            new Artifact("test").addFact(new ArtifactFilename("library-1.0.jar")),
+            new Artifact("test").addFact(new ArtifactPathnames("path/to/library-1.0.jar")),
+            new Artifact("test").addFact(new ArtifactFile(Paths.get("lib", "library-1.0.jar"))),
+            new Artifact("test").addFact(new ArtifactFile(Paths.get("lib", "other-1.0.jar"))),
+            new Artifact("test"));
+
+    private List<Artifact> bruteForcePotentialDuplicatesOf(Artifact artifact) {
+        return artifacts.stream()
+                .filter(artifact::isPotentialDuplicateOf)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void indexFindsTheSameDuplicatesAsComparingWithAllArtifacts() {
+        ArtifactIdentifierIndex index = new ArtifactIdentifierIndex(artifacts);
+
+        for (Artifact artifact : artifacts) {
+            assertThat(index.getPotentialDuplicatesOf(artifact))
+                    .as("potential duplicates of %s", artifact)
+                    .containsExactlyElementsOf(bruteForcePotentialDuplicatesOf(artifact));
+        }
+    }
+
+    @Test
+    public void wildcardIdentifiersAreComparedWithAllArtifacts() {
+        ArtifactIdentifierIndex index = new ArtifactIdentifierIndex(artifacts);
+
+        assertThat(index.getPotentialDuplicatesOf(withCoordinate("org.example", "library", "1.0")))
+                .containsExactly(artifacts.get(0), artifacts.get(3));
+    }
+
+    @Test
+    public void filenamesAreFoundByHashAndPathname() {
+        ArtifactIdentifierIndex index = new ArtifactIdentifierIndex(artifacts);
+
+        assertThat(index.getPotentialDuplicatesOf(artifacts.get(4)))
+                .containsExactly(artifacts.get(4), artifacts.get(5), artifacts.get(6), artifacts.get(7));
+    }
+
+    @Test
+    public void artifactWithoutIdentifiersHasNoDuplicates() {
+        ArtifactIdentifierIndex index = new ArtifactIdentifierIndex(artifacts);
+
+        assertThat(index.getPotentialDuplicatesOf(new Artifact("test"))).isEmpty();
+        assertThat(index.findPotentialDuplicateOf(artifacts.get(9))).contains(artifacts.get(9));
+    }
+}
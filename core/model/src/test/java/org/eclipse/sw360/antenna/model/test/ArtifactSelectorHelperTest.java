@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.model.test;
+
+import org.junit.Test;
+
+import java.util.regex.PatternSyntaxException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.sw360.antenna.model.artifact.ArtifactSelectorHelper.compareStringsAsWildcard;
+
+public class ArtifactSelectorHelperTest {
+
+    @Test
+    public void literalWildcardsMatchTrimmedValueOnly() {
+        assertThat(compareStringsAsWildcard(null, "anything")).isTrue();
+        assertThat(compareStringsAsWildcard(" org.example ", "org.example")).isTrue();
+        assertThat(compareStringsAsWildcard("org.example", "orgXexample")).isFalse();
+        assertThat(compareStringsAsWildcard("org.example", null)).isFalse();
+        assertThat(compareStringsAsWildcard("", null)).isTrue();
+    }
+
+    @Test
+    public void asterisksMatchAnySequence() {
+        assertThat(compareStringsAsWildcard("org.*", "org.example")).isTrue();
+        assertThat(compareStringsAsWildcard("*-sources.jar", "library-1.0-sources.jar")).isTrue();
+        assertThat(compareStringsAsWildcard("lib*1.0*.jar", "library-1.0-sources.jar")).isTrue();
+        assertThat(compareStringsAsWildcard("lib*2.0*.jar", "library-1.0-sources.jar")).isFalse();
+        assertThat(compareStringsAsWildcard("a*a", "a")).isFalse();
+        assertThat(compareStringsAsWildcard("*", null)).isTrue();
+    }
+
+    @Test
+    public void asterisksDoNotMatchLineTerminators() {
+        assertThat(compareStringsAsWildcard("first*second", "first\nsecond")).isFalse();
+    }
+
+    @Test
+    public void otherRegexCharactersKeepTheirMeaning() {
+        assertThat(compareStringsAsWildcard("spring-(core|beans)", "spring-beans")).isTrue();
+        assertThat(compareStringsAsWildcard("guava-[0-9]+.*", "guava-28.1")).isTrue();
+        assertThat(compareStringsAsWildcard("guava-[0-9]+.*", "guava-jre")).isFalse();
+    }
+
+    @Test(expected = PatternSyntaxException.class)
+    public void invalidWildcardsFail() {
+        compareStringsAsWildcard("broken[", "broken");
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.model.test;
+
+import org.eclipse.sw360.antenna.model.artifact.Artifact;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactCoordinates;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactSelector;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactSelectorAndSet;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactSelectorIndex;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactSelectorMatches;
+import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactFilename;
+import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ArtifactSelectorIndexTest {
+
+    private static ArtifactCoordinates mavenCoordinates(String namespace, String name, String version) {
+        return new ArtifactCoordinates(new Coordinate(Coordinate.Types.MAVEN, namespace, name, version));
+    }
+
+    private static Artifact withCoordinates(String namespace, String name, String version) {
+        return new Artifact("test").addFact(mavenCoordinates(namespace, name, version));
+    }
+
+    private final List<ArtifactSelector> selectors = Arrays.asList(
+            mavenCoordinates("org.example", "library", "1.0"),
+            mavenCoordinates("org.example", "library", "*"),
+            mavenCoordinates("org.*", "other", "1.0"),
+            mavenCoordinates("org.example", "lib*", "1.0"),
+            new ArtifactCoordinates(new Coordinate(Coordinate.Types.NPM, "library", "1.0")),
+            new ArtifactSelectorAndSet(mavenCoordinates("org.example", "other", "2.0"),
+                    new ArtifactFilename("other-2.0.jar")),
+            new ArtifactFilename("library-1.0.jar"));
+
+    private final List<Artifact> artifacts = Arrays.asList(
+            withCoordinates("org.example", "library", "1.0"),
+            withCoordinates("org.example", "library", "2.0"),
+            withCoordinates("org.example", "other", "1.0"),
+            withCoordinates("org.other", "other", "1.0"),
+            withCoordinates("org.example", "other", "2.0")
+                    .addFact(new ArtifactFilename("other-2.0.jar")),
+            withCoordinates("org.example", "libfoo", "1.0"),
+            new Artifact("test")
+                    .addFact(new ArtifactCoordinates(new Coordinate(Coordinate.Types.NPM, "library", "1.0"))),
+            new Artifact("test").addFact(new ArtifactFilename("library-1.0.jar")),
+            new Artifact("test"));
+
+    private List<ArtifactSelector> bruteForceMatchingSelectors(Artifact artifact) {
+        return selectors.stream()
+                .filter(selector -> selector.matches(artifact))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void indexFindsTheSameSelectorsAsEvaluatingAllSelectors() {
+        ArtifactSelectorIndex index = new ArtifactSelectorIndex(selectors);
+
+        for (Artifact artifact : artifacts) {
+            List<ArtifactSelector> expected = bruteForceMatchingSelectors(artifact);
+            assertThat(index.getMatchingSelectors(artifact)).isEqualTo(expected);
+            assertThat(index.matchesAny(artifact)).isEqualTo(!expected.isEmpty());
+        }
+    }
+
+    @Test
+    public void matchingPositionsFollowTheSelectorOrder() {
+        ArtifactSelectorIndex index = new ArtifactSelectorIndex(selectors);
+
+        assertThat(index.getMatchingPositions(artifacts.get(0)).stream().toArray()).containsExactly(0, 1);
+        assertThat(index.findNextMatchingPosition(artifacts.get(0), 1)).isEqualTo(1);
+        assertThat(index.findNextMatchingPosition(artifacts.get(0), 2)).isEqualTo(-1);
+        assertThat(index.getMatchingPositions(artifacts.get(8)).isEmpty()).isTrue();
+    }
+
+    @Test
+    public void selectorMatchesAgreeWithTheIndex() {
+        ArtifactSelectorIndex index = new ArtifactSelectorIndex(selectors);
+        ArtifactSelectorMatches matches = new ArtifactSelectorMatches(index, artifacts);
+
+        for (int position = 0; position < artifacts.size(); position++) {
+            Artifact artifact = artifacts.get(position);
+            assertThat(matches.getMatchingSelectors(artifact)).isEqualTo(index.getMatchingPositions(artifact));
+            for (int selectorPosition = 0; selectorPosition < selectors.size(); selectorPosition++) {
+                assertThat(matches.getMatchingArtifacts(selectorPosition).get(position))
+                        .isEqualTo(selectors.get(selectorPosition).matches(artifact));
+            }
+        }
+        assertThat(matches.getUnmatchedSelectors().isEmpty()).isTrue();
+    }
+
+    @Test
+    public void updatedSelectorMatchesFollowModifiedArtifacts() {
+        ArtifactSelectorIndex index = new ArtifactSelectorIndex(selectors);
+        List<Artifact> currentArtifacts = new ArrayList<>(artifacts.subList(0, 2));
+        ArtifactSelectorMatches matches = new ArtifactSelectorMatches(index, currentArtifacts);
+
+        assertThat(matches.update(currentArtifacts)).isSameAs(matches);
+        assertThat(matches.isMatched(6)).isFalse();
+
+        currentArtifacts.get(1).addFact(new ArtifactFilename("library-1.0.jar"));
+        ArtifactSelectorMatches updatedMatches = matches.update(currentArtifacts);
+
+        assertThat(updatedMatches).isNotSameAs(matches);
+        assertThat(updatedMatches.getMatchingArtifacts(6).stream().toArray()).containsExactly(1);
+    }
+
+    @Test
+    public void sharedIndexIsRebuiltWhenTheSelectorsChange() {
+        List<ArtifactSelector> configuredSelectors = new ArrayList<>(selectors.subList(0, 2));
+        ArtifactSelectorIndex index = ArtifactSelectorIndex.of(configuredSelectors);
+
+        assertThat(ArtifactSelectorIndex.of(configuredSelectors)).isSameAs(index);
+        assertThat(index.matchesAny(artifacts.get(3))).isFalse();
+
+        configuredSelectors.add(selectors.get(2));
+        ArtifactSelectorIndex rebuiltIndex = ArtifactSelectorIndex.of(configuredSelectors);
+
+        assertThat(rebuiltIndex).isNotSameAs(index);
+        assertThat(rebuiltIndex.matchesAny(artifacts.get(3))).isTrue();
+    }
+}
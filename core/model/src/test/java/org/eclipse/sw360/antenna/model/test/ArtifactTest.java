@@ -13,6 +13,7 @@ package org.eclipse.sw360.antenna.model.test;
 
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
 import org.eclipse.sw360.antenna.model.artifact.ArtifactCoordinates;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactFact;
 import org.eclipse.sw360.antenna.model.artifact.facts.*;
 import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
 import org.eclipse.sw360.antenna.model.license.License;
@@ -24,8 +25,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
-import java.io.File;
-import java.io.IOException;
+import java.io.*;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -142,6 +142,85 @@ public class ArtifactTest {
         artifact.hashCode();
     }
 
+    @Test
+    public void equalityDoesNotDependOnTheOrderFactsWereAdded() {
+        Artifact otherArtifact = new Artifact("Test")
+                .setProprietary(true)
+                .addFact(new ArtifactMatchingMetadata(MatchState.EXACT))
+                .addFact(new ArtifactSourceFile(mavenSourcesJar))
+                .addFact(new ArtifactFile(jar))
+                .addCoordinate(new Coordinate("name", "version"))
+                .addCoordinate(new Coordinate(Coordinate.Types.MAVEN, "groupId", "artifactId", "version"));
+        otherArtifact.setFlag(Artifact.IS_IGNORE_FOR_DOWNLOAD_KEY);
+
+        assertThat(otherArtifact).isEqualTo(artifact);
+        assertThat(otherArtifact.hashCode()).isEqualTo(artifact.hashCode());
+        assertThat(new Artifact("Test").addFact(new ArtifactFile(jar))).isNotEqualTo(new Artifact("Test"));
+    }
+
+    @Test
+    public void askForAllReturnsFactsOfAssignableKeysOnly() {
+        assertThat(artifact.askForAll(ArtifactIdentifier.class))
+                .hasSize(2)
+                .hasAtLeastOneElementOfType(ArtifactCoordinates.class)
+                .hasAtLeastOneElementOfType(ArtifactFile.class);
+        assertThat(artifact.askForAll(ArtifactSourceFile.class)).hasSize(1);
+        assertThat(artifact.askForAll(ArtifactCPE.class)).isEmpty();
+        assertThat(artifact.askFor(ArtifactCPE.class)).isEmpty();
+        assertThat(new Artifact().askForAll(ArtifactFact.class)).isEmpty();
+    }
+
+    @Test
+    public void snapshotIsNotAffectedByLaterModifications() {
+        Artifact snapshot = artifact.snapshot();
+
+        artifact.addFact(new ArtifactFilename("jar.jar"));
+        artifact.addFact(new ArtifactMatchingMetadata(MatchState.SIMILAR));
+        artifact.setProprietary(false);
+
+        assertThat(snapshot.isFrozen()).isTrue();
+        assertThat(snapshot.snapshot()).isSameAs(snapshot);
+        assertThat(snapshot.askFor(ArtifactFilename.class)).isEmpty();
+        assertThat(snapshot.getMatchState()).isEqualTo(MatchState.EXACT);
+        assertThat(snapshot.isProprietary()).isTrue();
+        assertThat(artifact.getMatchState()).isEqualTo(MatchState.SIMILAR);
+        assertThat(artifact.isProprietary()).isFalse();
+    }
+
+    @Test
+    public void mergedFactsAreNotVisibleInSnapshot() {
+        artifact.addFact(new ArtifactFilename("jar.jar"));
+        Artifact snapshot = artifact.snapshot();
+
+        artifact.addFact(new ArtifactFilename("other.jar"));
+
+        assertThat(snapshot.askFor(ArtifactFilename.class).get().getFilenames()).containsExactly("jar.jar");
+        assertThat(artifact.askFor(ArtifactFilename.class).get().getFilenames())
+                .containsExactlyInAnyOrder("jar.jar", "other.jar");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void snapshotCannotBeModified() {
+        artifact.snapshot().addFact(new ArtifactFilename("jar.jar"));
+    }
+
+    @Test
+    public void factsSurviveSerialization() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(artifact);
+        }
+        Artifact deserializedArtifact;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserializedArtifact = (Artifact) in.readObject();
+        }
+
+        assertThat(deserializedArtifact).isEqualTo(artifact);
+        assertThat(deserializedArtifact.askFor(ArtifactMatchingMetadata.class)).isPresent();
+        deserializedArtifact.addFact(new ArtifactCoordinates(new Coordinate("other", "version")));
+        assertThat(deserializedArtifact.getCoordinates()).hasSize(3);
+    }
+
     @Test
     public void testGetFinalLicense() {
         Artifact artifact = new Artifact();
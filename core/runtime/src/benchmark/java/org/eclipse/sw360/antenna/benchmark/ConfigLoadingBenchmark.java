@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.benchmark;
+
+import org.eclipse.sw360.antenna.configuration.ConfigurationReader;
+import org.eclipse.sw360.antenna.xml.XMLContextCache;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares loading a config file at startup, when the JAXB context and the
+ * compiled config schema have to be created first, with loading it once they
+ * are cached.
+ * <p>
+ * Every invocation validates and parses the config file of the runtime tests
+ * with a new {@link ConfigurationReader}, like a CLI run does. The cold
+ * benchmark clears the {@link XMLContextCache} before every invocation.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile} and the main method of this
+ * class on the test class path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigLoadingBenchmark {
+    private File configFile;
+    private Path targetDirectory;
+
+    @Setup
+    public void setUp() throws URISyntaxException {
+        configFile = new File(ConfigLoadingBenchmark.class.getResource("/antennaconf.xml").toURI());
+        targetDirectory = Paths.get(System.getProperty("java.io.tmpdir"));
+    }
+
+    @Benchmark
+    public Object coldConfigLoading() {
+        XMLContextCache.clear();
+        return new ConfigurationReader(StandardCharsets.UTF_8).readConfigFromFile(configFile, targetDirectory);
+    }
+
+    @Benchmark
+    public Object warmConfigLoading() {
+        return new ConfigurationReader(StandardCharsets.UTF_8).readConfigFromFile(configFile, targetDirectory);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ConfigLoadingBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -16,6 +16,7 @@ import org.apache.commons.lang3.Validate;
 import org.eclipse.sw360.antenna.api.IConfigReader;
 import org.eclipse.sw360.antenna.api.IXMLValidator;
 import org.eclipse.sw360.antenna.api.exceptions.ConfigurationException;
+import org.eclipse.sw360.antenna.http.HttpClient;
 import org.eclipse.sw360.antenna.model.Configuration;
 import org.eclipse.sw360.antenna.model.xml.generated.AntennaConfig;
 import org.eclipse.sw360.antenna.xml.XMLResolverJaxB;
@@ -23,27 +24,46 @@ import org.eclipse.sw360.antenna.xml.XMLValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
 
 /**
  * Reads and validates the configuration.xml and creates a Configuration with
  * the values of the xml file. ConfigurationReader
+ * <p>
+ * A reader can be used by several threads at once. If it is given a
+ * validation cache directory, it remembers the content hashes of all config
+ * files it validated successfully there, so that unchanged config files are
+ * not validated again in later runs. If it is given an HTTP client, the
+ * config files of HTTP URIs are kept in the target directory between runs and
+ * only fetched again if they have changed, see {@link RemoteConfigCache}.
  */
 public class ConfigurationReader implements IConfigReader {
 
-    private static final String CONFIG_XML = "config.xml";
+    private static final String CONFIG_XML_PREFIX = "config-";
+    private static final String CONFIG_XML_SUFFIX = ".xml";
+    private static final String VALIDATED_SUFFIX = ".validated";
+    private static final String HASH_ALGORITHM = "SHA-256";
     private static final Logger LOGGER = LoggerFactory.getLogger(ConfigurationReader.class);
     private URL configXsdURL;
     private XMLResolverJaxB xmlResolver;
     private IXMLValidator xmlValidator;
+    private final Path validationCacheDirectory;
+    private final RemoteConfigCache remoteConfigCache;
+    private byte[] configXsdHash;
 
     /**
      * A configuration reader gets a config.xml as URI or as file object. The
@@ -55,7 +75,46 @@ public class ConfigurationReader implements IConfigReader {
      *            Encoding of the content referenced by the URL
      */
     public ConfigurationReader(URL xsdURL, Charset encoding) {
+        this(xsdURL, encoding, null);
+    }
+
+    /**
+     * A configuration reader which skips the validation of config files it
+     * has already validated successfully against the same xsd.
+     *
+     * @param xsdURL
+     *            Schema definition file used to validate configuration file.
+     * @param encoding
+     *            Encoding of the content referenced by the URL
+     * @param validationCacheDirectory
+     *            Directory in which the content hashes of validated config
+     *            files are stored, or null to validate every config file
+     */
+    public ConfigurationReader(URL xsdURL, Charset encoding, Path validationCacheDirectory) {
+        this(xsdURL, encoding, validationCacheDirectory, null);
+    }
+
+    /**
+     * A configuration reader which skips the validation of config files it
+     * has already validated successfully against the same xsd, and which
+     * fetches config files from HTTP URIs only if they have changed since
+     * their last download.
+     *
+     * @param xsdURL
+     *            Schema definition file used to validate configuration file.
+     * @param encoding
+     *            Encoding of the content referenced by the URL
+     * @param validationCacheDirectory
+     *            Directory in which the content hashes of validated config
+     *            files are stored, or null to validate every config file
+     * @param httpClient
+     *            The client used to fetch config files from HTTP URIs, or
+     *            null to download them completely on every read
+     */
+    public ConfigurationReader(URL xsdURL, Charset encoding, Path validationCacheDirectory, HttpClient httpClient) {
         this.configXsdURL = xsdURL;
+        this.validationCacheDirectory = validationCacheDirectory;
+        this.remoteConfigCache = httpClient != null ? new RemoteConfigCache(httpClient) : null;
         xmlResolver = new XMLResolverJaxB(encoding);
         xmlValidator = new XMLValidator();
     }
@@ -88,16 +147,26 @@ public class ConfigurationReader implements IConfigReader {
         if (configFileUri.getScheme().contains("file")) {
             configFromUri = new File(configFileUri);
         } else {
-            Path destinationPath = antennaTargetDirectory.resolve(CONFIG_XML);
+            // every uri gets its own file, so that several config files can be fetched at once
+            Path destinationPath = antennaTargetDirectory.resolve(CONFIG_XML_PREFIX
+                    + toHexString(hash(configFileUri.toString().getBytes(StandardCharsets.UTF_8))) + CONFIG_XML_SUFFIX);
+            if (remoteConfigCache != null && isHttpUri(configFileUri)) {
+                return remoteConfigCache.fetch(configFileUri, destinationPath);
+            }
             configFromUri = destinationPath.toFile();
             try {
-                boolean alreadyExisted = configFromUri.createNewFile();
-                if(alreadyExisted){
-                    LOGGER.warn("Destination file already existed, continuing by overwriting the file.");
+                if (configFromUri.exists()) {
+                    LOGGER.debug("Destination file already existed, continuing by overwriting the file.");
                 }
                 LOGGER.debug("Copy configuration file to target folder of antenna.");
-                try (InputStream stream = configFileUri.toURL().openStream()) {
-                    Files.copy(stream, configFromUri.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                Path tempFile = Files.createTempFile(antennaTargetDirectory, CONFIG_XML_PREFIX, CONFIG_XML_SUFFIX);
+                try {
+                    try (InputStream stream = configFileUri.toURL().openStream()) {
+                        Files.copy(stream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                    Files.move(tempFile, destinationPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(tempFile);
                 }
             } catch (IOException e) {
                 throw new ConfigurationException("Failed to fetch file to target folder of antenna.", e);
@@ -106,11 +175,85 @@ public class ConfigurationReader implements IConfigReader {
         return configFromUri;
     }
 
+    private static boolean isHttpUri(URI uri) {
+        return "http".equalsIgnoreCase(uri.getScheme()) || "https".equalsIgnoreCase(uri.getScheme());
+    }
+
     private Configuration checkAndParseConfigXML(File xmlFile, URL configXsdURL) {
-        xmlValidator.validateXML(xmlFile, configXsdURL);
+        Optional<Path> validationMarker = getValidationMarker(xmlFile, configXsdURL);
+        if (validationMarker.isPresent() && Files.exists(validationMarker.get())) {
+            LOGGER.debug("Config file {} is unchanged since its last validation, skipping validation.", xmlFile);
+        } else {
+            xmlValidator.validateXML(xmlFile, configXsdURL);
+            validationMarker.ifPresent(this::rememberValidation);
+        }
 
         AntennaConfig config = xmlResolver.resolveXML(xmlFile);
         return new Configuration(config);
     }
 
+    /**
+     * Computes the file whose existence marks that the content of the given
+     * config file has been validated against the given xsd.
+     */
+    private Optional<Path> getValidationMarker(File xmlFile, URL configXsdURL) {
+        if (validationCacheDirectory == null || configXsdURL == null) {
+            return Optional.empty();
+        }
+        try {
+            byte[] xsdHash = getConfigXsdHash(configXsdURL);
+            byte[] xmlHash = hash(Files.readAllBytes(xmlFile.toPath()));
+            byte[] key = new byte[xsdHash.length + xmlHash.length];
+            System.arraycopy(xsdHash, 0, key, 0, xsdHash.length);
+            System.arraycopy(xmlHash, 0, key, xsdHash.length, xmlHash.length);
+            return Optional.of(validationCacheDirectory.resolve(toHexString(hash(key)) + VALIDATED_SUFFIX));
+        } catch (IOException e) {
+            LOGGER.debug("Could not compute the content hash of {}, validating it", xmlFile, e);
+            return Optional.empty();
+        }
+    }
+
+    private synchronized byte[] getConfigXsdHash(URL configXsdURL) throws IOException {
+        if (configXsdHash == null) {
+            try (InputStream stream = configXsdURL.openStream()) {
+                ByteArrayOutputStream xsdContent = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = stream.read(buffer)) >= 0) {
+                    xsdContent.write(buffer, 0, read);
+                }
+                configXsdHash = hash(xsdContent.toByteArray());
+            }
+        }
+        return configXsdHash;
+    }
+
+    private void rememberValidation(Path validationMarker) {
+        try {
+            Files.createDirectories(validationMarker.getParent());
+            Files.createFile(validationMarker);
+        } catch (FileAlreadyExistsException e) {
+            // validated concurrently by another thread
+        } catch (IOException e) {
+            LOGGER.debug("Could not store the validation result in {}: {}", validationMarker, e.getMessage());
+        }
+    }
+
+    private static byte[] hash(byte[] content) {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM).digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            // This cannot happen as every implementation of the Java platform must support this algorithm
+            throw new AssertionError(HASH_ALGORITHM + " algorithm not supported");
+        }
+    }
+
+    private static String toHexString(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
 }
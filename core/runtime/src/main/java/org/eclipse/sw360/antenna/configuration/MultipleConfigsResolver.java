@@ -14,13 +14,17 @@ package org.eclipse.sw360.antenna.configuration;
 
 import org.eclipse.sw360.antenna.api.configuration.ToolConfiguration;
 import org.eclipse.sw360.antenna.api.exceptions.ConfigurationException;
+import org.eclipse.sw360.antenna.api.service.ServiceFactory;
+import org.eclipse.sw360.antenna.http.HttpClient;
 import org.eclipse.sw360.antenna.model.Configuration;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
 import org.eclipse.sw360.antenna.model.artifact.ArtifactSelector;
 import org.eclipse.sw360.antenna.model.license.LicenseInformation;
 import org.eclipse.sw360.antenna.model.reporting.MessageType;
 import org.eclipse.sw360.antenna.model.reporting.Report;
+import org.eclipse.sw360.antenna.model.xml.generated.AntennaConfig;
 import org.eclipse.sw360.antenna.report.Reporter;
+import org.eclipse.sw360.antenna.workflow.WorkflowStepExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,6 +32,7 @@ import java.io.File;
 import java.net.URI;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -35,15 +40,36 @@ import java.util.stream.Collectors;
  * written to the temporary reporter. With the checkReport() method it can be
  * checked if this reporter contains messages. If yes an Exception is thrown and
  * the conflicts must be solved.
+ * <p>
+ * The config files and URIs are read concurrently, but merged in the order
+ * they are configured in. Config files from HTTP URIs are fetched with the
+ * shared HTTP client of the given {@link ServiceFactory}.
  */
 public class MultipleConfigsResolver {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MultipleConfigsResolver.class);
 
+    static final String VALIDATION_CACHE_DIRECTORY = "config-validation";
+    private static final int MAX_PARALLEL_READS = 8;
+
+    private final ServiceFactory serviceFactory;
     private ConfigurationReader configurationReader;
     private Path antennaTargetDirectory;
     private Reporter tempReporter;
 
+    public MultipleConfigsResolver() {
+        this(new ServiceFactory());
+    }
+
+    /**
+     * @param serviceFactory
+     *              The factory providing the HTTP client to fetch config
+     *              files from HTTP URIs
+     */
+    public MultipleConfigsResolver(ServiceFactory serviceFactory) {
+        this.serviceFactory = serviceFactory;
+    }
+
     /**
      *
      * Merges a list of configurations if possible. If a conflict occurs it is
@@ -63,22 +89,32 @@ public class MultipleConfigsResolver {
     }
 
     protected Configuration resolveConfigs(ToolConfiguration toolConfiguration, boolean checkReport) {
-        this.configurationReader = new ConfigurationReader(toolConfiguration.getEncoding());
         this.antennaTargetDirectory = toolConfiguration.getAntennaTargetDirectory();
-        this.tempReporter = new Reporter(antennaTargetDirectory, toolConfiguration.getEncoding());
-
         List<File> configFiles = toolConfiguration.getConfigFiles();
         List<URI> configFileUris = toolConfiguration.getConfigFileUris();
 
-        List<Configuration> configurations = new ArrayList<>();
+        // the HTTP client is only created if it is needed
+        HttpClient httpClient = configFileUris != null && !configFileUris.isEmpty()
+                ? serviceFactory.createHttpClient(toolConfiguration.useProxy(),
+                        toolConfiguration.getProxyHost(), toolConfiguration.getProxyPort())
+                : null;
+        this.configurationReader = new ConfigurationReader(AntennaConfig.getConfigXsd(), toolConfiguration.getEncoding(),
+                toolConfiguration.isIncrementalExecution() && antennaTargetDirectory != null
+                        ? antennaTargetDirectory.resolve(VALIDATION_CACHE_DIRECTORY)
+                        : null,
+                httpClient);
+        this.tempReporter = new Reporter(antennaTargetDirectory, toolConfiguration.getEncoding());
+
+        List<Supplier<Configuration>> configurationReads = new ArrayList<>();
         if (configFiles != null && !configFiles.isEmpty()) {
-            configurations.addAll(resolveConfigs(configFiles));
+            configurationReads.addAll(resolveConfigs(configFiles));
         }
 
         if (configFileUris != null && !configFileUris.isEmpty()) {
-            configurations.addAll(resolveUris(configFileUris));
+            configurationReads.addAll(resolveUris(configFileUris));
         }
 
+        List<Configuration> configurations = readConfigurations(configurationReads);
         Configuration resolvedConfigs = mergeConfigurations(configurations);
         LOGGER.debug("List of configurations merged.");
 
@@ -89,14 +125,26 @@ public class MultipleConfigsResolver {
         return resolvedConfigs;
     }
 
-    private ArrayList<Configuration> resolveConfigs(List<File> configs) {
+    private List<Supplier<Configuration>> resolveConfigs(List<File> configs) {
         LOGGER.debug("Resolve list of configurations.");
-        ArrayList<Configuration> configurations = new ArrayList<>();
+        List<Supplier<Configuration>> configurationReads = new ArrayList<>();
         for (File config : configs) {
-            Configuration configuration = this.configurationReader.readConfigFromFile(config, this.antennaTargetDirectory);
-            configurations.add(configuration);
+            configurationReads.add(() -> this.configurationReader.readConfigFromFile(config, this.antennaTargetDirectory));
+        }
+        return configurationReads;
+    }
+
+    private List<Configuration> readConfigurations(List<Supplier<Configuration>> configurationReads) {
+        if (configurationReads.size() <= 1) {
+            return configurationReads.stream()
+                    .map(Supplier::get)
+                    .collect(Collectors.toList());
+        }
+        int poolSize = Math.min(MAX_PARALLEL_READS, configurationReads.size());
+        LOGGER.debug("Reading {} configurations with a parallelism of {}", configurationReads.size(), poolSize);
+        try (WorkflowStepExecutor executor = new WorkflowStepExecutor("antenna-config", poolSize)) {
+            return executor.invokeAll(configurationReads, Supplier::get);
         }
-        return configurations;
     }
 
     /**
@@ -114,15 +162,13 @@ public class MultipleConfigsResolver {
         }
     }
 
-    private List<Configuration> resolveUris(List<URI> uris) {
+    private List<Supplier<Configuration>> resolveUris(List<URI> uris) {
         LOGGER.debug("Resolve list of configuration file uris.");
-        List<Configuration> configurations = new ArrayList<>();
+        List<Supplier<Configuration>> configurationReads = new ArrayList<>();
         for (URI uri : uris) {
-            Configuration configuration = this.configurationReader.readConfigFromUri(uri, this.antennaTargetDirectory);
-            configurations.add(configuration);
-
+            configurationReads.add(() -> this.configurationReader.readConfigFromUri(uri, this.antennaTargetDirectory));
         }
-        return configurations;
+        return configurationReads;
     }
 
     private Configuration mergeConfigurations(List<Configuration> configurations) {
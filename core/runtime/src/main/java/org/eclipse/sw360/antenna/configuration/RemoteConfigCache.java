@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.configuration;
+
+import org.eclipse.sw360.antenna.api.exceptions.ConfigurationException;
+import org.eclipse.sw360.antenna.http.HttpClient;
+import org.eclipse.sw360.antenna.http.Response;
+import org.eclipse.sw360.antenna.http.utils.HttpUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * Keeps the downloaded copies of remote config files together with the
+ * {@code ETag} and {@code Last-Modified} values of their responses. A config
+ * file which has been downloaded before is revalidated with a conditional
+ * request, so that its content is only transferred again if it has changed.
+ * If the config host cannot be reached or fails, the last downloaded copy is
+ * used.
+ */
+class RemoteConfigCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RemoteConfigCache.class);
+
+    static final String METADATA_SUFFIX = ".properties";
+    static final String ETAG_PROPERTY = "etag";
+    static final String LAST_MODIFIED_PROPERTY = "lastModified";
+
+    private static final String HEADER_ETAG = "ETag";
+    private static final String HEADER_LAST_MODIFIED = "Last-Modified";
+    private static final String HEADER_IF_NONE_MATCH = "If-None-Match";
+    private static final String HEADER_IF_MODIFIED_SINCE = "If-Modified-Since";
+    private static final int STATUS_NOT_MODIFIED = 304;
+
+    private final HttpClient httpClient;
+
+    /**
+     * @param httpClient the client used to fetch the config files
+     */
+    RemoteConfigCache(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * Makes sure that the given file holds the current content of the remote
+     * config file.
+     *
+     * @param configFileUri the URI of the remote config file
+     * @param configFile    the local copy of the config file, which may
+     *                      already exist from an earlier download
+     * @return the local copy of the config file
+     * @throws ConfigurationException if the config file can neither be
+     *                                fetched nor was downloaded before
+     */
+    File fetch(URI configFileUri, Path configFile) {
+        Path metadataFile = getMetadataFile(configFile);
+        Properties metadata = Files.exists(configFile) ? readMetadata(metadataFile) : new Properties();
+        try {
+            return HttpUtils.waitFor(httpClient.execute(builder -> {
+                builder.uri(configFileUri.toString());
+                if (metadata.containsKey(ETAG_PROPERTY)) {
+                    builder.header(HEADER_IF_NONE_MATCH, metadata.getProperty(ETAG_PROPERTY));
+                }
+                if (metadata.containsKey(LAST_MODIFIED_PROPERTY)) {
+                    builder.header(HEADER_IF_MODIFIED_SINCE, metadata.getProperty(LAST_MODIFIED_PROPERTY));
+                }
+            }, response -> {
+                if (response.statusCode() == STATUS_NOT_MODIFIED && Files.exists(configFile)) {
+                    LOGGER.debug("Config file {} is not modified, using the copy in {}.", configFileUri, configFile);
+                    return configFile.toFile();
+                }
+                if (!response.isSuccess()) {
+                    throw HttpUtils.createExceptionForResponse(response, configFileUri.toString());
+                }
+                store(response, configFile, metadataFile);
+                return configFile.toFile();
+            }));
+        } catch (IOException e) {
+            if (Files.exists(configFile)) {
+                LOGGER.warn("Could not fetch config file {}, using the last downloaded copy {}: {}",
+                        configFileUri, configFile, e.getMessage());
+                return configFile.toFile();
+            }
+            throw new ConfigurationException("Failed to fetch file to target folder of antenna.", e);
+        }
+    }
+
+    static Path getMetadataFile(Path configFile) {
+        return configFile.resolveSibling(configFile.getFileName() + METADATA_SUFFIX);
+    }
+
+    private static Properties readMetadata(Path metadataFile) {
+        Properties metadata = new Properties();
+        if (Files.exists(metadataFile)) {
+            try (InputStream stream = Files.newInputStream(metadataFile)) {
+                metadata.load(stream);
+            } catch (IOException e) {
+                LOGGER.debug("Could not read {}, fetching the config file unconditionally.", metadataFile, e);
+                return new Properties();
+            }
+        }
+        return metadata;
+    }
+
+    /**
+     * Stores the content before its metadata, so that an interrupted download
+     * can at worst cause the content to be fetched again.
+     */
+    private static void store(Response response, Path configFile, Path metadataFile) throws IOException {
+        Path directory = configFile.getParent();
+        Files.createDirectories(directory);
+        LOGGER.debug("Copy configuration file to target folder of antenna.");
+        Path tempFile = Files.createTempFile(directory, configFile.getFileName().toString(), null);
+        try {
+            Files.copy(response.bodyStream(), tempFile, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tempFile, configFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            Properties metadata = new Properties();
+            if (response.header(HEADER_ETAG) != null) {
+                metadata.setProperty(ETAG_PROPERTY, response.header(HEADER_ETAG));
+            }
+            if (response.header(HEADER_LAST_MODIFIED) != null) {
+                metadata.setProperty(LAST_MODIFIED_PROPERTY, response.header(HEADER_LAST_MODIFIED));
+            }
+            try (OutputStream stream = Files.newOutputStream(tempFile)) {
+                metadata.store(stream, null);
+            }
+            Files.move(tempFile, metadataFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+}
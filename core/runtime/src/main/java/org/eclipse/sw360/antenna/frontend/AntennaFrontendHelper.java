@@ -15,6 +15,7 @@ import org.eclipse.sw360.antenna.api.IProject;
 import org.eclipse.sw360.antenna.api.configuration.AntennaContext;
 import org.eclipse.sw360.antenna.api.configuration.ContextExtension;
 import org.eclipse.sw360.antenna.api.configuration.ToolConfiguration;
+import org.eclipse.sw360.antenna.api.service.ServiceFactory;
 import org.eclipse.sw360.antenna.configuration.MultipleConfigsResolver;
 import org.eclipse.sw360.antenna.core.AntennaCore;
 import org.eclipse.sw360.antenna.report.Reporter;
@@ -41,9 +42,11 @@ public class AntennaFrontendHelper {
     public AntennaContext buildAntennaContext() {
         IProcessingReporter reporter = new Reporter(toolConfig.getAntennaTargetDirectory(), toolConfig.getEncoding());
 
-        AntennaContext.ContextBuilder contextBuilder = new AntennaContext.ContextBuilder()
+        // the configs are read with the same shared services as the workflow
+        ServiceFactory serviceFactory = new ServiceFactory();
+        AntennaContext.ContextBuilder contextBuilder = new AntennaContext.ContextBuilder(serviceFactory)
                 .setProject(project)
-                .setConfiguration(new MultipleConfigsResolver().resolveConfigs(toolConfig))
+                .setConfiguration(new MultipleConfigsResolver(serviceFactory).resolveConfigs(toolConfig))
                 .setProcessingReporter(reporter)
                 .setToolConfiguration(toolConfig)
                 .setContextExtensions(contextExtension);
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.report;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.eclipse.sw360.antenna.api.Attachable;
+import org.eclipse.sw360.antenna.api.IAttachable;
+import org.eclipse.sw360.antenna.api.exceptions.ExecutionException;
+import org.eclipse.sw360.antenna.api.service.ServiceFactory;
+import org.eclipse.sw360.antenna.api.workflow.ConfigurableWorkflowItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Records the costs of the single workflow step invocations and writes them
+ * as a JSON report next to the processing report.
+ * <p>
+ * For every invocation the wall time, the CPU time and the bytes allocated by
+ * the executing thread are recorded, together with the number of artifacts
+ * the step received and produced. CPU time and allocated bytes are reported
+ * as -1 if the JVM does not support measuring them. This class is thread-safe,
+ * so that steps executed concurrently can be measured as well.
+ */
+public class WorkflowStepMetrics {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkflowStepMetrics.class);
+
+    public static final String IDENTIFIER = "antenna-step-metrics";
+    private static final String REPORT_FILENAME = "Antenna_workflowStepMetrics.json";
+    private static final String CLASSIFIER = "antenna-step-metrics";
+    private static final String TYPE = "json";
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private static final Method ALLOCATED_BYTES_METHOD = findAllocatedBytesMethod();
+
+    private final List<StepMetrics> steps = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Executes a single workflow step invocation and records its costs.
+     *
+     * @param stage          the workflow stage, e.g. "processor"
+     * @param item           the workflow item being invoked
+     * @param artifactsIn    the number of artifacts passed to the step, or
+     *                       {@code null} if the step does not consume artifacts
+     * @param invocation     the actual invocation of the step
+     * @param artifactsOut   extracts the number of produced artifacts from the
+     *                       result, may return {@code null}
+     * @param <R>            the result type of the invocation
+     * @return the result of the invocation
+     */
+    public <R> R measure(String stage, ConfigurableWorkflowItem item, Integer artifactsIn,
+                         Supplier<R> invocation, Function<R, Integer> artifactsOut) {
+        long cpuTimeBefore = currentThreadCpuTime();
+        long allocatedBytesBefore = currentThreadAllocatedBytes();
+        long wallTimeBefore = System.nanoTime();
+
+        R result = invocation.get();
+
+        long wallTime = System.nanoTime() - wallTimeBefore;
+        long cpuTimeAfter = currentThreadCpuTime();
+        long allocatedBytesAfter = currentThreadAllocatedBytes();
+
+        steps.add(new StepMetrics(stage, item.getWorkflowItemName(), wallTime,
+                difference(cpuTimeBefore, cpuTimeAfter),
+                difference(allocatedBytesBefore, allocatedBytesAfter),
+                artifactsIn, artifactsOut.apply(result)));
+        return result;
+    }
+
+    public List<StepMetrics> getSteps() {
+        synchronized (steps) {
+            return new ArrayList<>(steps);
+        }
+    }
+
+    /**
+     * Writes the recorded metrics as JSON file to the given directory.
+     *
+     * @param targetDirectory the directory to write the report to
+     * @return the attachable pointing to the written report
+     */
+    public IAttachable writeReport(Path targetDirectory) {
+        Path reportPath = targetDirectory.resolve(REPORT_FILENAME);
+        try {
+            Files.createDirectories(targetDirectory);
+            LOGGER.debug("Writing workflow step metrics to {}", reportPath);
+            ServiceFactory.getObjectMapper()
+                    .writerWithDefaultPrettyPrinter()
+                    .writeValue(reportPath.toFile(), Collections.singletonMap("steps", getSteps()));
+            return new Attachable(TYPE, CLASSIFIER, reportPath.toFile());
+        } catch (IOException e) {
+            throw new ExecutionException("The workflow step metrics could not be written.", e);
+        }
+    }
+
+    private static long difference(long before, long after) {
+        return before < 0 || after < 0 ? -1 : after - before;
+    }
+
+    private static long currentThreadCpuTime() {
+        if (THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() && THREAD_MX_BEAN.isThreadCpuTimeEnabled()) {
+            return THREAD_MX_BEAN.getCurrentThreadCpuTime();
+        }
+        return -1;
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        if (ALLOCATED_BYTES_METHOD == null) {
+            return -1;
+        }
+        try {
+            return (Long) ALLOCATED_BYTES_METHOD.invoke(THREAD_MX_BEAN, Thread.currentThread().getId());
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * The number of allocated bytes is only available through the extension
+     * interface {@code com.sun.management.ThreadMXBean}, which is not part of
+     * the Java standard API. It is therefore accessed via reflection.
+     */
+    private static Method findAllocatedBytesMethod() {
+        try {
+            Class<?> extendedMXBean = Class.forName("com.sun.management.ThreadMXBean");
+            if (!extendedMXBean.isInstance(THREAD_MX_BEAN)) {
+                return null;
+            }
+            Method isSupported = extendedMXBean.getMethod("isThreadAllocatedMemorySupported");
+            Method isEnabled = extendedMXBean.getMethod("isThreadAllocatedMemoryEnabled");
+            if (Boolean.TRUE.equals(isSupported.invoke(THREAD_MX_BEAN)) && Boolean.TRUE.equals(isEnabled.invoke(THREAD_MX_BEAN))) {
+                return extendedMXBean.getMethod("getThreadAllocatedBytes", long.class);
+            }
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            LOGGER.debug("Measuring allocated bytes is not supported by this JVM", e);
+        }
+        return null;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class StepMetrics {
+        private final String stage;
+        private final String name;
+        private final String thread;
+        private final long wallTimeNanos;
+        private final long cpuTimeNanos;
+        private final long allocatedBytes;
+        private final Integer artifactsIn;
+        private final Integer artifactsOut;
+
+        StepMetrics(String stage, String name, long wallTimeNanos, long cpuTimeNanos, long allocatedBytes,
+                    Integer artifactsIn, Integer artifactsOut) {
+            this.stage = stage;
+            this.name = name;
+            this.thread = Thread.currentThread().getName();
+            this.wallTimeNanos = wallTimeNanos;
+            this.cpuTimeNanos = cpuTimeNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.artifactsIn = artifactsIn;
+            this.artifactsOut = artifactsOut;
+        }
+
+        public String getStage() {
+            return stage;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getThread() {
+            return thread;
+        }
+
+        public long getWallTimeNanos() {
+            return wallTimeNanos;
+        }
+
+        public long getCpuTimeNanos() {
+            return cpuTimeNanos;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public Integer getArtifactsIn() {
+            return artifactsIn;
+        }
+
+        public Integer getArtifactsOut() {
+            return artifactsOut;
+        }
+    }
+}
@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.util;
+
+import org.eclipse.sw360.antenna.api.configuration.ToolConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed store for downloaded files, which can be shared by
+ * several runs, projects and processes.
+ * <p>
+ * Every file is stored once under its SHA-1 checksum in the {@code sha1}
+ * folder of the cache directory. In addition, files can be registered under
+ * a key, e.g. the coordinates of a released Maven artifact, in the
+ * {@code keys} folder, so that they can be found without knowing their
+ * checksum. All entries are written to a temporary file first and then moved
+ * into place, so that concurrent users never see partially written files.
+ * Cached files are hard-linked into the target directories if possible and
+ * copied otherwise, they must therefore not be modified in place.
+ */
+public class DownloadCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DownloadCache.class);
+
+    static final String CONTENT_DIR = "sha1";
+    static final String KEYS_DIR = "keys";
+    private static final Pattern SHA1_PATTERN = Pattern.compile("[0-9a-f]{40}");
+
+    private final Path cacheDirectory;
+
+    /**
+     * @param cacheDirectory the directory holding the cached files, which is
+     *                       created when the first file is stored
+     */
+    public DownloadCache(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * @param toolConfiguration the configuration of the current run
+     * @return the download cache configured for the run, if any
+     */
+    public static Optional<DownloadCache> of(ToolConfiguration toolConfiguration) {
+        return Optional.ofNullable(toolConfiguration.getDownloadCacheDirectory())
+                .map(DownloadCache::new);
+    }
+
+    /**
+     * Places the cached file with the given checksum at the target path.
+     *
+     * @param sha1       the SHA-1 checksum of the file
+     * @param targetFile where the file should be placed, an existing file is
+     *                   replaced
+     * @return the target file, or an empty optional if no file with the
+     * checksum is cached
+     * @throws IOException if the cached file cannot be placed at the target
+     */
+    public Optional<File> linkByChecksum(String sha1, Path targetFile) throws IOException {
+        Optional<String> checksum = normalizeChecksum(sha1);
+        if (!checksum.isPresent()) {
+            return Optional.empty();
+        }
+        Path contentFile = getContentFile(checksum.get());
+        if (!Files.isRegularFile(contentFile)) {
+            return Optional.empty();
+        }
+        LOGGER.debug("Using cached file {} for {}.", contentFile, targetFile);
+        link(contentFile, targetFile);
+        return Optional.of(targetFile.toFile());
+    }
+
+    /**
+     * Places the cached file registered under the given key at the target
+     * path.
+     *
+     * @param key        the key the file was stored with
+     * @param targetFile where the file should be placed, an existing file is
+     *                   replaced
+     * @return the target file, or an empty optional if no file is registered
+     * under the key
+     * @throws IOException if the cached file cannot be placed at the target
+     */
+    public Optional<File> linkByKey(String key, Path targetFile) throws IOException {
+        Path keyFile = getKeyFile(key);
+        if (!Files.isRegularFile(keyFile)) {
+            return Optional.empty();
+        }
+        String sha1 = new String(Files.readAllBytes(keyFile), StandardCharsets.UTF_8);
+        return linkByChecksum(sha1, targetFile);
+    }
+
+    /**
+     * Stores the given content in the cache and places it at the target path.
+     *
+     * @param content      the content of the file, which is read completely
+     *                     but not closed
+     * @param expectedSha1 the SHA-1 checksum the content must have, or
+     *                     {@code null} if it is not known
+     * @param key          the key to register the file under, or {@code null}
+     * @param targetFile   where the file should be placed, an existing file
+     *                     is replaced
+     * @return the target file
+     * @throws IOException if the content cannot be stored or does not match
+     *                     the expected checksum, nothing is cached then
+     */
+    public File store(InputStream content, String expectedSha1, String key, Path targetFile) throws IOException {
+        return store(prepare(content, targetFile.getFileName().toString()), expectedSha1, key, targetFile);
+    }
+
+    /**
+     * Writes the given content to a temporary file of the cache and computes
+     * its checksum, so that it can be verified and stored later on, e.g. once
+     * its published checksum is known. The returned file has to be passed to
+     * {@link #store(PendingFile, String, String, Path)} or
+     * {@link #discard(PendingFile)}.
+     *
+     * @param content the content of the file, which is read completely but
+     *                not closed
+     * @param name    the name of the file, used as prefix of the temporary
+     *                file
+     * @return the written file, which is not yet part of the cache
+     * @throws IOException if the content cannot be written
+     */
+    public PendingFile prepare(InputStream content, String name) throws IOException {
+        Path contentDirectory = cacheDirectory.resolve(CONTENT_DIR);
+        Files.createDirectories(contentDirectory);
+        Path tempFile = Files.createTempFile(contentDirectory, name, null);
+        try {
+            MessageDigest digest = createDigest();
+            Files.copy(new DigestInputStream(content, digest), tempFile, StandardCopyOption.REPLACE_EXISTING);
+            return new PendingFile(tempFile, toHex(digest.digest()));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+
+    /**
+     * Stores a file written by {@link #prepare(InputStream, String)} in the
+     * cache and places it at the target path.
+     *
+     * @param file         the prepared file
+     * @param expectedSha1 the SHA-1 checksum the content must have, or
+     *                     {@code null} if it is not known
+     * @param key          the key to register the file under, or {@code null}
+     * @param targetFile   where the file should be placed, an existing file
+     *                     is replaced
+     * @return the target file
+     * @throws IOException if the file cannot be stored or does not match the
+     *                     expected checksum, nothing is cached then
+     */
+    public File store(PendingFile file, String expectedSha1, String key, Path targetFile) throws IOException {
+        try {
+            Optional<String> expected = normalizeChecksum(expectedSha1);
+            if (expected.isPresent() && !expected.get().equals(file.sha1)) {
+                throw new IOException("The checksum " + file.sha1 + " of " + targetFile.getFileName()
+                        + " does not match the expected checksum " + expected.get() + ".");
+            }
+            Path contentFile = moveToContentFile(file.tempFile, file.sha1);
+            if (key != null) {
+                registerKey(key, file.sha1);
+            }
+            link(contentFile, targetFile);
+            return targetFile.toFile();
+        } finally {
+            discard(file);
+        }
+    }
+
+    /**
+     * Deletes a file written by {@link #prepare(InputStream, String)} which
+     * is not to be stored.
+     *
+     * @param file the prepared file
+     * @throws IOException if the file cannot be deleted
+     */
+    public void discard(PendingFile file) throws IOException {
+        Files.deleteIfExists(file.tempFile);
+    }
+
+    /**
+     * Stores a copy of an existing file in the cache.
+     *
+     * @param file the file to store
+     * @param key  the key to register the file under, or {@code null}
+     * @return the SHA-1 checksum of the file
+     * @throws IOException if the file cannot be read or stored
+     */
+    public String storeFile(Path file, String key) throws IOException {
+        Path contentDirectory = cacheDirectory.resolve(CONTENT_DIR);
+        Files.createDirectories(contentDirectory);
+        Path tempFile = Files.createTempFile(contentDirectory, file.getFileName().toString(), null);
+        try {
+            MessageDigest digest = createDigest();
+            try (InputStream digestStream = new DigestInputStream(Files.newInputStream(file), digest)) {
+                Files.copy(digestStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String sha1 = toHex(digest.digest());
+            moveToContentFile(tempFile, sha1);
+            if (key != null) {
+                registerKey(key, sha1);
+            }
+            return sha1;
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Extracts the checksum from the content of a {@code .sha1} file, which
+     * may be followed by the name of the file.
+     *
+     * @param checksumFileContent the content of the checksum file
+     * @return the checksum in lower case, or an empty optional if the content
+     * does not start with a SHA-1 checksum
+     */
+    public static Optional<String> normalizeChecksum(String checksumFileContent) {
+        if (checksumFileContent == null) {
+            return Optional.empty();
+        }
+        String[] tokens = checksumFileContent.trim().split("\\s+", 2);
+        String checksum = tokens[0].toLowerCase(Locale.ROOT);
+        return SHA1_PATTERN.matcher(checksum).matches() ? Optional.of(checksum) : Optional.empty();
+    }
+
+    Path getContentFile(String sha1) {
+        return cacheDirectory.resolve(CONTENT_DIR).resolve(sha1.substring(0, 2)).resolve(sha1);
+    }
+
+    private Path getKeyFile(String key) {
+        MessageDigest digest = createDigest();
+        String keyHash = toHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        return cacheDirectory.resolve(KEYS_DIR).resolve(keyHash.substring(0, 2)).resolve(keyHash);
+    }
+
+    /**
+     * Files which are already cached are kept, so that existing links to
+     * them stay valid.
+     */
+    private Path moveToContentFile(Path tempFile, String sha1) throws IOException {
+        Path contentFile = getContentFile(sha1);
+        if (!Files.isRegularFile(contentFile)) {
+            Files.createDirectories(contentFile.getParent());
+            Files.move(tempFile, contentFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return contentFile;
+    }
+
+    private void registerKey(String key, String sha1) throws IOException {
+        Path keyFile = getKeyFile(key);
+        Files.createDirectories(keyFile.getParent());
+        Path tempFile = Files.createTempFile(keyFile.getParent(), keyFile.getFileName().toString(), null);
+        try {
+            Files.write(tempFile, sha1.getBytes(StandardCharsets.UTF_8));
+            Files.move(tempFile, keyFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Hard-links the cached file to the target, and falls back to a copy if
+     * the file system does not support links or the target is on another
+     * file store.
+     */
+    private static void link(Path contentFile, Path targetFile) throws IOException {
+        Files.createDirectories(targetFile.toAbsolutePath().getParent());
+        Files.deleteIfExists(targetFile);
+        try {
+            Files.createLink(targetFile, contentFile);
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            LOGGER.debug("Could not link {} to {}, copying it instead: {}", contentFile, targetFile, e.getMessage());
+            Files.copy(contentFile, targetFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError("SHA-1 is not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * A downloaded file which has been written to the cache directory but is
+     * not yet part of the cache.
+     */
+    public static final class PendingFile {
+        private final Path tempFile;
+        private final String sha1;
+
+        private PendingFile(Path tempFile, String sha1) {
+            this.tempFile = tempFile;
+            this.sha1 = sha1;
+        }
+    }
+}
@@ -12,20 +12,32 @@
 package org.eclipse.sw360.antenna.util;
 
 import org.eclipse.sw360.antenna.http.HttpClient;
+import org.eclipse.sw360.antenna.http.ResponseProcessor;
+import org.eclipse.sw360.antenna.http.utils.HttpConstants;
 import org.eclipse.sw360.antenna.http.utils.HttpUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
 
 public class HttpHelper {
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpHelper.class);
 
+    private static final String CHECKSUM_SUFFIX = ".sha1";
+
     private final HttpClient httpClient;
+    private final DownloadCache downloadCache;
 
     /**
      * Creates a new instance of {@code HttpHelper} that uses the given client
@@ -34,23 +46,201 @@ public class HttpHelper {
      * @param httpClient the {@code HttpClient} to be used
      */
     public HttpHelper(HttpClient httpClient) {
+        this(httpClient, Optional.empty());
+    }
+
+    /**
+     * Creates a new instance of {@code HttpHelper} that uses the given client
+     * for HTTP requests and takes downloaded files from the given cache if
+     * possible.
+     *
+     * @param httpClient    the {@code HttpClient} to be used
+     * @param downloadCache the cache for downloaded files, if any
+     */
+    public HttpHelper(HttpClient httpClient, Optional<DownloadCache> downloadCache) {
         this.httpClient = httpClient;
+        this.downloadCache = downloadCache.orElse(null);
     }
 
     public File downloadFile(String url, Path targetDirectory) throws IOException {
-        String filename = url.substring(url.lastIndexOf("/") + 1);  // We don't want to have the last slash in the name
-        return downloadFile(url, targetDirectory, filename);
+        return downloadFile(url, targetDirectory, getFilename(url));
     }
 
     public File downloadFile(String url, Path targetDirectory, String filename) throws IOException {
+        return downloadFile(url, targetDirectory, filename, null);
+    }
+
+    /**
+     * @param url the URL of a file
+     * @return the name of the file, i.e. the last segment of the URL
+     */
+    public static String getFilename(String url) {
+        return url.substring(url.lastIndexOf("/") + 1);  // We don't want to have the last slash in the name
+    }
+
+    /**
+     * Downloads a file. If a download cache is used and a cache key is given,
+     * the file is taken from the cache if it is registered under the key.
+     * Otherwise the downloaded file is verified against the checksum
+     * published next to it in a {@code .sha1} file and then cached. Files
+     * without cache key are neither taken from nor stored in the cache, and
+     * their checksum is not requested.
+     *
+     * @param url             the URL of the file
+     * @param targetDirectory the directory to store the file in
+     * @param filename        the name of the stored file
+     * @param cacheKey        a key which identifies the content of the file
+     *                        independent of the URL, e.g. the coordinates of
+     *                        a released artifact, or {@code null} if the
+     *                        content behind the URL may change and the
+     *                        cache is not to be used
+     * @return the stored file
+     * @throws IOException if the file cannot be downloaded or does not match
+     *                     its published checksum
+     */
+    public File downloadFile(String url, Path targetDirectory, String filename, String cacheKey) throws IOException {
+        return downloadFile(url, targetDirectory, filename, cacheKey, statusCode -> {});
+    }
+
+    /**
+     * Downloads a file like {@link #downloadFile(String, Path, String, String)}
+     * and notifies the given listener as soon as the response to the request
+     * for the file arrives, before its content is transferred. The listener
+     * is not notified if the file is taken from the download cache. If the
+     * calling thread is interrupted, the download is cancelled and no file is
+     * left behind.
+     *
+     * @param url              the URL of the file
+     * @param targetDirectory  the directory to store the file in
+     * @param filename         the name of the stored file
+     * @param cacheKey         a key which identifies the content of the file,
+     *                         or {@code null}
+     * @param responseListener receives the status code of the response
+     * @return the stored file
+     * @throws IOException if the file cannot be downloaded or does not match
+     *                     its published checksum
+     */
+    public File downloadFile(String url, Path targetDirectory, String filename, String cacheKey,
+                             IntConsumer responseListener) throws IOException {
         LOGGER.debug("Downloading from URL {} to file {} in {}.", url, filename, targetDirectory);
         Path targetFile = targetDirectory.resolve(filename);
 
-        return HttpUtils.waitFor(httpClient.execute(HttpUtils.get(url),
-                HttpUtils.checkResponse(response -> {
-                    Files.createDirectories(targetDirectory);
+        if (downloadCache == null || cacheKey == null) {
+            return download(url, responseListener, response -> {
+                Files.createDirectories(targetDirectory);
+                try {
                     Files.copy(response.bodyStream(), targetFile, StandardCopyOption.REPLACE_EXISTING);
-                    return targetFile.toFile();
-                })));
+                } catch (IOException e) {
+                    Files.deleteIfExists(targetFile);
+                    throw e;
+                }
+                return targetFile.toFile();
+            }, file -> Files.deleteIfExists(file.toPath()));
+        }
+
+        Optional<File> cachedFile = downloadCache.linkByKey(cacheKey, targetFile);
+        if (cachedFile.isPresent()) {
+            return cachedFile.get();
+        }
+        AtomicReference<CompletableFuture<Optional<String>>> checksum = new AtomicReference<>();
+        DownloadCache.PendingFile pendingFile = download(url, responseListener, response -> {
+            checksum.set(fetchChecksum(url));
+            return downloadCache.prepare(response.bodyStream(), filename);
+        }, downloadCache::discard);
+        Optional<String> expectedChecksum;
+        try {
+            expectedChecksum = waitForChecksum(url, checksum.get());
+        } catch (IOException e) {
+            downloadCache.discard(pendingFile);
+            throw e;
+        }
+        return downloadCache.store(pendingFile, expectedChecksum.orElse(null), cacheKey, targetFile);
+    }
+
+    /**
+     * The response is processed on a thread of the HTTP client, so a
+     * download which is abandoned by an interrupted caller may still complete
+     * concurrently. Whichever of both comes last discards the downloaded
+     * file.
+     */
+    private <T> T download(String url, IntConsumer responseListener, ResponseProcessor<T> processor,
+                           Discarder<T> discarder) throws IOException {
+        DownloadState<T> state = new DownloadState<>();
+        CompletableFuture<T> result = httpClient.execute(HttpUtils.get(url), response -> {
+            responseListener.accept(response.statusCode());
+            T file = HttpUtils.checkResponse(processor).process(response);
+            if (!state.complete(file)) {
+                discarder.discard(file);
+            }
+            return file;
+        });
+        try {
+            return HttpUtils.waitFor(result);
+        } catch (IOException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                result.cancel(true);
+                Optional<T> completedFile = state.abandon();
+                if (completedFile.isPresent()) {
+                    discarder.discard(completedFile.get());
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * The checksum is only requested once the file itself has been found, so
+     * that missing files cost a single request. It is transferred while the
+     * content of the file is written. Files without a published checksum are
+     * still cached, but can then only be found by their key.
+     */
+    private CompletableFuture<Optional<String>> fetchChecksum(String url) {
+        return httpClient.execute(HttpUtils.get(url + CHECKSUM_SUFFIX), response -> {
+            if (response.statusCode() != HttpConstants.STATUS_OK) {
+                return Optional.<String>empty();
+            }
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(response.bodyStream(), StandardCharsets.UTF_8));
+            return DownloadCache.normalizeChecksum(reader.readLine());
+        });
+    }
+
+    private static Optional<String> waitForChecksum(String url, CompletableFuture<Optional<String>> checksum)
+            throws IOException {
+        try {
+            return HttpUtils.waitFor(checksum);
+        } catch (IOException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                checksum.cancel(true);
+                throw e;
+            }
+            LOGGER.debug("No checksum available for {}: {}", url, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private interface Discarder<T> {
+        void discard(T file) throws IOException;
+    }
+
+    private static final class DownloadState<T> {
+        private T completedFile;
+        private boolean abandoned;
+
+        /**
+         * @return whether the caller still waits for the download
+         */
+        synchronized boolean complete(T file) {
+            completedFile = file;
+            return !abandoned;
+        }
+
+        /**
+         * @return the downloaded file, if the download has already completed
+         */
+        synchronized Optional<T> abandon() {
+            abandoned = true;
+            return Optional.ofNullable(completedFile);
+        }
     }
 }
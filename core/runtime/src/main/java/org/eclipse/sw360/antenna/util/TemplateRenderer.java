@@ -12,46 +12,110 @@ package org.eclipse.sw360.antenna.util;
 
 import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
-import org.apache.velocity.app.VelocityEngine;
+import org.apache.velocity.context.AbstractContext;
+import org.apache.velocity.exception.ResourceNotFoundException;
 import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.RuntimeInstance;
+import org.apache.velocity.runtime.parser.ParseException;
 import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
 import org.eclipse.sw360.antenna.api.exceptions.ExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.xml.sax.SAXException;
 
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.File;
-import java.io.IOException;
+import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Function;
 
+/**
+ * Renders the Velocity templates of workflow and configuration files, whose
+ * properties section defines further variables for the rest of the template,
+ * see {@link RenderMode}.
+ * <p>
+ * The Velocity engines are shared per resource loader and the parsed templates
+ * are reused until their file is modified, so rendering the same templates
+ * repeatedly only costs their merging. Instances are not thread-safe, as they
+ * keep the render context.
+ */
 public class TemplateRenderer {
 
     public static final String CLASSPATH_WORKFLOW_XML = "workflow.xml";
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TemplateRenderer.class);
 
-    private VelocityContext renderContext;
+    private static final String PROPERTIES_TAG = "properties";
+    private static final String PROPERTIES_END_TAG = "</" + PROPERTIES_TAG + ">";
+    private static final String CLASSPATH_LOADER = "classpath";
+    private static final String FILE_LOADER = "file";
+    private static final int MAX_CACHED_ENGINES = 16;
+    private static final int MAX_CACHED_TEMPLATES = 64;
 
-    public TemplateRenderer() {
-        this.renderContext = new VelocityContext();
+    private static final Map<String, RuntimeInstance> ENGINES = lruMap(MAX_CACHED_ENGINES);
+    private static final Map<String, CachedTemplate> TEMPLATES = lruMap(MAX_CACHED_TEMPLATES);
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
 
-        System.getenv()
-                .entrySet()
-                .stream()
-                .filter(e -> e.getKey().equals(e.getKey().toUpperCase()))
-                .forEach(e -> this.renderContext.put(e.getKey(),e.getValue()));
+    /**
+     * Defines how the properties section of a template is taken into account.
+     */
+    public enum RenderMode {
+        /**
+         * Renders the whole template, reads the properties from the result
+         * and renders the template again with these properties, if there are
+         * any. The rendered result is checked to be well-formed XML.
+         */
+        TWO_STAGE,
+        /**
+         * Renders the template up to the end of the properties section, reads
+         * the properties from this part and renders the rest of the template
+         * with them, so that every part is rendered only once. Templates
+         * without properties section are rendered as they are. The result is
+         * not checked to be well-formed XML, this is left to its consumer.
+         * Templates which cannot be split at the end of the properties
+         * section, e.g. because a directive encloses it, are rendered in
+         * {@link #TWO_STAGE} mode.
+         */
+        SINGLE_PASS
+    }
+
+    private final VelocityContext renderContext;
+    private RenderMode renderMode;
+
+    public TemplateRenderer() {
+        this(new HashMap<>(), RenderMode.TWO_STAGE);
     }
 
     public TemplateRenderer(Map<String, Object> initMap) {
-        this();
+        this(initMap, RenderMode.TWO_STAGE);
+    }
+
+    public TemplateRenderer(Map<String, Object> initMap, RenderMode renderMode) {
+        // the upper case environment variables are looked up on demand instead of being copied
+        this.renderContext = new VelocityContext(new EnvironmentContext());
+        this.renderMode = renderMode;
         initMap.forEach((key, value) -> this.renderContext.put(key, value));
     }
 
+    public RenderMode getRenderMode() {
+        return renderMode;
+    }
+
+    /**
+     * Sets the mode for the templates rendered from now on, the render
+     * context is kept.
+     *
+     * @param renderMode the mode to render templates with
+     */
+    public void setRenderMode(RenderMode renderMode) {
+        this.renderMode = renderMode;
+    }
+
     public String renderTemplateFile(File templateFile, Map<String, Object> contextMap) {
         for (Map.Entry<String, Object> entry : contextMap.entrySet()) {
             renderContext.put(entry.getKey(), entry.getValue());
@@ -59,45 +123,70 @@ public class TemplateRenderer {
         return renderTemplateFile(templateFile);
     }
 
-    private VelocityEngine getVelocityEngine(Map<String,String> veProperties) {
-        VelocityEngine ve = new VelocityEngine();
-        ve.setProperty(RuntimeConstants.RUNTIME_LOG_LOGSYSTEM_CLASS,"org.apache.velocity.runtime.log.NullLogSystem");
-
-        veProperties.forEach(ve::setProperty);
-        return ve;
+    private static <V> Map<String, V> lruMap(int maxSize) {
+        return new LinkedHashMap<String, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maxSize;
+            }
+        };
     }
 
-    private VelocityEngine prepareVelocityEngine(File templateFile) {
-        Map<String,String> veProperties = new HashMap<>();
-        veProperties.put(RuntimeConstants.RESOURCE_LOADER, "file");
-        veProperties.put(RuntimeConstants.FILE_RESOURCE_LOADER_PATH,
-                templateFile.getParentFile() != null
-                        ? templateFile.getParentFile().getAbsolutePath()
-                        : templateFile.getAbsoluteFile().getParentFile().getAbsolutePath());
+    private static RuntimeInstance getVelocityEngine(String loader, String path) {
+        String key = loader + ":" + path;
+        synchronized (ENGINES) {
+            RuntimeInstance ve = ENGINES.get(key);
+            if (ve == null) {
+                ve = new RuntimeInstance();
+                ve.setProperty(RuntimeConstants.RUNTIME_LOG_LOGSYSTEM_CLASS, "org.apache.velocity.runtime.log.NullLogSystem");
+                ve.setProperty(RuntimeConstants.RESOURCE_LOADER, loader);
+                if (FILE_LOADER.equals(loader)) {
+                    ve.setProperty(RuntimeConstants.FILE_RESOURCE_LOADER_PATH, path);
+                } else {
+                    ve.setProperty("classpath.resource.loader.class", ClasspathResourceLoader.class.getName());
+                    ve.setProperty("classpath.resource.loader.path", path);
+                }
+                ve.init();
+                ENGINES.put(key, ve);
+            }
+            return ve;
+        }
+    }
 
-        return getVelocityEngine(veProperties);
+    private static CachedTemplate getCachedTemplate(String loader, String path, String name, long lastModified, long length) {
+        RuntimeInstance ve = getVelocityEngine(loader, path);
+        String key = loader + ":" + path + ":" + name;
+        synchronized (TEMPLATES) {
+            CachedTemplate cached = TEMPLATES.get(key);
+            if (cached == null || cached.lastModified != lastModified || cached.length != length) {
+                cached = new CachedTemplate(ve, name, lastModified, length);
+                TEMPLATES.put(key, cached);
+            }
+            return cached;
+        }
     }
 
     public String renderTemplateFile(File templateFile) {
-        VelocityEngine ve = prepareVelocityEngine(templateFile);
-        Template template = ve.getTemplate(templateFile.getName());
-        return renderTemplate(template);
+        File absoluteFile = templateFile.getAbsoluteFile();
+        CachedTemplate cached = getCachedTemplate(FILE_LOADER, absoluteFile.getParentFile().getAbsolutePath(),
+                templateFile.getName(), absoluteFile.lastModified(), absoluteFile.length());
+        return render(cached);
     }
 
     public Optional<String> renderClassPathWorkflow() {
-        Map<String,String> veProperties = new HashMap<>();
-        veProperties.put(RuntimeConstants.RESOURCE_LOADER, "classpath");
-        veProperties.put("classpath.resource.loader.class", ClasspathResourceLoader.class.getName());
-        veProperties.put("classpath.resource.loader.path", "/");
-
-        VelocityEngine ve = getVelocityEngine(veProperties);
         try {
-            Template template = ve.getTemplate(CLASSPATH_WORKFLOW_XML);
-            return Optional.of(renderTemplate(template));
-        } catch (org.apache.velocity.exception.ResourceNotFoundException ex) {
+            CachedTemplate cached = getCachedTemplate(CLASSPATH_LOADER, "/", CLASSPATH_WORKFLOW_XML, 0, 0);
+            return Optional.of(render(cached));
+        } catch (ResourceNotFoundException ex) {
             return Optional.empty();
         }
+    }
 
+    private String render(CachedTemplate cached) {
+        if (renderMode == RenderMode.SINGLE_PASS) {
+            return renderSinglePass(cached);
+        }
+        return renderTemplate(cached.template);
     }
 
     private String renderTemplateWithCurrentRenderContext(Template template) {
@@ -106,10 +195,61 @@ public class TemplateRenderer {
         return sw.toString();
     }
 
-    private Map<String, String> getPropertiesMapFromRenderedResult(String result)
-            throws IOException, SAXException, ParserConfigurationException {
-        XmlSettingsReader xsr = new XmlSettingsReader(result);
-        return xsr.getStringKeyedMapProperty("properties", Function.identity());
+    /**
+     * Reads the children of the first properties element of the given XML in
+     * one streaming pass.
+     *
+     * @param xml           the rendered XML
+     * @param wholeDocument if the whole document is read, which ensures it is
+     *                      well-formed, otherwise reading stops at the end of
+     *                      the properties element
+     * @return the properties, or an empty {@code Optional} if the XML has no
+     * complete properties element
+     */
+    private Optional<Map<String, String>> readProperties(String xml, boolean wholeDocument) throws XMLStreamException {
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(new StringReader(xml));
+        try {
+            Map<String, String> properties = null;
+            int depth = 0;
+            int propertiesDepth = -1;
+            String propertyName = null;
+            StringBuilder propertyValue = new StringBuilder();
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                    String name = getQualifiedName(reader);
+                    if (properties == null && PROPERTIES_TAG.equals(name)) {
+                        properties = new HashMap<>();
+                        propertiesDepth = depth;
+                    } else if (depth == propertiesDepth + 1 && propertiesDepth > 0) {
+                        propertyName = name;
+                        propertyValue.setLength(0);
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if (depth == propertiesDepth + 1 && propertyName != null) {
+                        properties.put(propertyName, propertyValue.toString().trim());
+                        propertyName = null;
+                    } else if (depth == propertiesDepth) {
+                        propertiesDepth = -1;
+                        if (!wholeDocument) {
+                            return Optional.of(properties);
+                        }
+                    }
+                    depth--;
+                } else if (propertyName != null && (reader.isCharacters() || event == XMLStreamConstants.CDATA)) {
+                    propertyValue.append(reader.getText());
+                }
+            }
+            return properties == null || propertiesDepth > 0 ? Optional.empty() : Optional.of(properties);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static String getQualifiedName(XMLStreamReader reader) {
+        String prefix = reader.getPrefix();
+        return prefix == null || prefix.isEmpty() ? reader.getLocalName() : prefix + ":" + reader.getLocalName();
     }
 
     /*
@@ -191,7 +331,7 @@ public class TemplateRenderer {
         try {
             // Stage 2 - Render the template again using the provided Map and the
             // properties that might have been rendered in the first stage.
-            Map<String,String> propertiesMap = getPropertiesMapFromRenderedResult(result);
+            Map<String, String> propertiesMap = readProperties(result, true).orElse(new HashMap<>());
 
             if (propertiesMap.isEmpty()) {
                 // bail out early if no properties present
@@ -203,11 +343,139 @@ public class TemplateRenderer {
             }
 
             result = renderTemplateWithCurrentRenderContext(template);
-        } catch (ParserConfigurationException | IOException | SAXException e) {
+        } catch (XMLStreamException e) {
             String msg = "Error in second stage while rendering template. This also means that first stage result is invalid.";
             LOGGER.error(msg, e);
             throw new ExecutionException(msg,e);
         }
         return result;
     }
+
+    private String renderSinglePass(CachedTemplate cached) {
+        SplitTemplate split = cached.getSplitTemplate();
+        if (split.remainder == null) {
+            return renderTemplate(cached.template);
+        }
+
+        StringWriter sw = new StringWriter();
+        if (split.properties != null) {
+            split.properties.merge(renderContext, sw);
+            Optional<Map<String, String>> propertiesMap;
+            try {
+                propertiesMap = readProperties(sw.toString(), false);
+            } catch (XMLStreamException e) {
+                propertiesMap = Optional.empty();
+            }
+            if (!propertiesMap.isPresent()) {
+                // the end tag was no end of the properties element, e.g. because it is commented
+                return renderTemplate(cached.template);
+            }
+            propertiesMap.get().forEach(renderContext::put);
+        }
+        split.remainder.merge(renderContext, sw);
+        return sw.toString();
+    }
+
+    /**
+     * A parsed template, which is reused as long as its source does not
+     * change. The parts for the {@link RenderMode#SINGLE_PASS} mode are only
+     * created if needed.
+     */
+    private static final class CachedTemplate {
+        private final RuntimeInstance ve;
+        private final String name;
+        private final long lastModified;
+        private final long length;
+        private final Template template;
+        private volatile SplitTemplate splitTemplate;
+
+        private CachedTemplate(RuntimeInstance ve, String name, long lastModified, long length) {
+            this.ve = ve;
+            this.name = name;
+            this.lastModified = lastModified;
+            this.length = length;
+            this.template = ve.getTemplate(name);
+        }
+
+        private SplitTemplate getSplitTemplate() {
+            SplitTemplate split = splitTemplate;
+            if (split == null) {
+                split = splitAtEndOfProperties();
+                splitTemplate = split;
+            }
+            return split;
+        }
+
+        private SplitTemplate splitAtEndOfProperties() {
+            String source = (String) ve.getContent(name).getData();
+            int end = source.indexOf(PROPERTIES_END_TAG);
+            if (end < 0) {
+                return new SplitTemplate(null, template);
+            }
+            end += PROPERTIES_END_TAG.length();
+            try {
+                return new SplitTemplate(parse(source.substring(0, end), name + "#" + PROPERTIES_TAG),
+                        parse(source.substring(end), name));
+            } catch (ParseException e) {
+                LOGGER.debug("Template {} cannot be split after its properties, it is rendered in two stages", name, e);
+                return new SplitTemplate(null, null);
+            }
+        }
+
+        private Template parse(String source, String templateName) throws ParseException {
+            Template part = new Template();
+            part.setRuntimeServices(ve);
+            part.setName(templateName);
+            part.setData(ve.parse(new StringReader(source), templateName));
+            part.initDocument();
+            return part;
+        }
+    }
+
+    /**
+     * A template split after its properties section. Without properties
+     * section the whole template is the remainder, a template which cannot
+     * be split has no remainder.
+     */
+    private static final class SplitTemplate {
+        private final Template properties;
+        private final Template remainder;
+
+        private SplitTemplate(Template properties, Template remainder) {
+            this.properties = properties;
+            this.remainder = remainder;
+        }
+    }
+
+    /**
+     * Provides the upper case environment variables as read-only context.
+     */
+    private static final class EnvironmentContext extends AbstractContext {
+        @Override
+        public Object internalGet(String key) {
+            return key.equals(key.toUpperCase()) ? System.getenv(key) : null;
+        }
+
+        @Override
+        public Object internalPut(String key, Object value) {
+            throw new UnsupportedOperationException("The environment cannot be modified");
+        }
+
+        @Override
+        public boolean internalContainsKey(Object key) {
+            return key instanceof String && internalGet((String) key) != null;
+        }
+
+        @Override
+        public Object[] internalGetKeys() {
+            return System.getenv().keySet().stream()
+                    .filter(key -> key.equals(key.toUpperCase()))
+                    .toArray();
+        }
+
+        @Override
+        public Object internalRemove(Object key) {
+            return null;
+        }
+    }
 }
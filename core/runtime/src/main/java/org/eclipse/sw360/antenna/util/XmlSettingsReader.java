@@ -11,13 +11,13 @@
 
 package org.eclipse.sw360.antenna.util;
 
+import org.eclipse.sw360.antenna.xml.XMLContextCache;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
@@ -228,8 +228,7 @@ public class XmlSettingsReader {
         }
 
         try {
-            JAXBContext jc = JAXBContext.newInstance(targetClass);
-            Unmarshaller unmarshaller = jc.createUnmarshaller();
+            Unmarshaller unmarshaller = XMLContextCache.getUnmarshaller(targetClass);
             JAXBElement<T> jb = unmarshaller.unmarshal(property, targetClass);
             return jb.getValue();
         } catch (JAXBException e) {
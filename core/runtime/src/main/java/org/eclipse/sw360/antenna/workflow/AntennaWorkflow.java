@@ -15,10 +15,14 @@ import org.eclipse.sw360.antenna.api.IAttachable;
 import org.eclipse.sw360.antenna.api.IEvaluationResult;
 import org.eclipse.sw360.antenna.api.exceptions.ExecutionException;
 import org.eclipse.sw360.antenna.api.workflow.*;
+import org.eclipse.sw360.antenna.report.WorkflowStepMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -30,6 +34,13 @@ public class AntennaWorkflow {
     private final Collection<AbstractProcessor> processors;
     private final Collection<AbstractGenerator> generators;
     private final List<AbstractOutputHandler> postSinksHooks;
+    private final int analyzerParallelism;
+    private final int processorParallelism;
+    private final int generatorParallelism;
+    private final int artifactChunkSize;
+    private final Optional<WorkflowStepMetrics> stepMetrics;
+    private final Optional<WorkflowCheckpointStore> checkpointStore;
+    private final Path antennaTargetDirectory;
 
     public AntennaWorkflow(AntennaWorkflowConfiguration antennaWFConfig) {
         LOGGER.debug("Initializing workflow ...");
@@ -37,43 +48,81 @@ public class AntennaWorkflow {
         processors = antennaWFConfig.getProcessors();
         generators = antennaWFConfig.getGenerators();
         postSinksHooks = antennaWFConfig.getOutputHandlers();
+        analyzerParallelism = antennaWFConfig.getAnalyzerParallelism();
+        processorParallelism = antennaWFConfig.getProcessorParallelism();
+        generatorParallelism = antennaWFConfig.getGeneratorParallelism();
+        artifactChunkSize = antennaWFConfig.getArtifactChunkSize();
+        stepMetrics = antennaWFConfig.isRecordStepMetrics() ? Optional.of(new WorkflowStepMetrics()) : Optional.empty();
+        antennaTargetDirectory = antennaWFConfig.getAntennaTargetDirectory();
+        checkpointStore = antennaWFConfig.isIncrementalExecution()
+                ? Optional.of(new WorkflowCheckpointStore(antennaTargetDirectory))
+                : Optional.empty();
         LOGGER.debug("Initializing workflow done\n");
     }
 
     public Map<String, IAttachable> execute() {
         LOGGER.info("Workflow execution started ...");
         try {
-            LOGGER.debug("Start collecting dependencies from");
-            Collection<WorkflowStepResult> sourcesResults = getArtifactsFromAnalyzers();
-            ProcessingState processingState = new ProcessingState(sourcesResults);
-            if (processingState.getArtifacts().isEmpty()) {
-                throwOnFailCausingResult(processingState);
-                LOGGER.warn("No analyzer yielded artifacts, skip all other workflow steps");
-                return processingState.getAttachables();
+            Map<String, IAttachable> output = executeWorkflowSteps();
+            writeStepMetrics().ifPresent(metricsReport -> output.put(WorkflowStepMetrics.IDENTIFIER, metricsReport));
+            return output;
+        } catch (RuntimeException e) {
+            try {
+                writeStepMetrics();
+            } catch (ExecutionException metricsFailure) {
+                e.addSuppressed(metricsFailure);
             }
+            throw e;
+        } finally {
+            LOGGER.debug("Clean up workflow ...");
+            cleanup();
+            LOGGER.debug("Clean up workflow done");
+            LOGGER.debug("Workflow execution done");
+        }
+    }
 
-            LOGGER.debug("Process artifacts");
-            applyProcessors(processingState);
+    private Map<String, IAttachable> executeWorkflowSteps() {
+        LOGGER.debug("Start collecting dependencies from");
+        Collection<WorkflowStepResult> sourcesResults = getArtifactsFromAnalyzers();
+        ProcessingState processingState = new ProcessingState(sourcesResults);
+        if (processingState.getNumberOfArtifacts() == 0) {
+            throwOnFailCausingResult(processingState);
+            LOGGER.warn("No analyzer yielded artifacts, skip all other workflow steps");
+            return processingState.getAttachables();
+        }
 
-            LOGGER.debug("Generate output");
-            Map<String, IAttachable> generatedOutput = generateOutputViaGenerators(processingState);
+        LOGGER.debug("Process artifacts");
+        applyProcessors(processingState);
 
-            generatedOutput.putAll(processingState.getAttachables());
+        LOGGER.debug("Generate output");
+        Map<String, IAttachable> generatedOutput = generateOutputViaGenerators(processingState);
 
-            throwOnFailCausingResult(processingState);
+        generatedOutput.putAll(processingState.getAttachables());
 
-            if(postSinksHooks.size() > 0) {
-                LOGGER.debug("Post process output");
-                applyOutputPostHandler(generatedOutput);
-            }
+        throwOnFailCausingResult(processingState);
 
-            return generatedOutput;
-        } finally {
-            LOGGER.debug("Clean up workflow ...");
-            cleanup();
-            LOGGER.debug("Clean up workflow done");
-            LOGGER.debug("Workflow execution done");
+        if(postSinksHooks.size() > 0) {
+            LOGGER.debug("Post process output");
+            applyOutputPostHandler(generatedOutput);
+        }
+
+        return generatedOutput;
+    }
+
+    private Optional<IAttachable> writeStepMetrics() {
+        return stepMetrics.map(metrics -> metrics.writeReport(antennaTargetDirectory));
+    }
+
+    private <R> R measure(String stage, ConfigurableWorkflowItem item, Integer artifactsIn,
+                          Supplier<R> invocation, Function<R, Integer> artifactsOut) {
+        if (!stepMetrics.isPresent()) {
+            return invocation.get();
         }
+        return stepMetrics.get().measure(stage, item, artifactsIn, invocation, artifactsOut);
+    }
+
+    private static Integer numberOfArtifacts(WorkflowStepResult result) {
+        return result != null ? result.getArtifacts().size() : null;
     }
 
     private void throwOnFailCausingResult(ProcessingState processingState) {
@@ -104,19 +153,85 @@ public class AntennaWorkflow {
     }
 
     private Collection<WorkflowStepResult> getArtifactsFromAnalyzers() {
-        Collection<WorkflowStepResult> results = new HashSet<>();
+        if (analyzerParallelism > 1 && analyzers.size() > 1) {
+            return getArtifactsFromAnalyzersConcurrently();
+        }
+        List<WorkflowStepResult> results = new ArrayList<>();
         for(AbstractAnalyzer source : analyzers){
-            LOGGER.info("Run {}", source.getWorkflowItemName());
-            results.add(source.yield());
+            results.add(runAnalyzer(source));
         }
         return results;
     }
 
+    private Collection<WorkflowStepResult> getArtifactsFromAnalyzersConcurrently() {
+        int poolSize = Math.min(analyzerParallelism, analyzers.size());
+        LOGGER.debug("Running {} analyzers with a parallelism of {}", analyzers.size(), poolSize);
+        try (WorkflowStepExecutor executor = new WorkflowStepExecutor("antenna-analyzer", poolSize)) {
+            return executor.invokeAll(new ArrayList<>(analyzers), this::runAnalyzer);
+        }
+    }
+
+    private WorkflowStepResult runAnalyzer(AbstractAnalyzer analyzer) {
+        LOGGER.info("Run {}", analyzer.getWorkflowItemName());
+        return measure("analyzer", analyzer, null, analyzer::yield, AntennaWorkflow::numberOfArtifacts);
+    }
+
     private void applyProcessors(ProcessingState processingState) {
+        if (processorParallelism > 1 && processors.size() > 1) {
+            new ProcessorScheduler(processors, processorParallelism, this::mustRunAlone)
+                    .run(processingState, this::runProcessor);
+            return;
+        }
         for (AbstractProcessor processor : processors) {
-            LOGGER.info("Run {}", processor.getWorkflowItemName());
-            processingState.applyWorkflowStepResult(processor.process(processingState));
+            processingState.applyWorkflowStepResult(runProcessor(processor, processingState));
+        }
+    }
+
+    private WorkflowStepResult runProcessor(AbstractProcessor processor, ProcessingState processingState) {
+        LOGGER.info("Run {}", processor.getWorkflowItemName());
+        if (isProcessedInChunks(processor)) {
+            return measure("processor", processor, processingState.getNumberOfArtifacts(),
+                    () -> processor.process(processingState, artifactChunkSize),
+                    result -> processingState.getNumberOfArtifacts());
+        }
+        return measure("processor", processor, processingState.getNumberOfArtifacts(),
+                () -> isRestorableFromCheckpoint(processor)
+                        ? runProcessorWithCheckpoint(processor, processingState, checkpointStore.get())
+                        : processor.process(processingState),
+                AntennaWorkflow::numberOfArtifacts);
+    }
+
+    private boolean isRestorableFromCheckpoint(AbstractProcessor processor) {
+        return checkpointStore.isPresent() && processor.isCheckpointable();
+    }
+
+    /**
+     * Checkpoints store complete results, so processors restorable from a
+     * checkpoint always get all artifacts at once.
+     */
+    private boolean isProcessedInChunks(AbstractProcessor processor) {
+        return artifactChunkSize > 0 && processor.isPerArtifact() && !isRestorableFromCheckpoint(processor);
+    }
+
+    private boolean mustRunAlone(AbstractProcessor processor) {
+        return isRestorableFromCheckpoint(processor) || isProcessedInChunks(processor);
+    }
+
+    private WorkflowStepResult runProcessorWithCheckpoint(AbstractProcessor processor, ProcessingState processingState,
+                                                          WorkflowCheckpointStore store) {
+        String fingerprint = store.fingerprint(processor, processingState.getArtifacts());
+        Optional<WorkflowStepResult> checkpoint = store.load(processor, fingerprint);
+        if (checkpoint.isPresent()) {
+            LOGGER.info("Input of {} did not change, using the result of the last run", processor.getWorkflowItemName());
+            return checkpoint.get();
+        }
+        WorkflowStepResult result = processor.process(processingState);
+        if (processor.isLastResultCheckpointable()) {
+            store.store(processor, fingerprint, result);
+        } else {
+            LOGGER.info("The result of {} is incomplete, it is not stored as checkpoint", processor.getWorkflowItemName());
         }
+        return result;
     }
 
     private void warnIfKeysCollide(AbstractGenerator sink, Map<String, IAttachable> generatedOutput, Map<String, IAttachable> oneGeneratedOutput) {
@@ -130,19 +245,50 @@ public class AntennaWorkflow {
     }
 
     private Map<String, IAttachable> generateOutputViaGenerators(ProcessingState processingState) {
+        if (generatorParallelism > 1 && generators.size() > 1) {
+            return generateOutputViaGeneratorsConcurrently(processingState);
+        }
         Map<String, IAttachable> generatedOutput = new HashMap<>();
         for (AbstractGenerator sink : generators) {
-            LOGGER.info("Run {}", sink.getWorkflowItemName());
-            Map<String, IAttachable> oneGeneratedOutput = sink.produce(processingState);
-            warnIfKeysCollide(sink, generatedOutput, oneGeneratedOutput);
-            generatedOutput.putAll(oneGeneratedOutput);
+            mergeGeneratedOutput(sink, generatedOutput, runGenerator(sink, processingState));
+        }
+        return generatedOutput;
+    }
+
+    private Map<String, IAttachable> generateOutputViaGeneratorsConcurrently(ProcessingState processingState) {
+        int poolSize = Math.min(generatorParallelism, generators.size());
+        LOGGER.debug("Running {} generators with a parallelism of {}", generators.size(), poolSize);
+        ProcessingState snapshot = processingState.createReadOnlySnapshot();
+        List<AbstractGenerator> sinks = new ArrayList<>(generators);
+        List<Map<String, IAttachable>> outputs;
+        try (WorkflowStepExecutor executor = new WorkflowStepExecutor("antenna-generator", poolSize)) {
+            outputs = executor.invokeAll(sinks, sink -> runGenerator(sink, snapshot));
+        }
+
+        Map<String, IAttachable> generatedOutput = new HashMap<>();
+        for (int i = 0; i < sinks.size(); i++) {
+            mergeGeneratedOutput(sinks.get(i), generatedOutput, outputs.get(i));
         }
         return generatedOutput;
     }
 
+    private Map<String, IAttachable> runGenerator(AbstractGenerator sink, ProcessingState processingState) {
+        LOGGER.info("Run {}", sink.getWorkflowItemName());
+        return measure("generator", sink, processingState.getNumberOfArtifacts(),
+                () -> sink.produce(processingState), output -> null);
+    }
+
+    private void mergeGeneratedOutput(AbstractGenerator sink, Map<String, IAttachable> generatedOutput, Map<String, IAttachable> oneGeneratedOutput) {
+        warnIfKeysCollide(sink, generatedOutput, oneGeneratedOutput);
+        generatedOutput.putAll(oneGeneratedOutput);
+    }
+
     private void applyOutputPostHandler(Map<String, IAttachable> generatedOutput) {
         for (AbstractOutputHandler postSinksHook: postSinksHooks) {
-            postSinksHook.handle(generatedOutput);
+            measure("outputHandler", postSinksHook, null, () -> {
+                postSinksHook.handle(generatedOutput);
+                return null;
+            }, ignored -> null);
         }
     }
 
@@ -17,6 +17,7 @@ import org.eclipse.sw360.antenna.model.xml.generated.Workflow;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
 
@@ -28,6 +29,13 @@ public class AntennaWorkflowConfiguration {
     private final List<AbstractProcessor> processors;
     private final List<AbstractGenerator> generators;
     private final List<AbstractOutputHandler> outputHandlers;
+    private final int analyzerParallelism;
+    private final int processorParallelism;
+    private final int generatorParallelism;
+    private final boolean recordStepMetrics;
+    private final boolean incrementalExecution;
+    private final int artifactChunkSize;
+    private final Path antennaTargetDirectory;
 
     public AntennaWorkflowConfiguration(AntennaContext context) {
         LOGGER.debug("Initializing workflow configuration ...");
@@ -58,6 +66,14 @@ public class AntennaWorkflowConfiguration {
 
         outputHandlers = OutputHandlerFactory.getOutputHandlers(workflow, context);
 
+        analyzerParallelism = context.getToolConfiguration().getAnalyzerParallelism();
+        processorParallelism = context.getToolConfiguration().getProcessorParallelism();
+        generatorParallelism = context.getToolConfiguration().getGeneratorParallelism();
+        recordStepMetrics = context.getToolConfiguration().isRecordStepMetrics();
+        incrementalExecution = context.getToolConfiguration().isIncrementalExecution();
+        artifactChunkSize = context.getToolConfiguration().getArtifactChunkSize();
+        antennaTargetDirectory = context.getToolConfiguration().getAntennaTargetDirectory();
+
         LOGGER.debug("Initializing workflow configuration done");
     }
 
@@ -77,6 +93,34 @@ public class AntennaWorkflowConfiguration {
         return outputHandlers;
     }
 
+    public int getAnalyzerParallelism() {
+        return analyzerParallelism;
+    }
+
+    public int getProcessorParallelism() {
+        return processorParallelism;
+    }
+
+    public int getGeneratorParallelism() {
+        return generatorParallelism;
+    }
+
+    public boolean isRecordStepMetrics() {
+        return recordStepMetrics;
+    }
+
+    public boolean isIncrementalExecution() {
+        return incrementalExecution;
+    }
+
+    public int getArtifactChunkSize() {
+        return artifactChunkSize;
+    }
+
+    public Path getAntennaTargetDirectory() {
+        return antennaTargetDirectory;
+    }
+
     private void debugLogAndWarnOnDuplicateOrders(String nameOfSteps, List<? extends ConfigurableWorkflowItem> items) {
         LOGGER.debug("The calculated order of " + nameOfSteps + " is:");
         for (int i = 0; i < items.size() ; i++) {
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.workflow;
+
+import org.eclipse.sw360.antenna.api.workflow.AbstractProcessor;
+import org.eclipse.sw360.antenna.api.workflow.ArtifactFactDeclaration;
+import org.eclipse.sw360.antenna.api.workflow.ProcessingState;
+import org.eclipse.sw360.antenna.api.workflow.WorkflowStepResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+/**
+ * Executes the processors of a workflow according to the artifact facts they
+ * declare to read and write.
+ * <p>
+ * Consecutive processors that provide an {@link ArtifactFactDeclaration} form
+ * a batch. Within a batch a processor depends on every earlier processor whose
+ * declaration conflicts with its own, and it is started as soon as all of its
+ * dependencies are finished. Processors without declaration are executed on
+ * their own, after all earlier processors and before all later ones. The
+ * same holds for processors matching the given predicate, e.g. because their
+ * result replaces the artifacts of the state instead of updating them. The
+ * results of a batch are applied to the {@code ProcessingState} in workflow
+ * order once the whole batch has finished.
+ * <p>
+ * Processors of a batch that declare to write no facts, e.g. validators, get
+ * a read-only snapshot of the state taken when they are started, see
+ * {@link ProcessingState#createReadOnlySnapshot()}, instead of the live state
+ * that other processors of the batch modify concurrently. Since they cannot
+ * change the artifacts, only the attachments, report comments and fail
+ * causing results of their results are applied.
+ */
+class ProcessorScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProcessorScheduler.class);
+
+    private final List<AbstractProcessor> processors;
+    private final int parallelism;
+    private final Predicate<AbstractProcessor> runsAlone;
+
+    ProcessorScheduler(Collection<AbstractProcessor> processors, int parallelism) {
+        this(processors, parallelism, processor -> false);
+    }
+
+    ProcessorScheduler(Collection<AbstractProcessor> processors, int parallelism, Predicate<AbstractProcessor> runsAlone) {
+        this.processors = new ArrayList<>(processors);
+        this.parallelism = parallelism;
+        this.runsAlone = runsAlone;
+    }
+
+    void run(ProcessingState processingState, BiFunction<AbstractProcessor, ProcessingState, WorkflowStepResult> runner) {
+        try (WorkflowStepExecutor executor = new WorkflowStepExecutor("antenna-processor", parallelism)) {
+            List<AbstractProcessor> batch = new ArrayList<>();
+            for (AbstractProcessor processor : processors) {
+                if (processor.getArtifactFactDeclaration().isPresent() && !runsAlone.test(processor)) {
+                    batch.add(processor);
+                } else {
+                    runBatch(batch, processingState, runner, executor);
+                    batch.clear();
+                    processingState.applyWorkflowStepResult(runner.apply(processor, processingState));
+                }
+            }
+            runBatch(batch, processingState, runner, executor);
+        }
+    }
+
+    private void runBatch(List<AbstractProcessor> batch, ProcessingState processingState,
+                          BiFunction<AbstractProcessor, ProcessingState, WorkflowStepResult> runner,
+                          WorkflowStepExecutor executor) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (batch.size() == 1) {
+            processingState.applyWorkflowStepResult(runner.apply(batch.get(0), processingState));
+            return;
+        }
+
+        List<ArtifactFactDeclaration> declarations = new ArrayList<>(batch.size());
+        List<CompletableFuture<WorkflowStepResult>> futures = new ArrayList<>(batch.size());
+        for (AbstractProcessor processor : batch) {
+            ArtifactFactDeclaration declaration = processor.getArtifactFactDeclaration()
+                    .orElseThrow(IllegalStateException::new);
+            List<CompletableFuture<WorkflowStepResult>> dependencies = new ArrayList<>();
+            for (int i = 0; i < declarations.size(); i++) {
+                if (declarations.get(i).conflictsWith(declaration)) {
+                    dependencies.add(futures.get(i));
+                }
+            }
+            LOGGER.debug("Processor {} depends on {} earlier processor(s) of its batch",
+                    processor.getWorkflowItemName(), dependencies.size());
+
+            declarations.add(declaration);
+            futures.add(CompletableFuture.allOf(dependencies.toArray(new CompletableFuture[0]))
+                    .thenApplyAsync(ignored -> isReadOnly(declaration)
+                                    ? runReadOnly(processor, processingState, runner)
+                                    : runner.apply(processor, processingState),
+                            executor.getExecutorService()));
+        }
+
+        WorkflowStepExecutor.awaitAll(futures)
+                .forEach(processingState::applyWorkflowStepResult);
+    }
+
+    private static boolean isReadOnly(ArtifactFactDeclaration declaration) {
+        return declaration.getWrittenFacts().isEmpty();
+    }
+
+    private static WorkflowStepResult runReadOnly(AbstractProcessor processor, ProcessingState processingState,
+                                                  BiFunction<AbstractProcessor, ProcessingState, WorkflowStepResult> runner) {
+        WorkflowStepResult result = runner.apply(processor, processingState.createReadOnlySnapshot());
+
+        WorkflowStepResult withoutArtifacts = new WorkflowStepResult(Collections.emptySet(), true);
+        withoutArtifacts.attachAll(result.getAttachables());
+        result.getAdditionalReportComments().forEach(withoutArtifacts::addAdditionalReportComment);
+        Optional.ofNullable(result.getFailCausingResults())
+                .ifPresent(failCausingResults ->
+                        withoutArtifacts.addFailCausingResults(failCausingResults.getKey(), failCausingResults.getValue()));
+        return withoutArtifacts;
+    }
+}
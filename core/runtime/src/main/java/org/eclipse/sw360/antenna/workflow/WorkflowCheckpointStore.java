@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.workflow;
+
+import org.eclipse.sw360.antenna.api.IAttachable;
+import org.eclipse.sw360.antenna.api.workflow.AbstractProcessor;
+import org.eclipse.sw360.antenna.api.workflow.ConfigurableWorkflowItem;
+import org.eclipse.sw360.antenna.api.workflow.WorkflowStepResult;
+import org.eclipse.sw360.antenna.model.artifact.Artifact;
+import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactSourceFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Persists the results of workflow steps as checkpoints, so that a step can
+ * be skipped in a later run if its input did not change.
+ * <p>
+ * The input of a step is identified by a fingerprint, which is computed from
+ * the step implementation, its step configuration, the further inputs it
+ * names and the artifacts passed in. Every step has one checkpoint file holding the fingerprint and the
+ * Java serialized result of its last execution. A checkpoint is only used if
+ * its fingerprint equals the one of the current input and the source files
+ * its artifacts refer to still exist. Results which cannot
+ * be serialized, e.g. because they contain facts of other modules, and
+ * results with fail causing results are not stored, so the step is simply
+ * executed again in the next run.
+ */
+class WorkflowCheckpointStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkflowCheckpointStore.class);
+
+    static final String CHECKPOINT_DIRECTORY = "checkpoints";
+    private static final String CHECKPOINT_SUFFIX = ".checkpoint";
+    private static final String FORMAT_VERSION = "1";
+    private static final String FINGERPRINT_ALGORITHM = "SHA-256";
+
+    private final Path checkpointDirectory;
+
+    WorkflowCheckpointStore(Path antennaTargetDirectory) {
+        this.checkpointDirectory = antennaTargetDirectory.resolve(CHECKPOINT_DIRECTORY);
+    }
+
+    /**
+     * Computes the fingerprint of the input of a workflow step.
+     *
+     * @param item      the workflow step
+     * @param artifacts the artifacts passed to the step
+     * @return the hex encoded fingerprint
+     */
+    String fingerprint(AbstractProcessor item, Collection<Artifact> artifacts) {
+        MessageDigest digest = createDigest();
+        update(digest, FORMAT_VERSION);
+        update(digest, item.getClass().getName());
+        update(digest, String.valueOf(item.getClass().getPackage() != null
+                ? item.getClass().getPackage().getImplementationVersion()
+                : null));
+        update(digest, item.getWorkflowItemName());
+        new TreeMap<>(item.getConfigMap()).forEach((key, value) -> {
+            update(digest, key);
+            update(digest, String.valueOf(value));
+        });
+        new TreeMap<>(item.getCheckpointInputs()).forEach((key, value) -> {
+            update(digest, key);
+            update(digest, String.valueOf(value));
+        });
+        artifacts.stream()
+                .map(Artifact::prettyPrint)
+                .sorted()
+                .forEach(artifact -> update(digest, artifact));
+        return toHexString(digest.digest());
+    }
+
+    /**
+     * Loads the checkpoint of a workflow step if it was stored for the given
+     * fingerprint.
+     *
+     * @param item        the workflow step
+     * @param fingerprint the fingerprint of the current input of the step
+     * @return the stored result, or an empty {@code Optional} if there is no
+     * usable checkpoint
+     */
+    Optional<WorkflowStepResult> load(ConfigurableWorkflowItem item, String fingerprint) {
+        Path checkpointFile = getCheckpointFile(item);
+        if (!Files.isRegularFile(checkpointFile)) {
+            return Optional.empty();
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(checkpointFile)))) {
+            if (!fingerprint.equals(in.readUTF())) {
+                LOGGER.debug("Checkpoint of {} is outdated", item.getWorkflowItemName());
+                return Optional.empty();
+            }
+            WorkflowStepResult result = ((Checkpoint) in.readObject()).toWorkflowStepResult();
+            if (!sourceFilesExist(result)) {
+                LOGGER.debug("Checkpoint of {} refers to source files which do not exist anymore", item.getWorkflowItemName());
+                return Optional.empty();
+            }
+            return Optional.of(result);
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            LOGGER.debug("Checkpoint of {} could not be read, ignoring it", item.getWorkflowItemName(), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the result of a workflow step as its new checkpoint. Failures are
+     * only logged, as they do not affect the current run.
+     *
+     * @param item        the workflow step
+     * @param fingerprint the fingerprint of the input the result was computed for
+     * @param result      the result of the step
+     */
+    void store(ConfigurableWorkflowItem item, String fingerprint, WorkflowStepResult result) {
+        if (result == null || result.getFailCausingResults() != null) {
+            return;
+        }
+
+        byte[] serializedCheckpoint;
+        try {
+            serializedCheckpoint = serialize(fingerprint, new Checkpoint(result));
+        } catch (NotSerializableException e) {
+            LOGGER.debug("The result of {} cannot be stored as checkpoint, because {} is not serializable",
+                    item.getWorkflowItemName(), e.getMessage());
+            return;
+        } catch (IOException e) {
+            LOGGER.debug("The result of {} cannot be stored as checkpoint", item.getWorkflowItemName(), e);
+            return;
+        }
+
+        Path checkpointFile = getCheckpointFile(item);
+        try {
+            Files.createDirectories(checkpointDirectory);
+            Path tempFile = Files.createTempFile(checkpointDirectory, checkpointFile.getFileName().toString(), ".tmp");
+            try {
+                Files.write(tempFile, serializedCheckpoint);
+                Files.move(tempFile, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write checkpoint of {} to {}: {}", item.getWorkflowItemName(), checkpointFile, e.getMessage());
+        }
+    }
+
+    private static boolean sourceFilesExist(WorkflowStepResult result) {
+        return result.getArtifacts().stream()
+                .map(artifact -> artifact.askForAll(ArtifactSourceFile.class))
+                .flatMap(List::stream)
+                .map(ArtifactSourceFile::get)
+                .allMatch(Files::exists);
+    }
+
+    private Path getCheckpointFile(ConfigurableWorkflowItem item) {
+        String name = item.getWorkflowItemName().replaceAll("[^A-Za-z0-9._-]", "_");
+        return checkpointDirectory.resolve(name + CHECKPOINT_SUFFIX);
+    }
+
+    private static byte[] serialize(String fingerprint, Checkpoint checkpoint) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeUTF(fingerprint);
+            out.writeObject(checkpoint);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(FINGERPRINT_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // This cannot happen as every implementation of the Java platform must support this algorithm
+            throw new AssertionError(FINGERPRINT_ALGORITHM + " algorithm not supported");
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) ':');
+        digest.update(bytes);
+    }
+
+    private static String toHexString(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static final class Checkpoint implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final ArrayList<Artifact> artifacts;
+        private final boolean artifactsShouldBeAppended;
+        private final HashMap<String, IAttachable> attachables;
+        private final ArrayList<String> additionalReportComments;
+
+        Checkpoint(WorkflowStepResult result) {
+            this.artifacts = new ArrayList<>(result.getArtifacts());
+            this.artifactsShouldBeAppended = result.isArtifactsShouldBeAppended();
+            this.attachables = new HashMap<>(result.getAttachables());
+            this.additionalReportComments = new ArrayList<>(result.getAdditionalReportComments());
+        }
+
+        WorkflowStepResult toWorkflowStepResult() {
+            WorkflowStepResult result = new WorkflowStepResult(artifacts, artifactsShouldBeAppended);
+            result.attachAll(attachables);
+            additionalReportComments.forEach(result::addAdditionalReportComment);
+            return result;
+        }
+    }
+}
@@ -39,6 +39,7 @@ public abstract class WorkflowItemFactory {
             T instance = workflowitemClazz.newInstance();
             instance.setAntennaContext(context);
             instance.overrideStepOrder(stepOrderOveride);
+            instance.setConfigMap(workflowitemConfig);
             instance.configure(workflowitemConfig);
             LOGGER.debug("{} loaded and configured", name);
             return instance;
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.workflow;
+
+import org.eclipse.sw360.antenna.api.exceptions.ExecutionException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Executes independent workflow step invocations on a bounded thread pool.
+ * <p>
+ * The results are returned in the order of the passed in items, so that
+ * callers can merge them exactly as they would merge the results of a
+ * sequential run. If one of the invocations fails, the remaining ones are
+ * cancelled and the original exception is rethrown to the caller.
+ */
+public class WorkflowStepExecutor implements AutoCloseable {
+
+    private final ExecutorService executorService;
+
+    public WorkflowStepExecutor(String threadNamePrefix, int parallelism) {
+        this.executorService = Executors.newFixedThreadPool(Math.max(1, parallelism),
+                new NamedDaemonThreadFactory(threadNamePrefix));
+    }
+
+    /**
+     * Applies the given function to all items concurrently and waits for all
+     * of them to finish.
+     *
+     * @param items the items to process
+     * @param task  the function to apply to every item
+     * @param <T>   the type of the items
+     * @param <R>   the type of the results
+     * @return the results in the same order as the items
+     * @throws ExecutionException if an invocation failed with a checked
+     *                            exception or the current thread was interrupted
+     */
+    public <T, R> List<R> invokeAll(List<T> items, Function<T, R> task) {
+        List<Future<R>> futures = new ArrayList<>(items.size());
+        items.forEach(item -> futures.add(executorService.submit(() -> task.apply(item))));
+        return awaitAll(futures);
+    }
+
+    ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    static <R> List<R> awaitAll(List<? extends Future<R>> futures) {
+        List<R> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<R> future : futures) {
+                results.add(await(future));
+            }
+            return results;
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    static <R> R await(Future<R> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionException("Interrupted while waiting for workflow steps to finish", e);
+        } catch (java.util.concurrent.ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new ExecutionException("Workflow step failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        executorService.shutdownNow();
+    }
+
+    private static class NamedDaemonThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        NamedDaemonThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -15,8 +15,10 @@ import org.eclipse.sw360.antenna.api.IEvaluationResult;
 import org.eclipse.sw360.antenna.api.IPolicyEvaluation;
 import org.eclipse.sw360.antenna.api.IProcessingReporter;
 import org.eclipse.sw360.antenna.api.workflow.AbstractProcessor;
+import org.eclipse.sw360.antenna.api.workflow.ArtifactFactDeclaration;
 import org.eclipse.sw360.antenna.api.workflow.WorkflowStepResult;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactFact;
 import org.eclipse.sw360.antenna.model.reporting.MessageType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,6 +61,17 @@ public abstract class AbstractComplianceChecker extends AbstractProcessor {
         return pResult;
     }
 
+    /**
+     * Compliance checkers only evaluate the artifacts, they may read any fact
+     * but do not modify them.
+     */
+    @Override
+    public Optional<ArtifactFactDeclaration> getArtifactFactDeclaration() {
+        return Optional.of(new ArtifactFactDeclaration(
+                Collections.singleton(ArtifactFact.class),
+                Collections.emptySet()));
+    }
+
     @Override
     public void configure(Map<String, String> configMap) {
         failOn = getSeverityFromConfig(FAIL_ON_KEY, configMap, IEvaluationResult.Severity.FAIL);
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.xml;
+
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache of the JAXB and XML schema objects which are expensive
+ * to create.
+ * <p>
+ * A {@link JAXBContext} is created once per bound class and a {@link Schema}
+ * is compiled once per xsd URL, both are thread-safe and shared by all
+ * threads. As unmarshallers are not thread-safe, every thread gets its own
+ * unmarshaller per bound class, which it reuses for all documents.
+ */
+public final class XMLContextCache {
+    private static final Map<Class<?>, JAXBContext> CONTEXTS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ThreadLocal<Unmarshaller>> UNMARSHALLERS = new ConcurrentHashMap<>();
+    private static final Map<String, Schema> SCHEMAS = new ConcurrentHashMap<>();
+
+    private XMLContextCache() {
+        // only static methods
+    }
+
+    /**
+     * @param boundClass the class bound by the context
+     * @return the shared JAXB context of the class
+     * @throws JAXBException if the context cannot be created
+     */
+    public static JAXBContext getContext(Class<?> boundClass) throws JAXBException {
+        JAXBContext context = CONTEXTS.get(boundClass);
+        if (context == null) {
+            context = JAXBContext.newInstance(boundClass);
+            JAXBContext existingContext = CONTEXTS.putIfAbsent(boundClass, context);
+            if (existingContext != null) {
+                context = existingContext;
+            }
+        }
+        return context;
+    }
+
+    /**
+     * Returns the unmarshaller of the current thread for the given class. It
+     * must not be passed to other threads, and callers must not change its
+     * configuration.
+     *
+     * @param boundClass the class bound by the unmarshaller
+     * @return the unmarshaller of the current thread
+     * @throws JAXBException if the unmarshaller cannot be created
+     */
+    public static Unmarshaller getUnmarshaller(Class<?> boundClass) throws JAXBException {
+        ThreadLocal<Unmarshaller> unmarshallers = UNMARSHALLERS.computeIfAbsent(boundClass, c -> new ThreadLocal<>());
+        Unmarshaller unmarshaller = unmarshallers.get();
+        if (unmarshaller == null) {
+            unmarshaller = getContext(boundClass).createUnmarshaller();
+            unmarshallers.set(unmarshaller);
+        }
+        return unmarshaller;
+    }
+
+    /**
+     * @param xsdUrl the URL of the schema definition
+     * @return the shared compiled schema
+     * @throws SAXException if the schema definition cannot be compiled
+     */
+    public static Schema getSchema(URL xsdUrl) throws SAXException {
+        String key = xsdUrl.toExternalForm();
+        Schema schema = SCHEMAS.get(key);
+        if (schema == null) {
+            schema = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI).newSchema(xsdUrl);
+            Schema existingSchema = SCHEMAS.putIfAbsent(key, schema);
+            if (existingSchema != null) {
+                schema = existingSchema;
+            }
+        }
+        return schema;
+    }
+
+    /**
+     * Drops all cached objects, so that they are created again on their next
+     * use, e.g. to measure loading without cache.
+     */
+    public static void clear() {
+        CONTEXTS.clear();
+        UNMARSHALLERS.clear();
+        SCHEMAS.clear();
+    }
+}
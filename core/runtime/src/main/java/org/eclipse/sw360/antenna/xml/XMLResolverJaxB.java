@@ -15,13 +15,13 @@ import org.eclipse.sw360.antenna.api.IXMLResolver;
 import org.eclipse.sw360.antenna.api.exceptions.ConfigurationException;
 import org.eclipse.sw360.antenna.model.xml.generated.AntennaConfig;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.Charset;
 
 /**
@@ -44,13 +44,12 @@ public class XMLResolverJaxB implements IXMLResolver {
      */
     @Override
     public AntennaConfig resolveXML(File file){
-        try {
-            JAXBContext context = JAXBContext.newInstance(AntennaConfig.class);
-            Unmarshaller um = context.createUnmarshaller();
-            return (AntennaConfig) um.unmarshal(new InputStreamReader(new FileInputStream(file), encoding));
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), encoding)) {
+            Unmarshaller um = XMLContextCache.getUnmarshaller(AntennaConfig.class);
+            return (AntennaConfig) um.unmarshal(reader);
         } catch (JAXBException e) {
             throw new ConfigurationException("The config.xml could not be resolved.", e);
-        } catch (FileNotFoundException e) {
+        } catch (IOException e) {
             throw new ConfigurationException("Failed to read antenna config from file.", e);
         }
 
@@ -19,17 +19,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.SAXException;
 
-import javax.xml.XMLConstants;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
-import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 
 /**
- * Checks if given xml is suitable to the given xsd.
+ * Checks if given xml is suitable to the given xsd. The compiled schema of
+ * the xsd is shared via the {@link XMLContextCache}.
  */
 public class XMLValidator extends IXMLValidator {
     private static final Logger LOGGER = LoggerFactory.getLogger(XMLValidator.class);
@@ -48,9 +47,8 @@ public class XMLValidator extends IXMLValidator {
     public void validateXML(File xmlFile, URL xsdUrl) {
         Validate.notNull(xmlFile, "No URL to xml file provided!");
         if (xsdUrl != null) {
-            SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
             try {
-                Schema schema = factory.newSchema(xsdUrl);
+                Schema schema = XMLContextCache.getSchema(xsdUrl);
                 Validator validator = schema.newValidator();
 
                 StreamSource source = new StreamSource(xmlFile);
@@ -25,8 +25,11 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -69,6 +72,7 @@ public class MultipleConfigsResolverTest {
         verify(toolConfigMock, atLeast(0)).getConfigFileUris();
         verify(toolConfigMock, atLeast(0)).getEncoding();
         verify(toolConfigMock, atLeast(0)).getAntennaTargetDirectory();
+        verify(toolConfigMock, atLeast(0)).isIncrementalExecution();
     }
 
     @Test
@@ -107,6 +111,23 @@ public class MultipleConfigsResolverTest {
                 .isEqualTo(this.mergedConfigs.getValidForMissingSources());
     }
 
+    @Test
+    public void testValidatedConfigsAreRemembered() throws IOException {
+        Path targetDirectory = temporaryFolder.newFolder("incremental").toPath();
+        when(toolConfigMock.getAntennaTargetDirectory()).thenReturn(targetDirectory);
+        when(toolConfigMock.isIncrementalExecution()).thenReturn(true);
+
+        Configuration firstRun = new MultipleConfigsResolver().resolveConfigs(toolConfigMock, false);
+        Path validationCache = targetDirectory.resolve(MultipleConfigsResolver.VALIDATION_CACHE_DIRECTORY);
+        try (Stream<Path> markers = Files.list(validationCache)) {
+            assertThat(markers.count()).isEqualTo(2);
+        }
+
+        Configuration secondRun = new MultipleConfigsResolver().resolveConfigs(toolConfigMock, false);
+        assertThat(secondRun.getAddArtifact()).isEqualTo(firstRun.getAddArtifact());
+        assertThat(secondRun.getRemoveArtifact()).isEqualTo(firstRun.getRemoveArtifact());
+    }
+
     @Test
     public void testFailOn() {
         assertThat(this.mergedConfigs.isFailOnIncompleteSources()).isFalse();
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.configuration;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import org.eclipse.sw360.antenna.api.exceptions.ConfigurationException;
+import org.eclipse.sw360.antenna.http.HttpClientFactoryImpl;
+import org.eclipse.sw360.antenna.http.config.HttpClientConfig;
+import org.eclipse.sw360.antenna.http.utils.HttpConstants;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RemoteConfigCacheTest {
+    private static final String CONFIG_PATH = "/configs/antennaconf.xml";
+    private static final String CONFIG_CONTENT = "<config/>";
+    private static final String ETAG = "\"v1\"";
+    private static final String LAST_MODIFIED = "Wed, 21 Oct 2020 07:28:00 GMT";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Rule
+    public WireMockRule wireMockRule = new WireMockRule(options().dynamicPort());
+
+    private RemoteConfigCache cache;
+    private Path configFile;
+    private URI configUri;
+
+    @Before
+    public void setUp() throws IOException {
+        cache = new RemoteConfigCache(new HttpClientFactoryImpl().newHttpClient(HttpClientConfig.basicConfig()));
+        configFile = temporaryFolder.newFolder("target").toPath().resolve("config-test.xml");
+        configUri = URI.create(wireMockRule.url(CONFIG_PATH));
+    }
+
+    private void stubInitialDownload() {
+        wireMockRule.stubFor(get(urlPathEqualTo(CONFIG_PATH))
+                .withHeader("If-None-Match", absent())
+                .willReturn(aResponse().withStatus(HttpConstants.STATUS_OK)
+                        .withHeader("ETag", ETAG)
+                        .withHeader("Last-Modified", LAST_MODIFIED)
+                        .withBody(CONFIG_CONTENT)));
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void downloadedConfigIsRevalidatedWithItsETag() throws IOException {
+        stubInitialDownload();
+        wireMockRule.stubFor(get(urlPathEqualTo(CONFIG_PATH))
+                .withHeader("If-None-Match", equalTo(ETAG))
+                .willReturn(aResponse().withStatus(304)));
+
+        File firstFetch = cache.fetch(configUri, configFile);
+        File secondFetch = cache.fetch(configUri, configFile);
+
+        assertThat(read(firstFetch)).isEqualTo(CONFIG_CONTENT);
+        assertThat(secondFetch).isEqualTo(firstFetch);
+        assertThat(read(secondFetch)).isEqualTo(CONFIG_CONTENT);
+        wireMockRule.verify(getRequestedFor(urlPathEqualTo(CONFIG_PATH))
+                .withHeader("If-None-Match", equalTo(ETAG))
+                .withHeader("If-Modified-Since", equalTo(LAST_MODIFIED)));
+    }
+
+    @Test
+    public void modifiedConfigIsDownloadedAgain() throws IOException {
+        stubInitialDownload();
+        cache.fetch(configUri, configFile);
+        wireMockRule.stubFor(get(urlPathEqualTo(CONFIG_PATH))
+                .withHeader("If-None-Match", equalTo(ETAG))
+                .willReturn(aResponse().withStatus(HttpConstants.STATUS_OK)
+                        .withBody("<config version=\"2\"/>")));
+
+        File fetched = cache.fetch(configUri, configFile);
+
+        assertThat(read(fetched)).isEqualTo("<config version=\"2\"/>");
+        assertThat(read(RemoteConfigCache.getMetadataFile(configFile).toFile()))
+                .doesNotContain(RemoteConfigCache.ETAG_PROPERTY);
+    }
+
+    @Test
+    public void lastDownloadedConfigIsUsedIfTheHostFails() throws IOException {
+        stubInitialDownload();
+        cache.fetch(configUri, configFile);
+        wireMockRule.stubFor(get(urlPathEqualTo(CONFIG_PATH))
+                .withHeader("If-None-Match", equalTo(ETAG))
+                .willReturn(aResponse().withStatus(HttpConstants.STATUS_ERR_SERVER)));
+
+        File fetched = cache.fetch(configUri, configFile);
+
+        assertThat(read(fetched)).isEqualTo(CONFIG_CONTENT);
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void failingHostWithoutDownloadedConfigIsAnError() {
+        wireMockRule.stubFor(get(urlPathEqualTo(CONFIG_PATH))
+                .willReturn(aResponse().withStatus(HttpConstants.STATUS_ERR_NOT_FOUND)));
+
+        cache.fetch(configUri, configFile);
+    }
+}
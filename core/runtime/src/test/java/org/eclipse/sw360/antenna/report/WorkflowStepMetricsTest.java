@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.report;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.eclipse.sw360.antenna.api.IAttachable;
+import org.eclipse.sw360.antenna.api.service.ServiceFactory;
+import org.eclipse.sw360.antenna.api.workflow.ConfigurableWorkflowItem;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WorkflowStepMetricsTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ConfigurableWorkflowItem item = new ConfigurableWorkflowItem() {
+        @Override
+        public String getWorkflowItemName() {
+            return "test-step";
+        }
+    };
+
+    @Test
+    public void measureRecordsStepAndReturnsResult() {
+        WorkflowStepMetrics metrics = new WorkflowStepMetrics();
+
+        String result = metrics.measure("processor", item, 3, () -> "result", r -> 2);
+
+        assertThat(result).isEqualTo("result");
+        List<WorkflowStepMetrics.StepMetrics> steps = metrics.getSteps();
+        assertThat(steps).hasSize(1);
+        WorkflowStepMetrics.StepMetrics step = steps.get(0);
+        assertThat(step.getStage()).isEqualTo("processor");
+        assertThat(step.getName()).isEqualTo("test-step");
+        assertThat(step.getArtifactsIn()).isEqualTo(3);
+        assertThat(step.getArtifactsOut()).isEqualTo(2);
+        assertThat(step.getWallTimeNanos()).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    public void writeReportCreatesJsonAttachable() throws Exception {
+        WorkflowStepMetrics metrics = new WorkflowStepMetrics();
+        metrics.measure("generator", item, 1, () -> null, r -> null);
+
+        IAttachable attachable = metrics.writeReport(folder.getRoot().toPath());
+
+        assertThat(attachable.getType()).isEqualTo("json");
+        JsonNode report = ServiceFactory.getObjectMapper().readTree(attachable.getFile());
+        JsonNode step = report.get("steps").get(0);
+        assertThat(step.get("name").asText()).isEqualTo("test-step");
+        assertThat(step.get("stage").asText()).isEqualTo("generator");
+        assertThat(step.has("artifactsOut")).isFalse();
+    }
+}
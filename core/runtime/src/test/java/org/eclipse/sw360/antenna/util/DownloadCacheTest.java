@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.util;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DownloadCacheTest {
+    private static final String CONTENT = "cached content";
+    private static final String OTHER_SHA1 = "2a4f5a4a3a0b06a1b0e9e6e3a9d2d5e1d1e1c7a3";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private DownloadCache cache;
+    private Path cacheDirectory;
+
+    @Before
+    public void setUp() throws IOException {
+        cacheDirectory = temporaryFolder.newFolder("cache").toPath();
+        cache = new DownloadCache(cacheDirectory);
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void storedFileCanBeLinkedByChecksumAndKey() throws IOException {
+        Path source = temporaryFolder.newFile("source.jar").toPath();
+        Files.write(source, CONTENT.getBytes(StandardCharsets.UTF_8));
+        Path targetDirectory = temporaryFolder.newFolder("target").toPath();
+
+        String sha1 = cache.storeFile(source, "org.example:library:1.0");
+
+        assertThat(Files.isRegularFile(cache.getContentFile(sha1))).isTrue();
+        assertThat(cache.linkByChecksum(sha1.toUpperCase(), targetDirectory.resolve("a.jar"))).isPresent();
+        assertThat(cache.linkByKey("org.example:library:1.0", targetDirectory.resolve("b.jar"))).isPresent();
+        assertThat(read(targetDirectory.resolve("a.jar"))).isEqualTo(CONTENT);
+        assertThat(read(targetDirectory.resolve("b.jar"))).isEqualTo(CONTENT);
+    }
+
+    @Test
+    public void unknownFilesAreNotFound() throws IOException {
+        Path target = temporaryFolder.getRoot().toPath().resolve("target.jar");
+
+        assertThat(cache.linkByChecksum(OTHER_SHA1, target)).isEmpty();
+        assertThat(cache.linkByChecksum("not a checksum", target)).isEmpty();
+        assertThat(cache.linkByKey("org.example:library:1.0", target)).isEmpty();
+        assertThat(Files.exists(target)).isFalse();
+    }
+
+    @Test
+    public void contentWithWrongChecksumIsNotCached() throws IOException {
+        Path target = temporaryFolder.getRoot().toPath().resolve("target.jar");
+
+        assertThatThrownBy(() -> cache.store(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)),
+                OTHER_SHA1, "key", target))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining(OTHER_SHA1);
+
+        assertThat(Files.exists(target)).isFalse();
+        assertThat(cache.linkByKey("key", target)).isEmpty();
+        try (Stream<Path> files = Files.walk(cacheDirectory)) {
+            assertThat(files.filter(Files::isRegularFile)).isEmpty();
+        }
+    }
+
+    @Test
+    public void discardedPendingFileIsNotCached() throws IOException {
+        DownloadCache.PendingFile pendingFile =
+                cache.prepare(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)), "library.jar");
+
+        cache.discard(pendingFile);
+
+        try (Stream<Path> files = Files.walk(cacheDirectory)) {
+            assertThat(files.filter(Files::isRegularFile)).isEmpty();
+        }
+    }
+
+    @Test
+    public void checksumIsTakenFromTheStartOfChecksumFiles() {
+        assertThat(DownloadCache.normalizeChecksum(OTHER_SHA1.toUpperCase() + "  library-1.0.jar\n"))
+                .hasValue(OTHER_SHA1);
+        assertThat(DownloadCache.normalizeChecksum("<html>Not found</html>")).isEmpty();
+        assertThat(DownloadCache.normalizeChecksum(null)).isEmpty();
+    }
+}
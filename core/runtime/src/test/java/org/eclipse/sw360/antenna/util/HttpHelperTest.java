@@ -27,13 +27,16 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Optional;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @RunWith(MockitoJUnitRunner.class)
 public class HttpHelperTest {
@@ -41,6 +44,7 @@ public class HttpHelperTest {
     private static final String FILE_NAME = "archive.zip";
     private static final String FILE_PATH = "/test/downloads";
     private static final String FILE_REQUEST = FILE_PATH + "/" + FILE_NAME;
+    private static final String TEST_CONTENT_SHA1 = "8f8b7431c52d1ca10ed9e7f6c0fa51ae9d670eeb";
 
     @Rule
     public TemporaryFolder temporaryFolder = new TemporaryFolder();
@@ -105,4 +109,94 @@ public class HttpHelperTest {
 
         httpHelper.downloadFile(wireMockRule.url("/test"), targetDirectory);
     }
+
+    private HttpHelper createCachingHelper() throws IOException {
+        DownloadCache downloadCache = new DownloadCache(temporaryFolder.newFolder("cache").toPath());
+        return new HttpHelper(new HttpClientFactoryImpl().newHttpClient(HttpClientConfig.basicConfig()),
+                Optional.of(downloadCache));
+    }
+
+    @Test
+    public void downloadedFileIsCachedAfterVerifyingItsChecksum() throws IOException {
+        wireMockRule.stubFor(get(urlPathEqualTo(FILE_REQUEST))
+                .willReturn(aResponse().withStatus(HttpConstants.STATUS_OK)
+                        .withBody(TEST_CONTENT)));
+        wireMockRule.stubFor(get(urlPathEqualTo(FILE_REQUEST + ".sha1"))
+                .willReturn(aResponse().withStatus(HttpConstants.STATUS_OK)
+                        .withBody(TEST_CONTENT_SHA1 + "  " + FILE_NAME)));
+        DownloadCache downloadCache = new DownloadCache(temporaryFolder.newFolder("cache").toPath());
+        HttpHelper cachingHelper = new HttpHelper(new HttpClientFactoryImpl().newHttpClient(HttpClientConfig.basicConfig()),
+                Optional.of(downloadCache));
+        Path firstTarget = temporaryFolder.newFolder("first").toPath();
+        Path secondTarget = temporaryFolder.newFolder("second").toPath();
+
+        checkDownloadedFile(firstTarget, cachingHelper.downloadFile(wireMockRule.url(FILE_REQUEST), firstTarget,
+                FILE_NAME, "key").toPath());
+
+        wireMockRule.verify(1, getRequestedFor(urlPathEqualTo(FILE_REQUEST + ".sha1")));
+        checkDownloadedFile(secondTarget, downloadCache.linkByChecksum(TEST_CONTENT_SHA1,
+                secondTarget.resolve(FILE_NAME)).get().toPath());
+    }
+
+    @Test
+    public void missingFileCostsASingleRequest() throws IOException {
+        wireMockRule.stubFor(get(urlPathEqualTo(FILE_REQUEST))
+                .willReturn(aResponse().withStatus(HttpConstants.STATUS_ERR_NOT_FOUND)));
+        HttpHelper cachingHelper = createCachingHelper();
+        Path targetDirectory = temporaryFolder.newFolder("target").toPath();
+
+        assertThatThrownBy(() -> cachingHelper.downloadFile(wireMockRule.url(FILE_REQUEST), targetDirectory,
+                FILE_NAME, "key"))
+                .isInstanceOf(IOException.class);
+
+        assertThat(wireMockRule.getAllServeEvents()).hasSize(1);
+        assertThat(targetDirectory.toFile().list()).isEmpty();
+    }
+
+    @Test
+    public void cachedFileIsFoundByItsKeyWithoutRequests() throws IOException {
+        wireMockRule.stubFor(get(urlPathEqualTo(FILE_REQUEST))
+                .willReturn(aResponse().withStatus(HttpConstants.STATUS_OK)
+                        .withBody(TEST_CONTENT)));
+        HttpHelper cachingHelper = createCachingHelper();
+        Path firstTarget = temporaryFolder.newFolder("first").toPath();
+        Path secondTarget = temporaryFolder.newFolder("second").toPath();
+
+        cachingHelper.downloadFile(wireMockRule.url(FILE_REQUEST), firstTarget, FILE_NAME, "key");
+        wireMockRule.resetRequests();
+        Path resultFile = cachingHelper.downloadFile(wireMockRule.url(FILE_REQUEST), secondTarget, FILE_NAME, "key")
+                .toPath();
+
+        checkDownloadedFile(secondTarget, resultFile);
+        assertThat(wireMockRule.getAllServeEvents()).isEmpty();
+    }
+
+    @Test(expected = IOException.class)
+    public void downloadWithWrongChecksumIsRejected() throws IOException {
+        wireMockRule.stubFor(get(urlPathEqualTo(FILE_REQUEST))
+                .willReturn(aResponse().withStatus(HttpConstants.STATUS_OK)
+                        .withBody(TEST_CONTENT)));
+        wireMockRule.stubFor(get(urlPathEqualTo(FILE_REQUEST + ".sha1"))
+                .willReturn(aResponse().withStatus(HttpConstants.STATUS_OK)
+                        .withBody("0000000000000000000000000000000000000000")));
+        Path targetDirectory = temporaryFolder.newFolder("target").toPath();
+
+        createCachingHelper().downloadFile(wireMockRule.url(FILE_REQUEST), targetDirectory, FILE_NAME, "key");
+    }
+
+    @Test
+    public void filesWithoutKeyBypassTheCache() throws IOException {
+        wireMockRule.stubFor(get(urlPathEqualTo(FILE_REQUEST))
+                .willReturn(aResponse().withStatus(HttpConstants.STATUS_OK)
+                        .withBody(TEST_CONTENT)));
+        HttpHelper cachingHelper = createCachingHelper();
+        Path firstTarget = temporaryFolder.newFolder("first").toPath();
+        Path secondTarget = temporaryFolder.newFolder("second").toPath();
+
+        checkDownloadedFile(firstTarget, cachingHelper.downloadFile(wireMockRule.url(FILE_REQUEST), firstTarget).toPath());
+        checkDownloadedFile(secondTarget, cachingHelper.downloadFile(wireMockRule.url(FILE_REQUEST), secondTarget).toPath());
+
+        wireMockRule.verify(2, getRequestedFor(urlPathEqualTo(FILE_REQUEST)));
+        wireMockRule.verify(0, getRequestedFor(urlPathEqualTo(FILE_REQUEST + ".sha1")));
+    }
 }
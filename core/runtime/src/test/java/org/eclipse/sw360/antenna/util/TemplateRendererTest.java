@@ -220,6 +220,56 @@ public class TemplateRendererTest {
         assertThat(result).contains("<test" + propertyWithDotValue + ">" + propertyWithDotValue + "</test" + propertyWithDotValue + ">");
     }
 
+    @Test
+    public void testRenderTemplateFileInSinglePassEqualsTwoStageRendering() throws IOException {
+        File file = composeTemplateXmlToFile(properties1and3);
+        TemplateRenderer singlePassRenderer = new TemplateRenderer(new HashMap<>(properties2),
+                TemplateRenderer.RenderMode.SINGLE_PASS);
+
+        String result = singlePassRenderer.renderTemplateFile(file);
+
+        assertThat(result).isEqualTo(mkTemplateRendererWithPropertiesMap(properties2).renderTemplateFile(file));
+        assertThat(result).contains("<test" + property1key + ">" + property1value + "</test" + property1key + ">");
+        assertThat(result).contains("<test" + property2key + ">" + property2value + "</test" + property2key + ">");
+    }
+
+    @Test
+    public void testRenderTemplateFileInSinglePassWithoutProperties() throws IOException {
+        File file = composeTemplateXmlToFile();
+        TemplateRenderer singlePassRenderer = new TemplateRenderer(new HashMap<>(properties1),
+                TemplateRenderer.RenderMode.SINGLE_PASS);
+
+        String result = singlePassRenderer.renderTemplateFile(file);
+
+        assertThat(result).contains("<test" + property1key + ">" + property1value + "</test" + property1key + ">");
+        assertThat(result).contains("$" + property2key);
+    }
+
+    @Test
+    public void testRenderTemplateFileInSinglePassFallsBackIfPropertiesCannotBeSplit() throws IOException {
+        String innerTemplate = "#if( true )\n" + addPropertiesToTemplate(exampleInnerTemplate, properties1) + "\n#end";
+        File file = writeTemplateFromString(wrapTemplateXml(innerTemplate));
+        TemplateRenderer singlePassRenderer = new TemplateRenderer(new HashMap<>(),
+                TemplateRenderer.RenderMode.SINGLE_PASS);
+
+        String result = singlePassRenderer.renderTemplateFile(file);
+
+        assertThat(result).doesNotContain("${" + property1key + "}");
+        assertThat(result).contains("<test" + property1key + ">" + property1value + "</test" + property1key + ">");
+    }
+
+    @Test
+    public void testRenderTemplateFileRendersModifiedTemplate() throws IOException {
+        File file = composeTemplateXmlToFile();
+        assertThat(tr.renderTemplateFile(file)).isEqualTo(composeTemplateXml());
+
+        Files.write(file.toPath(), composeTemplateXml(properties1).getBytes(StandardCharsets.UTF_8));
+        assertThat(file.setLastModified(file.lastModified() + 1000)).isTrue();
+
+        assertThat(tr.renderTemplateFile(file))
+                .contains("<test" + property1key + ">" + property1value + "</test" + property1key + ">");
+    }
+
     @Test(expected = ExecutionException.class)
     public void testRenderTemplateFileShouldNotReturnInvalidXmlIfTemplateWasInvalid() throws IOException {
         String invalidXmlTemplate = "<invalid xml";
@@ -14,8 +14,11 @@ import org.eclipse.sw360.antenna.api.IAttachable;
 import org.eclipse.sw360.antenna.api.IEvaluationResult;
 import org.eclipse.sw360.antenna.api.exceptions.ExecutionException;
 import org.eclipse.sw360.antenna.api.workflow.AbstractAnalyzer;
+import org.eclipse.sw360.antenna.api.workflow.AbstractGenerator;
+import org.eclipse.sw360.antenna.api.workflow.ProcessingState;
 import org.eclipse.sw360.antenna.api.workflow.WorkflowStepResult;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
+import org.eclipse.sw360.antenna.report.WorkflowStepMetrics;
 import org.eclipse.sw360.antenna.testing.AntennaTestWithMockedContext;
 /*
  * Copyright (c) Bosch.IO GmbH 2021.
@@ -29,12 +32,18 @@ import org.eclipse.sw360.antenna.testing.AntennaTestWithMockedContext;
  */
 import org.eclipse.sw360.antenna.workflow.stubs.DefaultPolicyEvaluation;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class AntennaWorkflowTest extends AntennaTestWithMockedContext {
@@ -46,8 +55,12 @@ public class AntennaWorkflowTest extends AntennaTestWithMockedContext {
      * @param analyzer Analyzer to be returned by the getAnalyzers method
      */
     private void createAntennaWFConfigMock(DummyAnalyzer analyzer) {
+        createAntennaWFConfigMock(Collections.singletonList(analyzer));
+    }
+
+    private void createAntennaWFConfigMock(List<AbstractAnalyzer> analyzers) {
         antennaWFConfigMock = mock(AntennaWorkflowConfiguration.class);
-        when(antennaWFConfigMock.getAnalyzers()).thenReturn(Collections.singleton(analyzer));
+        when(antennaWFConfigMock.getAnalyzers()).thenReturn(analyzers);
         when(antennaWFConfigMock.getProcessors()).thenReturn(Collections.emptySet());
         when(antennaWFConfigMock.getGenerators()).thenReturn(Collections.emptySet());
         when(antennaWFConfigMock.getOutputHandlers()).thenReturn(Collections.emptyList());
@@ -82,6 +95,88 @@ public class AntennaWorkflowTest extends AntennaTestWithMockedContext {
         assertThat(result).isEmpty();
     }
 
+    @Test
+    public void analyzersRunConcurrentlyWhenParallelismIsConfigured() {
+        Artifact first = new Artifact("first");
+        Artifact second = new Artifact("second");
+        createAntennaWFConfigMock(Arrays.asList(
+                analyzerYielding(first, "first-attachment"),
+                analyzerYielding(second, "second-attachment")));
+        when(antennaWFConfigMock.getAnalyzerParallelism()).thenReturn(2);
+
+        AntennaWorkflow workflow = new AntennaWorkflow(antennaWFConfigMock);
+
+        Map<String, IAttachable> result = workflow.execute();
+        assertThat(result).containsOnlyKeys("first-attachment", "second-attachment");
+    }
+
+    @Test (expected = ExecutionException.class)
+    public void failingAnalyzerBreaksConcurrentRun() {
+        DummyAnalyzer failingAnalyzer = mock(DummyAnalyzer.class);
+        when(failingAnalyzer.yield()).thenThrow(new ExecutionException("analyzer failed"));
+        when(failingAnalyzer.getWorkflowItemName()).thenReturn("failing");
+        createAntennaWFConfigMock(Arrays.asList(
+                analyzerYielding(new Artifact("first"), "first-attachment"),
+                failingAnalyzer));
+        when(antennaWFConfigMock.getAnalyzerParallelism()).thenReturn(2);
+
+        AntennaWorkflow workflow = new AntennaWorkflow(antennaWFConfigMock);
+
+        workflow.execute();
+    }
+
+    @Test
+    public void generatorsRunConcurrentlyOnReadOnlySnapshot() {
+        createAntennaWFConfigMock(Collections.singletonList(analyzerYielding(new Artifact("first"), "analyzer")));
+        IAttachable firstOutput = mock(IAttachable.class);
+        IAttachable secondOutput = mock(IAttachable.class);
+        AbstractGenerator first = generatorProducing(Collections.singletonMap("report", firstOutput));
+        AbstractGenerator second = generatorProducing(Collections.singletonMap("report", secondOutput));
+        when(antennaWFConfigMock.getGenerators()).thenReturn(Arrays.asList(first, second));
+        when(antennaWFConfigMock.getGeneratorParallelism()).thenReturn(2);
+
+        AntennaWorkflow workflow = new AntennaWorkflow(antennaWFConfigMock);
+
+        Map<String, IAttachable> result = workflow.execute();
+        assertThat(result).containsEntry("report", secondOutput);
+
+        ArgumentCaptor<ProcessingState> stateCaptor = ArgumentCaptor.forClass(ProcessingState.class);
+        verify(first).produce(stateCaptor.capture());
+        assertThatThrownBy(() -> stateCaptor.getValue().getArtifacts().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(stateCaptor.getValue().isReadOnly()).isTrue();
+        assertThat(stateCaptor.getValue().getArtifacts()).allMatch(Artifact::isFrozen);
+    }
+
+    @Test
+    public void stepMetricsAreAttachedWhenRecordingIsEnabled() throws Exception {
+        createAntennaWFConfigMock(Collections.singletonList(analyzerYielding(new Artifact("first"), "analyzer")));
+        when(antennaWFConfigMock.isRecordStepMetrics()).thenReturn(true);
+        when(antennaWFConfigMock.getAntennaTargetDirectory()).thenReturn(temporaryFolder.newFolder("antenna").toPath());
+
+        AntennaWorkflow workflow = new AntennaWorkflow(antennaWFConfigMock);
+
+        Map<String, IAttachable> result = workflow.execute();
+        assertThat(result).containsKey(WorkflowStepMetrics.IDENTIFIER);
+        assertThat(result.get(WorkflowStepMetrics.IDENTIFIER).getFile()).exists();
+    }
+
+    private AbstractGenerator generatorProducing(Map<String, IAttachable> output) {
+        AbstractGenerator generator = mock(AbstractGenerator.class);
+        when(generator.produce(any(ProcessingState.class))).thenReturn(output);
+        when(generator.getWorkflowItemName()).thenReturn("generator");
+        return generator;
+    }
+
+    private DummyAnalyzer analyzerYielding(Artifact artifact, String attachmentKey) {
+        DummyAnalyzer analyzer = mock(DummyAnalyzer.class);
+        WorkflowStepResult workflowStepResult = new WorkflowStepResult(Collections.singleton(artifact), true);
+        workflowStepResult.attach(attachmentKey, mock(IAttachable.class));
+        when(analyzer.yield()).thenReturn(workflowStepResult);
+        when(analyzer.getWorkflowItemName()).thenReturn(attachmentKey);
+        return analyzer;
+    }
+
     /**
      * Dummy class to create a dummy analyzer usable
      * for mocking purposes.
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.workflow;
+
+import org.eclipse.sw360.antenna.api.workflow.AbstractProcessor;
+import org.eclipse.sw360.antenna.api.workflow.ArtifactFactDeclaration;
+import org.eclipse.sw360.antenna.api.workflow.ProcessingState;
+import org.eclipse.sw360.antenna.api.workflow.WorkflowStepResult;
+import org.eclipse.sw360.antenna.model.artifact.Artifact;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactFact;
+import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactFile;
+import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactSourceFile;
+import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactSourceUrl;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProcessorSchedulerTest {
+
+    private final List<String> executionLog = Collections.synchronizedList(new ArrayList<>());
+
+    private ProcessingState createProcessingState() {
+        return new ProcessingState(Collections.singleton(
+                new WorkflowStepResult(Collections.singleton(new Artifact("test")), true)));
+    }
+
+    private void runScheduler(AbstractProcessor... processors) {
+        ProcessingState processingState = createProcessingState();
+        new ProcessorScheduler(Arrays.asList(processors), 4)
+                .run(processingState, (processor, state) -> processor.process(state));
+    }
+
+    @Test
+    public void nonConflictingProcessorsRunConcurrently() {
+        CountDownLatch latch = new CountDownLatch(2);
+        DeclaredProcessor first = new DeclaredProcessor("first", ArtifactFile.class, ArtifactSourceUrl.class, latch);
+        DeclaredProcessor second = new DeclaredProcessor("second", ArtifactFile.class, ArtifactSourceFile.class, latch);
+
+        runScheduler(first, second);
+
+        assertThat(first.sawOtherProcessorRunning).isTrue();
+        assertThat(second.sawOtherProcessorRunning).isTrue();
+        assertThat(executionLog).containsExactlyInAnyOrder("first", "second");
+    }
+
+    @Test
+    public void conflictingProcessorsKeepWorkflowOrder() {
+        DeclaredProcessor writer = new DeclaredProcessor("writer", ArtifactFile.class, ArtifactSourceUrl.class, null);
+        DeclaredProcessor reader = new DeclaredProcessor("reader", ArtifactFact.class, ArtifactSourceFile.class, null);
+
+        runScheduler(writer, reader);
+
+        assertThat(executionLog).containsExactly("writer", "reader");
+    }
+
+    @Test
+    public void undeclaredProcessorsAreBarriers() {
+        DeclaredProcessor first = new DeclaredProcessor("first", ArtifactFile.class, ArtifactSourceUrl.class, null);
+        UndeclaredProcessor barrier = new UndeclaredProcessor("barrier");
+        DeclaredProcessor last = new DeclaredProcessor("last", ArtifactFile.class, ArtifactSourceFile.class, null);
+
+        runScheduler(first, barrier, last);
+
+        assertThat(executionLog).containsExactly("first", "barrier", "last");
+    }
+
+    @Test
+    public void readOnlyProcessorsOfABatchGetAFrozenSnapshot() {
+        DeclaredProcessor writer = new DeclaredProcessor("writer", ArtifactFile.class, ArtifactSourceUrl.class, null);
+        ReadOnlyProcessor validator = new ReadOnlyProcessor("validator");
+
+        Map<AbstractProcessor, ProcessingState> passedStates = new ConcurrentHashMap<>();
+
+        ProcessingState processingState = createProcessingState();
+        new ProcessorScheduler(Arrays.asList(writer, validator), 4)
+                .run(processingState, (processor, state) -> {
+                    passedStates.put(processor, state);
+                    return processor.process(state);
+                });
+
+        assertThat(executionLog).containsExactly("writer", "validator");
+        assertThat(passedStates.get(writer)).isSameAs(processingState);
+        assertThat(passedStates.get(validator).isReadOnly()).isTrue();
+        assertThat(validator.sawFrozenArtifacts).isTrue();
+        assertThat(processingState.getArtifacts())
+                .hasSize(1)
+                .noneMatch(Artifact::isFrozen);
+    }
+
+    private class UndeclaredProcessor extends AbstractProcessor {
+        private final String name;
+
+        UndeclaredProcessor(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Collection<Artifact> process(Collection<Artifact> intermediates) {
+            executionLog.add(name);
+            return intermediates;
+        }
+    }
+
+    private class DeclaredProcessor extends UndeclaredProcessor {
+        private final ArtifactFactDeclaration declaration;
+        private final CountDownLatch latch;
+        private boolean sawOtherProcessorRunning;
+
+        DeclaredProcessor(String name, Class<? extends ArtifactFact> read, Class<? extends ArtifactFact> written,
+                          CountDownLatch latch) {
+            super(name);
+            this.declaration = new ArtifactFactDeclaration(Collections.singleton(read), Collections.singleton(written));
+            this.latch = latch;
+        }
+
+        @Override
+        public Collection<Artifact> process(Collection<Artifact> intermediates) {
+            if (latch != null) {
+                latch.countDown();
+                try {
+                    sawOtherProcessorRunning = latch.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return super.process(intermediates);
+        }
+
+        @Override
+        public Optional<ArtifactFactDeclaration> getArtifactFactDeclaration() {
+            return Optional.of(declaration);
+        }
+    }
+
+    private class ReadOnlyProcessor extends UndeclaredProcessor {
+        private boolean sawFrozenArtifacts;
+
+        ReadOnlyProcessor(String name) {
+            super(name);
+        }
+
+        @Override
+        public Collection<Artifact> process(Collection<Artifact> intermediates) {
+            sawFrozenArtifacts = !intermediates.isEmpty() && intermediates.stream().allMatch(Artifact::isFrozen);
+            super.process(intermediates);
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Optional<ArtifactFactDeclaration> getArtifactFactDeclaration() {
+            return Optional.of(new ArtifactFactDeclaration(
+                    Collections.singleton(ArtifactFact.class), Collections.emptySet()));
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.workflow;
+
+import org.eclipse.sw360.antenna.api.workflow.AbstractProcessor;
+import org.eclipse.sw360.antenna.api.workflow.WorkflowStepResult;
+import org.eclipse.sw360.antenna.model.artifact.Artifact;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactCoordinates;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactFact;
+import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactFile;
+import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactSourceFile;
+import org.eclipse.sw360.antenna.model.artifact.facts.DeclaredLicenseInformation;
+import org.eclipse.sw360.antenna.model.artifact.facts.java.ArtifactJar;
+import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
+import org.eclipse.sw360.antenna.model.license.License;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WorkflowCheckpointStoreTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private WorkflowCheckpointStore store;
+    private TestProcessor processor;
+    private Artifact artifact;
+
+    @Before
+    public void setUp() {
+        store = new WorkflowCheckpointStore(folder.getRoot().toPath());
+        processor = new TestProcessor();
+        processor.setConfigMap(Collections.singletonMap("key", "value"));
+
+        License license = new License();
+        license.setId("EPL-2.0");
+        artifact = new Artifact("test")
+                .addFact(new ArtifactCoordinates(new Coordinate(Coordinate.Types.MAVEN, "org.example", "test", "1.0")))
+                .addFact(new ArtifactJar(Paths.get("lib", "test-1.0.jar")))
+                .addFact(new DeclaredLicenseInformation(license))
+                .setProprietary(false);
+    }
+
+    @Test
+    public void storedResultIsLoadedForSameFingerprint() {
+        String fingerprint = store.fingerprint(processor, Collections.singleton(artifact));
+        WorkflowStepResult result = new WorkflowStepResult(Collections.singleton(artifact));
+        result.addAdditionalReportComment("comment");
+
+        store.store(processor, fingerprint, result);
+        Optional<WorkflowStepResult> checkpoint = store.load(processor, fingerprint);
+
+        assertThat(checkpoint).isPresent();
+        assertThat(checkpoint.get().getArtifacts()).containsExactly(artifact);
+        assertThat(checkpoint.get().getArtifacts().iterator().next().askFor(ArtifactFile.class))
+                .containsInstanceOf(ArtifactJar.class);
+        assertThat(checkpoint.get().getAdditionalReportComments()).containsExactly("comment");
+        assertThat(checkpoint.get().isArtifactsShouldBeAppended()).isFalse();
+    }
+
+    @Test
+    public void checkpointIsIgnoredForChangedInput() {
+        String fingerprint = store.fingerprint(processor, Collections.singleton(artifact));
+        store.store(processor, fingerprint, new WorkflowStepResult(Collections.singleton(artifact)));
+
+        Artifact changedArtifact = new Artifact("test")
+                .addFact(new ArtifactCoordinates(new Coordinate(Coordinate.Types.MAVEN, "org.example", "test", "2.0")));
+        String changedFingerprint = store.fingerprint(processor, Collections.singleton(changedArtifact));
+
+        assertThat(changedFingerprint).isNotEqualTo(fingerprint);
+        assertThat(store.load(processor, changedFingerprint)).isEmpty();
+    }
+
+    @Test
+    public void fingerprintDependsOnConfiguration() {
+        String fingerprint = store.fingerprint(processor, Collections.singleton(artifact));
+
+        processor.setConfigMap(Collections.singletonMap("key", "other value"));
+
+        assertThat(store.fingerprint(processor, Collections.singleton(artifact))).isNotEqualTo(fingerprint);
+    }
+
+    @Test
+    public void fingerprintDependsOnCheckpointInputs() {
+        String fingerprint = store.fingerprint(processor, Collections.singleton(artifact));
+
+        processor.checkpointInputs = Collections.singletonMap("dependenciesDirectory", "other");
+
+        assertThat(store.fingerprint(processor, Collections.singleton(artifact))).isNotEqualTo(fingerprint);
+    }
+
+    @Test
+    public void checkpointIsIgnoredIfSourceFilesAreMissing() throws IOException {
+        Path sourceFile = folder.newFile("test-1.0-sources.jar").toPath();
+        artifact.addFact(new ArtifactSourceFile(sourceFile));
+        String fingerprint = store.fingerprint(processor, Collections.singleton(artifact));
+        store.store(processor, fingerprint, new WorkflowStepResult(Collections.singleton(artifact)));
+        assertThat(store.load(processor, fingerprint)).isPresent();
+
+        Files.delete(sourceFile);
+
+        assertThat(store.load(processor, fingerprint)).isEmpty();
+    }
+
+    @Test
+    public void resultsWhichCannotBeSerializedAreNotStored() {
+        Artifact artifactWithForeignFact = new Artifact("test").addFact(new NotSerializableFact());
+        String fingerprint = store.fingerprint(processor, Collections.singleton(artifactWithForeignFact));
+
+        store.store(processor, fingerprint, new WorkflowStepResult(Collections.singleton(artifactWithForeignFact)));
+
+        assertThat(store.load(processor, fingerprint)).isEmpty();
+        assertThat(folder.getRoot().toPath().resolve(WorkflowCheckpointStore.CHECKPOINT_DIRECTORY)).doesNotExist();
+    }
+
+    @Test
+    public void resultsWithFailCausingResultsAreNotStored() {
+        String fingerprint = store.fingerprint(processor, Collections.singleton(artifact));
+        WorkflowStepResult result = new WorkflowStepResult(Collections.singleton(artifact));
+        result.addFailCausingResults(processor.getWorkflowItemName(), Collections.emptySet());
+
+        store.store(processor, fingerprint, result);
+
+        assertThat(store.load(processor, fingerprint)).isEmpty();
+    }
+
+    private static class TestProcessor extends AbstractProcessor {
+        private Map<String, String> checkpointInputs = Collections.emptyMap();
+
+        @Override
+        public Map<String, String> getCheckpointInputs() {
+            return checkpointInputs;
+        }
+
+        @Override
+        public Collection<Artifact> process(Collection<Artifact> intermediates) {
+            return intermediates;
+        }
+    }
+
+    private static class NotSerializableFact implements ArtifactFact<NotSerializableFact> {
+        private final Object payload = new Object();
+
+        @Override
+        public String getFactContentName() {
+            return "Not serializable";
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return false;
+        }
+
+        @Override
+        public String prettyPrint() {
+            return "Not serializable " + payload.getClass().getName();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.xml;
+
+import org.eclipse.sw360.antenna.model.xml.generated.AntennaConfig;
+import org.junit.After;
+import org.junit.Test;
+
+import javax.xml.bind.Unmarshaller;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class XMLContextCacheTest {
+
+    @After
+    public void tearDown() {
+        XMLContextCache.clear();
+    }
+
+    @Test
+    public void contextAndSchemaAreShared() throws Exception {
+        assertThat(XMLContextCache.getContext(AntennaConfig.class))
+                .isSameAs(XMLContextCache.getContext(AntennaConfig.class));
+        assertThat(XMLContextCache.getSchema(AntennaConfig.getConfigXsd()))
+                .isSameAs(XMLContextCache.getSchema(AntennaConfig.getConfigXsd()));
+    }
+
+    @Test
+    public void unmarshallersArePerThread() throws Exception {
+        Unmarshaller unmarshaller = XMLContextCache.getUnmarshaller(AntennaConfig.class);
+        AtomicReference<Unmarshaller> otherThreadsUnmarshaller = new AtomicReference<>();
+        Thread otherThread = new Thread(() -> {
+            try {
+                otherThreadsUnmarshaller.set(XMLContextCache.getUnmarshaller(AntennaConfig.class));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        otherThread.start();
+        otherThread.join();
+
+        assertThat(XMLContextCache.getUnmarshaller(AntennaConfig.class)).isSameAs(unmarshaller);
+        assertThat(otherThreadsUnmarshaller.get()).isNotNull().isNotSameAs(unmarshaller);
+    }
+
+    @Test
+    public void clearedCacheCreatesNewObjects() throws Exception {
+        Unmarshaller unmarshaller = XMLContextCache.getUnmarshaller(AntennaConfig.class);
+
+        XMLContextCache.clear();
+
+        assertThat(XMLContextCache.getUnmarshaller(AntennaConfig.class)).isNotSameAs(unmarshaller);
+    }
+}
@@ -52,7 +52,8 @@ public interface HttpClient {
      * established, the resulting future is failed with the corresponding
      * exception. Otherwise, the {@code ResponseProcessor} is invoked with a
      * representation of the response; the outcome of this object is then used
-     * to complete the result future.
+     * to complete the result future. Cancelling the result future cancels
+     * the request, also while the response is being processed.
      *
      * @param producer  the object to produce the request
      * @param processor the object to process the response
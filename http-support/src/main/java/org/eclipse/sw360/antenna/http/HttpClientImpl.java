@@ -56,10 +56,28 @@ class HttpClientImpl implements HttpClient {
         CompletableFuture<T> resultFuture = new CompletableFuture<>();
         Request request = builder.build();
         LOG.debug("HTTP request {} {}", request.method(), request.url());
-        getClient().newCall(request).enqueue(createCallback(processor, resultFuture));
+        Call call = getClient().newCall(request);
+        cancelCallWithFuture(call, resultFuture);
+        call.enqueue(createCallback(processor, resultFuture));
         return resultFuture;
     }
 
+    /**
+     * Makes sure that the given call is cancelled when its result future is
+     * cancelled, so that clients no longer interested in the result do not
+     * keep the connection busy, e.g. by transferring a large response.
+     *
+     * @param call         the call to cancel
+     * @param resultFuture the result future of the call
+     */
+    static void cancelCallWithFuture(Call call, CompletableFuture<?> resultFuture) {
+        resultFuture.whenComplete((result, exception) -> {
+            if (resultFuture.isCancelled()) {
+                call.cancel();
+            }
+        });
+    }
+
     /**
      * Returns a callback to be notified by the underlying HTTP client with the
      * result of the asynchronous request execution. This callback is
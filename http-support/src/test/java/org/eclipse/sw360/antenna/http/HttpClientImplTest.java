@@ -26,6 +26,7 @@ import java.util.concurrent.CompletionException;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -159,6 +160,26 @@ public class HttpClientImplTest {
         verify(response).close();
     }
 
+    @Test
+    public void testCallIsCancelledWithTheFuture() {
+        Call call = createCallMock();
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        HttpClientImpl.cancelCallWithFuture(call, future);
+
+        future.cancel(true);
+        verify(call).cancel();
+    }
+
+    @Test
+    public void testCallIsNotCancelledWhenTheFutureCompletes() {
+        Call call = createCallMock();
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        HttpClientImpl.cancelCallWithFuture(call, future);
+
+        future.complete(new Object());
+        verify(call, never()).cancel();
+    }
+
     @Test
     public void testCallbackErrorHandling() {
         CompletableFuture<Object> future = new CompletableFuture<>();
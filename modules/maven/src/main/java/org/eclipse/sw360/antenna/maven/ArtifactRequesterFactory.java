@@ -33,7 +33,7 @@ public class ArtifactRequesterFactory {
                                                           boolean isMavenInstalled,
                                                           URL sourcesRepositoryUrl) {
         if (isMavenInstalled) {
-            return useMavenIfRunning(optionalRepositorySystem, optionalMavenProject, optionalLegacySupport, Optional.of(sourcesRepositoryUrl))
+            return useMavenIfRunning(optionalRepositorySystem, optionalMavenProject, optionalLegacySupport, Optional.of(sourcesRepositoryUrl), Optional.empty())
                     .orElse(new MavenInvokerRequester(basedir, sourcesRepositoryUrl));
         }
         return new HttpRequester(httpClient, sourcesRepositoryUrl);
@@ -46,25 +46,53 @@ public class ArtifactRequesterFactory {
                                                           HttpClient httpClient,
                                                           boolean isMavenInstalled) {
         if (isMavenInstalled) {
-            return useMavenIfRunning(optionalRepositorySystem, optionalMavenProject, optionalLegacySupport, Optional.empty())
+            return useMavenIfRunning(optionalRepositorySystem, optionalMavenProject, optionalLegacySupport, Optional.empty(), Optional.empty())
                     .orElse(new MavenInvokerRequester(basedir));
         }
         return new HttpRequester(httpClient);
     }
 
+    /**
+     * Returns a requester like the other factory methods, which applies the
+     * given settings. If no Maven installation is used, the jar files are
+     * downloaded via HTTP and taken from the download cache if possible;
+     * Maven based requesters use the local Maven repository as their cache
+     * instead. Only requests via HTTP use all repositories and hedge their
+     * requests, Maven based requesters use the first repository together
+     * with the repositories Maven knows.
+     */
+    public static IArtifactRequester getArtifactRequester(Optional<RepositorySystem> optionalRepositorySystem,
+                                                          Optional<MavenProject> optionalMavenProject,
+                                                          Optional<LegacySupport> optionalLegacySupport,
+                                                          File basedir,
+                                                          HttpClient httpClient,
+                                                          boolean isMavenInstalled,
+                                                          ArtifactRequesterSettings settings) {
+        if (isMavenInstalled) {
+            Optional<URL> sourcesRepositoryUrl = settings.getRepositoryUrls().stream().findFirst();
+            return useMavenIfRunning(optionalRepositorySystem, optionalMavenProject, optionalLegacySupport,
+                    sourcesRepositoryUrl, settings.getMissingArtifactCache())
+                    .orElseGet(() -> sourcesRepositoryUrl
+                            .map(url -> new MavenInvokerRequester(basedir, url))
+                            .orElseGet(() -> new MavenInvokerRequester(basedir)));
+        }
+        return new HttpRequester(httpClient, settings);
+    }
+
     /*
      * Must only be used if Maven installation can be found on system, will result in ClassNotFoundError otherwise
      */
     private static Optional<IArtifactRequester> useMavenIfRunning(Optional<RepositorySystem> optionalRepositorySystem,
                                                                   Optional<MavenProject> optionalMavenProject,
                                                                   Optional<LegacySupport> optionalLegacySupport,
-                                                                  Optional<URL> sourcesRepositoryUrl) {
+                                                                  Optional<URL> sourcesRepositoryUrl,
+                                                                  Optional<MissingArtifactCache> missingArtifactCache) {
         if (optionalRepositorySystem.isPresent() &&
                 optionalMavenProject.isPresent() &&
                 optionalLegacySupport.isPresent()) {
             ArtifactRepository localRepository = optionalLegacySupport.get().getSession().getLocalRepository();
             if (localRepository != null) {
-                return Optional.of(new MavenRuntimeRequester(optionalRepositorySystem.get(), localRepository, optionalMavenProject.get().getRemoteArtifactRepositories(), sourcesRepositoryUrl));
+                return Optional.of(new MavenRuntimeRequester(optionalRepositorySystem.get(), localRepository, optionalMavenProject.get().getRemoteArtifactRepositories(), sourcesRepositoryUrl, missingArtifactCache));
             }
         }
         return Optional.empty();
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.maven;
+
+import org.eclipse.sw360.antenna.util.DownloadCache;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The options of the requesters created by {@link ArtifactRequesterFactory}.
+ * Requesters which cannot apply an option ignore it.
+ */
+public final class ArtifactRequesterSettings {
+    /**
+     * Settings which use no further repositories, caches or limits.
+     */
+    public static final ArtifactRequesterSettings DEFAULT = builder().build();
+
+    private final List<URL> repositoryUrls;
+    private final Optional<DownloadCache> downloadCache;
+    private final Optional<MissingArtifactCache> missingArtifactCache;
+    private final int maxConcurrentRequests;
+    private final int maxRequestsPerHost;
+    private final Duration hedgeDelay;
+    private final boolean orderRepositoriesByLatency;
+
+    private ArtifactRequesterSettings(Builder builder) {
+        repositoryUrls = Collections.unmodifiableList(new ArrayList<>(builder.repositoryUrls));
+        downloadCache = builder.downloadCache;
+        missingArtifactCache = builder.missingArtifactCache;
+        maxConcurrentRequests = builder.maxConcurrentRequests;
+        maxRequestsPerHost = builder.maxRequestsPerHost;
+        hedgeDelay = builder.hedgeDelay;
+        orderRepositoriesByLatency = builder.orderRepositoriesByLatency;
+    }
+
+    /**
+     * Returns a new {@code Builder} which is initialized with the default
+     * settings.
+     *
+     * @return the new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the repositories which are asked before Maven Central, in the
+     * order they are preferred. Only requesters downloading via HTTP use all
+     * of them, Maven based requesters use the first one together with the
+     * repositories Maven knows.
+     *
+     * @return the repositories asked before Maven Central
+     */
+    public List<URL> getRepositoryUrls() {
+        return repositoryUrls;
+    }
+
+    /**
+     * Returns the cache for files downloaded via HTTP. Maven based requesters
+     * use the local Maven repository as their cache instead.
+     *
+     * @return the cache for downloaded files, if any
+     */
+    public Optional<DownloadCache> getDownloadCache() {
+        return downloadCache;
+    }
+
+    /**
+     * Returns the cache of files which were recently not found. Requesters
+     * record the files they do not find in the cache and skip the files it
+     * knows to be missing.
+     *
+     * @return the cache of missing files, if any
+     */
+    public Optional<MissingArtifactCache> getMissingArtifactCache() {
+        return missingArtifactCache;
+    }
+
+    /**
+     * Returns the number of files requested at the same time, which bounds
+     * the number of hedged requests.
+     *
+     * @return the number of concurrent requests
+     */
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * Returns the maximum number of files requested from the same host at
+     * the same time. Requesters which do not know the hosts they download
+     * from ignore the limit.
+     *
+     * @return the maximum number of requests per host, 0 for no limit
+     */
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    /**
+     * Returns the delay after which a further repository is asked if the
+     * current one has not answered. The file which is downloaded first is
+     * used. Requesters which do not choose the repositories themselves ask
+     * them one after the other.
+     *
+     * @return the hedge delay, zero to ask the repositories one after the
+     * other
+     */
+    public Duration getHedgeDelay() {
+        return hedgeDelay;
+    }
+
+    /**
+     * Returns whether the healthy repositories which answered faster so far
+     * are asked first instead of asking the repositories in their configured
+     * order. As the repositories may deliver different files for the same
+     * coordinates, the configured order is kept by default.
+     *
+     * @return whether the repositories are ordered by health and latency
+     */
+    public boolean isOrderRepositoriesByLatency() {
+        return orderRepositoriesByLatency;
+    }
+
+    /**
+     * A builder for {@code ArtifactRequesterSettings}.
+     */
+    public static final class Builder {
+        private final List<URL> repositoryUrls = new ArrayList<>();
+        private Optional<DownloadCache> downloadCache = Optional.empty();
+        private Optional<MissingArtifactCache> missingArtifactCache = Optional.empty();
+        private int maxConcurrentRequests = 1;
+        private int maxRequestsPerHost;
+        private Duration hedgeDelay = Duration.ZERO;
+        private boolean orderRepositoriesByLatency;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds repositories which are asked before Maven Central, after the
+         * repositories added so far.
+         *
+         * @param repositoryUrls the repositories to add
+         * @return this builder
+         */
+        public Builder withRepositoryUrls(List<URL> repositoryUrls) {
+            this.repositoryUrls.addAll(repositoryUrls);
+            return this;
+        }
+
+        public Builder withDownloadCache(Optional<DownloadCache> downloadCache) {
+            this.downloadCache = downloadCache;
+            return this;
+        }
+
+        public Builder withMissingArtifactCache(Optional<MissingArtifactCache> missingArtifactCache) {
+            this.missingArtifactCache = missingArtifactCache;
+            return this;
+        }
+
+        public Builder withMaxConcurrentRequests(int maxConcurrentRequests) {
+            this.maxConcurrentRequests = Math.max(1, maxConcurrentRequests);
+            return this;
+        }
+
+        public Builder withMaxRequestsPerHost(int maxRequestsPerHost) {
+            this.maxRequestsPerHost = maxRequestsPerHost;
+            return this;
+        }
+
+        public Builder withHedgeDelay(Duration hedgeDelay) {
+            this.hedgeDelay = hedgeDelay;
+            return this;
+        }
+
+        public Builder withOrderRepositoriesByLatency(boolean orderRepositoriesByLatency) {
+            this.orderRepositoriesByLatency = orderRepositoriesByLatency;
+            return this;
+        }
+
+        public ArtifactRequesterSettings build() {
+            return new ArtifactRequesterSettings(this);
+        }
+    }
+}
@@ -12,6 +12,8 @@
 package org.eclipse.sw360.antenna.maven;
 
 import org.eclipse.sw360.antenna.http.HttpClient;
+import org.eclipse.sw360.antenna.http.utils.FailedRequestException;
+import org.eclipse.sw360.antenna.http.utils.HttpConstants;
 import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
 import org.eclipse.sw360.antenna.util.HttpHelper;
 import org.slf4j.Logger;
@@ -19,33 +21,89 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * Requests jar files for artifacts by making HTTP requests.
+ * <p>
+ * The configured repositories are asked before Maven Central. If requested,
+ * the order in which the configured repositories are asked adapts to their
+ * health and latency, see {@link RepositoryMirrors}. If requests are hedged, a further repository is
+ * asked as well when a repository has not answered within the hedge delay,
+ * the file which is downloaded first is used and the other requests are
+ * cancelled.
  */
 public class HttpRequester extends IArtifactRequester {
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpRequester.class);
     private static final String GROUP_ID_PLACEHOLDER = "{groupId}";
     private static final String ARTIFACT_ID_PLACEHOLDER = "{artifactId}";
     private static final String VERSION_PLACEHOLDER = "{version}";
+    private static final String SNAPSHOT_VERSION_SUFFIX = "-SNAPSHOT";
+    private static final String HEDGED_DOWNLOAD_SUFFIX = ".part";
+    private static final int ATTEMPTS_PER_HEDGED_REQUEST = 2;
+    private static final long HEDGE_THREAD_KEEP_ALIVE_SECONDS = 60;
     private static final String MAVEN_CENTRAL_URL = "https://repo.maven.apache.org/maven2/" + GROUP_ID_PLACEHOLDER + "/" + ARTIFACT_ID_PLACEHOLDER + "/" + VERSION_PLACEHOLDER + "/";
 
     private HttpHelper httpHelper;
-    private Optional<URL> sourceRepositoryUrl;
+    private final RepositoryMirrors repositories;
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    private final int maxRequestsPerHost;
+    private final MissingArtifactCache missingArtifactCache;
+    private final long hedgeDelayMillis;
+    private final int hedgeThreads;
+    private ExecutorService hedgeExecutor;
 
     public HttpRequester(HttpClient httpClient, URL sourceRepositoryUrl) {
-        super();
-        httpHelper = new HttpHelper(httpClient);
-        this.sourceRepositoryUrl = Optional.of(sourceRepositoryUrl);
+        this(httpClient, ArtifactRequesterSettings.builder()
+                .withRepositoryUrls(Collections.singletonList(sourceRepositoryUrl))
+                .build());
     }
 
     public HttpRequester(HttpClient httpClient) {
+        this(httpClient, ArtifactRequesterSettings.DEFAULT);
+    }
+
+    /**
+     * Creates a requester which downloads from the repositories of the given
+     * settings and applies all of their options.
+     *
+     * @param httpClient the client used for the downloads
+     * @param settings   the repositories, caches and limits to use
+     */
+    public HttpRequester(HttpClient httpClient, ArtifactRequesterSettings settings) {
         super();
-        httpHelper = new HttpHelper(httpClient);
-        this.sourceRepositoryUrl = Optional.empty();
+        httpHelper = new HttpHelper(httpClient, settings.getDownloadCache());
+        List<String> repositoryTemplates = settings.getRepositoryUrls().stream()
+                .map(url -> toRepositoryTemplate(url.toString()))
+                .collect(Collectors.toList());
+        repositories = new RepositoryMirrors(repositoryTemplates, MAVEN_CENTRAL_URL);
+        repositories.orderByHealthAndLatency(settings.isOrderRepositoriesByLatency());
+        maxRequestsPerHost = settings.getMaxRequestsPerHost();
+        missingArtifactCache = settings.getMissingArtifactCache().orElse(null);
+        hedgeDelayMillis = settings.getHedgeDelay().toMillis();
+        hedgeThreads = ATTEMPTS_PER_HEDGED_REQUEST * settings.getMaxConcurrentRequests();
     }
 
     @Override
@@ -58,37 +116,229 @@ public class HttpRequester extends IArtifactRequester {
             return Optional.of(localJarFile);
         }
 
-        Optional<File> downloadedFile = downloadFileFromUserUrl(mavenCoordinate, targetDirectory, jarBaseName);
+        String cacheKey = getCacheKey(mavenCoordinate, jarBaseName);
+        List<RepositoryMirrors.Mirror> mirrors = repositories.getOrderedMirrors();
+        long hedgeDelay = hedgeDelayMillis;
+        if (hedgeDelay > 0 && mirrors.size() > 1) {
+            return downloadHedged(mirrors, mavenCoordinate, targetDirectory, jarBaseName, cacheKey, hedgeDelay);
+        }
 
-        if (!downloadedFile.isPresent()) {
-            String mavenCentralJarUrl = getJarUrl(mavenCoordinate, jarBaseName, MAVEN_CENTRAL_URL);
-            return tryFileDownload(mavenCentralJarUrl, targetDirectory, jarBaseName);
+        for (RepositoryMirrors.Mirror mirror : mirrors) {
+            String jarUrl = getJarUrl(mavenCoordinate, jarBaseName, mirror.getUrl());
+            Optional<File> downloadedFile = tryFileDownload(mirror, jarUrl, targetDirectory, jarBaseName, cacheKey);
+            if (downloadedFile.isPresent()) {
+                return downloadedFile;
+            }
         }
-        return downloadedFile;
+        return Optional.empty();
     }
 
-    private Optional<File> downloadFileFromUserUrl(Coordinate mavenCoordinate, Path targetDirectory, String jarBaseName) {
-        if (sourceRepositoryUrl.isPresent()) {
-            String jarUrl = convertToJarUrlTemplate(mavenCoordinate, jarBaseName, sourceRepositoryUrl.get().toString());
-            return tryFileDownload(jarUrl, targetDirectory, jarBaseName);
+    /**
+     * Released artifacts never change, so their jar files can be taken from
+     * the download cache by their coordinates without asking the repository.
+     * Snapshots may change, so they are neither taken from nor stored in the
+     * cache.
+     */
+    static String getCacheKey(Coordinate mavenCoordinate, String jarBaseName) {
+        if (mavenCoordinate.getVersion() == null || mavenCoordinate.getVersion().endsWith(SNAPSHOT_VERSION_SUFFIX)) {
+            return null;
         }
-        return Optional.empty();
+        return mavenCoordinate.getNamespace() + ":" + mavenCoordinate.getName() + ":"
+                + mavenCoordinate.getVersion() + ":" + jarBaseName;
     }
 
-    private String convertToJarUrlTemplate(Coordinate mavenCoordinate, String jarBaseName, String repoTemplate) {
-        String enrichedTemplate = repoTemplate;
-        enrichedTemplate += repoTemplate.endsWith("/") ? "" : "/";
+    private static String toRepositoryTemplate(String repositoryUrl) {
+        String enrichedTemplate = repositoryUrl;
+        enrichedTemplate += repositoryUrl.endsWith("/") ? "" : "/";
         enrichedTemplate += GROUP_ID_PLACEHOLDER + "/" + ARTIFACT_ID_PLACEHOLDER + "/" + VERSION_PLACEHOLDER + "/";
-        return getJarUrl(mavenCoordinate, jarBaseName, enrichedTemplate);
+        return enrichedTemplate;
+    }
+
+    /**
+     * Asks the repositories in the given order, but waits at most the hedge
+     * delay for a repository before asking the next one as well. Every
+     * attempt downloads into a file of its own, the first downloaded file is
+     * moved to the expected location, and the other attempts are cancelled
+     * and their files deleted.
+     */
+    private Optional<File> downloadHedged(List<RepositoryMirrors.Mirror> mirrors, Coordinate mavenCoordinate,
+                                          Path targetDirectory, String jarBaseName, String cacheKey,
+                                          long hedgeDelay) {
+        CompletionService<Optional<File>> attempts = new ExecutorCompletionService<>(getHedgeExecutor());
+        List<Future<Optional<File>>> startedAttempts = new ArrayList<>();
+        AtomicBoolean decided = new AtomicBoolean();
+        int pendingAttempts = 0;
+        try {
+            while (startedAttempts.size() < mirrors.size() || pendingAttempts > 0) {
+                Future<Optional<File>> finishedAttempt = null;
+                if (pendingAttempts > 0) {
+                    finishedAttempt = startedAttempts.size() < mirrors.size()
+                            ? attempts.poll(hedgeDelay, TimeUnit.MILLISECONDS)
+                            : attempts.take();
+                }
+                if (finishedAttempt == null) {
+                    RepositoryMirrors.Mirror mirror = mirrors.get(startedAttempts.size());
+                    if (pendingAttempts > 0) {
+                        LOGGER.debug("No answer for {} within {} ms, asking {} as well", jarBaseName, hedgeDelay, mirror);
+                    }
+                    String jarUrl = getJarUrl(mavenCoordinate, jarBaseName, mirror.getUrl());
+                    String attemptFileName = getAttemptFileName(jarBaseName, startedAttempts.size());
+                    startedAttempts.add(attempts.submit(() ->
+                            tryHedgedDownload(mirror, jarUrl, targetDirectory, attemptFileName, cacheKey, decided)));
+                    pendingAttempts++;
+                    continue;
+                }
+                pendingAttempts--;
+                Optional<File> downloadedFile = getAttemptResult(finishedAttempt);
+                if (downloadedFile.isPresent()) {
+                    Path jarFile = targetDirectory.resolve(jarBaseName);
+                    Files.move(downloadedFile.get().toPath(), jarFile,
+                            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    return Optional.of(jarFile.toFile());
+                }
+            }
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted while waiting to download {}", jarBaseName);
+            return Optional.empty();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to move downloaded jar {}: ", jarBaseName, e);
+            return Optional.empty();
+        } finally {
+            decided.set(true);
+            startedAttempts.forEach(attempt -> attempt.cancel(true));
+            for (int index = 0; index < startedAttempts.size(); index++) {
+                deleteAttemptFile(targetDirectory.resolve(getAttemptFileName(jarBaseName, index)));
+            }
+        }
+    }
+
+    /**
+     * An attempt which completes after the download has been decided deletes
+     * its file itself, as it may have been created after the files of the
+     * attempts were deleted.
+     */
+    private Optional<File> tryHedgedDownload(RepositoryMirrors.Mirror mirror, String jarUrl, Path targetDirectory,
+                                             String fileName, String cacheKey, AtomicBoolean decided) {
+        Optional<File> downloadedFile = tryFileDownload(mirror, jarUrl, targetDirectory, fileName, cacheKey);
+        if (downloadedFile.isPresent() && decided.get()) {
+            deleteAttemptFile(downloadedFile.get().toPath());
+            return Optional.empty();
+        }
+        return downloadedFile;
+    }
+
+    private static Optional<File> getAttemptResult(Future<Optional<File>> attempt) throws InterruptedException {
+        try {
+            return attempt.get();
+        } catch (ExecutionException e) {
+            LOGGER.warn("Failed to find jar: ", e.getCause());
+            return Optional.empty();
+        }
+    }
+
+    private static String getAttemptFileName(String jarBaseName, int index) {
+        return jarBaseName + HEDGED_DOWNLOAD_SUFFIX + index;
     }
 
-    private Optional<File> tryFileDownload(String jarUrl, Path targetDirectory, String jarBaseName) {
+    private static void deleteAttemptFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.debug("Could not delete {}", file, e);
+        }
+    }
+
+    /**
+     * Hedged attempts are executed on a bounded pool, so that slow
+     * repositories cannot pile up threads. Idle threads terminate after a
+     * while, and {@link #close()} stops the pool.
+     */
+    private synchronized ExecutorService getHedgeExecutor() {
+        if (hedgeExecutor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(hedgeThreads, hedgeThreads,
+                    HEDGE_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "http-requester-hedge-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            hedgeExecutor = executor;
+        }
+        return hedgeExecutor;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (hedgeExecutor != null) {
+            hedgeExecutor.shutdownNow();
+            hedgeExecutor = null;
+        }
+    }
+
+    private Optional<File> tryFileDownload(RepositoryMirrors.Mirror mirror, String jarUrl, Path targetDirectory,
+                                           String fileName, String cacheKey) {
+        MissingArtifactCache missingFiles = missingArtifactCache;
+        if (missingFiles != null && missingFiles.isKnownMissing(jarUrl)) {
+            LOGGER.debug("Skipping {}, it was not found recently", jarUrl);
+            return Optional.empty();
+        }
+        Optional<Semaphore> permits = getHostPermits(jarUrl);
+        try {
+            if (permits.isPresent()) {
+                permits.get().acquire();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted while waiting to download {}", jarUrl);
+            return Optional.empty();
+        }
+        long startTime = repositories.nanoTime();
         try {
             LOGGER.debug("HttpRequester with download path " + jarUrl);
-            return Optional.ofNullable(httpHelper.downloadFile(jarUrl, targetDirectory, jarBaseName));
+            File file = httpHelper.downloadFile(jarUrl, targetDirectory, fileName, cacheKey, statusCode -> {
+                if (statusCode < HttpConstants.STATUS_ERR_SERVER) {
+                    mirror.recordResponse(repositories.nanoTime() - startTime);
+                }
+            });
+            if (missingFiles != null) {
+                missingFiles.recordFound(jarUrl);
+            }
+            return Optional.ofNullable(file);
+        } catch (FailedRequestException e) {
+            if (e.getStatusCode() >= HttpConstants.STATUS_ERR_SERVER) {
+                mirror.recordFailure();
+            }
+            if (missingFiles != null && e.getStatusCode() == HttpConstants.STATUS_ERR_NOT_FOUND) {
+                missingFiles.recordMissing(jarUrl);
+            }
+            LOGGER.warn("Failed to find jar: ", e);
+            return Optional.empty();
         } catch (IOException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                LOGGER.debug("Cancelled the download of {}", jarUrl);
+                return Optional.empty();
+            }
+            mirror.recordFailure();
             LOGGER.warn("Failed to find jar: ", e);
             return Optional.empty();
+        } finally {
+            permits.ifPresent(Semaphore::release);
+        }
+    }
+
+    private Optional<Semaphore> getHostPermits(String jarUrl) {
+        int limit = maxRequestsPerHost;
+        if (limit <= 0) {
+            return Optional.empty();
+        }
+        try {
+            String host = new URL(jarUrl).getHost();
+            return Optional.of(hostPermits.computeIfAbsent(host, h -> new Semaphore(limit)));
+        } catch (MalformedURLException e) {
+            return Optional.empty();
         }
     }
 
@@ -14,10 +14,11 @@ import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.Optional;
 
 
-public abstract class IArtifactRequester {
+public abstract class IArtifactRequester implements AutoCloseable {
 
     public static final String JAR_EXTENSION = ".jar";
 
@@ -34,6 +35,33 @@ public abstract class IArtifactRequester {
      */
     public abstract Optional<File> requestFile(Coordinate mavenCoordinate, Path targetDirectory, ClassifierInformation classifierInformation);
 
+    /**
+     * Announces the files which are going to be requested via
+     * {@link #requestFile(Coordinate, Path, ClassifierInformation)}, so that
+     * requesters with a high cost per request can fetch them in bulk. Files
+     * which are fetched are stored where {@code requestFile} expects them;
+     * files which cannot be fetched are simply requested one by one later on.
+     * By default nothing is fetched in advance.
+     *
+     * @param mavenCoordinates the artifacts whose files are going to be requested
+     * @param targetDirectory  where the files will be stored
+     * @param classifiers      the classifiers which are going to be requested
+     *                         for every artifact
+     */
+    public void prefetchFiles(Collection<Coordinate> mavenCoordinates, Path targetDirectory,
+                              Collection<ClassifierInformation> classifiers) {
+        // requested one by one by default
+    }
+
+    /**
+     * Releases the resources held for requesting files, e.g. threads. By
+     * default nothing is held.
+     */
+    @Override
+    public void close() {
+        // nothing to release by default
+    }
+
     String getExpectedJarBaseName(Coordinate mavenCoordinate, ClassifierInformation classifierInformation) {
         return mavenCoordinate.getName() + "-" + mavenCoordinate.getVersion()
                 + (classifierInformation.classifier.isEmpty() ? JAR_EXTENSION : "-" + classifierInformation.classifier + JAR_EXTENSION);
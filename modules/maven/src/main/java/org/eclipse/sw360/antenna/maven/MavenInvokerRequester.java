@@ -20,11 +20,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Requests jar files for artifacts by using Maven Invoker. Use of this class
@@ -43,6 +53,8 @@ public class MavenInvokerRequester extends IArtifactRequester {
     private static final String MVN_ARG_CLASSIFIER = "\"-Dclassifier=%s\"";
     private static final String MVN_ARG_REPOS = "\"-DremoteRepositories=%s\"";
     private static final String MVN_DOWNLOAD_CMD = "dependency:get --quiet";
+    private static final String MVN_BATCH_DOWNLOAD_CMD = "validate --quiet";
+    private static final String DEPENDENCY_PLUGIN_VERSION = "3.1.2";
     private final File basedir;
 
     private DefaultInvoker defaultInvoker;
@@ -91,6 +103,141 @@ public class MavenInvokerRequester extends IArtifactRequester {
         return Optional.of(getExpectedJarFile(mavenCoordinate, targetDirectory, classifierInformation));
     }
 
+    /**
+     * Downloads the files of all given artifacts with one Maven process
+     * instead of one process per file. A temporary pom declares the artifacts
+     * as dependencies without their transitive dependencies, and one
+     * {@code dependency:copy-dependencies} execution per classifier copies
+     * them to the target directory under the names expected by
+     * {@link #requestFile(Coordinate, Path, ClassifierInformation)}.
+     * <p>
+     * As a pom can declare only one version of an artifact, artifacts with
+     * several versions need one process per version. Missing classifier
+     * artifacts are skipped, if the resolution of a binary artifact fails the
+     * remaining files are requested one by one.
+     */
+    @Override
+    public void prefetchFiles(Collection<Coordinate> mavenCoordinates, Path targetDirectory,
+                              Collection<ClassifierInformation> classifiers) {
+        Set<String> distinctClassifiers = classifiers.stream()
+                .map(classifierInformation -> classifierInformation.classifier)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        List<Coordinate> missingCoordinates = mavenCoordinates.stream()
+                .distinct()
+                .filter(coordinate -> classifiers.stream()
+                        .anyMatch(classifier -> !getExpectedJarFile(coordinate, targetDirectory, classifier).exists()))
+                .collect(Collectors.toList());
+
+        for (List<Coordinate> batch : splitIntoBatchesWithUniqueArtifacts(missingCoordinates)) {
+            LOGGER.debug("Requesting {} artifacts with a single Maven invocation", batch.size());
+            if (!callMavenInvokerForBatch(batch, targetDirectory, distinctClassifiers)) {
+                LOGGER.info("Maven could not resolve all of {} artifacts at once, the missing files are requested one by one.",
+                        batch.size());
+            }
+        }
+    }
+
+    static List<List<Coordinate>> splitIntoBatchesWithUniqueArtifacts(Collection<Coordinate> mavenCoordinates) {
+        List<Map<String, Coordinate>> batches = new ArrayList<>();
+        for (Coordinate coordinate : mavenCoordinates) {
+            String artifactKey = coordinate.getNamespace() + ":" + coordinate.getName();
+            Map<String, Coordinate> batch = batches.stream()
+                    .filter(existingBatch -> !existingBatch.containsKey(artifactKey))
+                    .findFirst()
+                    .orElseGet(() -> {
+                        Map<String, Coordinate> newBatch = new LinkedHashMap<>();
+                        batches.add(newBatch);
+                        return newBatch;
+                    });
+            batch.put(artifactKey, coordinate);
+        }
+        return batches.stream()
+                .map(batch -> new ArrayList<>(batch.values()))
+                .collect(Collectors.toList());
+    }
+
+    private boolean callMavenInvokerForBatch(List<Coordinate> mavenCoordinates, Path targetDirectory, Set<String> classifiers) {
+        Path batchPom = null;
+        try {
+            batchPom = Files.createTempFile("antenna-batch-download", ".xml");
+            Files.write(batchPom, createBatchPom(mavenCoordinates, targetDirectory, classifiers)
+                    .getBytes(StandardCharsets.UTF_8));
+
+            InvocationRequest request = new DefaultInvocationRequest();
+            request.setPomFile(batchPom.toFile());
+            request.setGoals(Collections.singletonList(MVN_BATCH_DOWNLOAD_CMD));
+            request.setOutputHandler(LOGGER::debug);
+            return callMavenInvocationRequest(request);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to create the pom for a batch download: {}", e.getMessage());
+            return false;
+        } finally {
+            deleteQuietly(batchPom);
+        }
+    }
+
+    String createBatchPom(List<Coordinate> mavenCoordinates, Path targetDirectory, Set<String> classifiers) {
+        StringBuilder pom = new StringBuilder()
+                .append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n")
+                .append("  <modelVersion>4.0.0</modelVersion>\n")
+                .append("  <groupId>org.eclipse.sw360.antenna</groupId>\n")
+                .append("  <artifactId>antenna-batch-download</artifactId>\n")
+                .append("  <version>1</version>\n")
+                .append("  <packaging>pom</packaging>\n");
+        sourceRepositoryUrl.ifPresent(url -> pom
+                .append("  <repositories><repository><id>antenna-sources</id><url>")
+                .append(escapeXml(url.toString()))
+                .append("</url></repository></repositories>\n"));
+
+        pom.append("  <dependencies>\n");
+        for (Coordinate coordinate : mavenCoordinates) {
+            pom.append("    <dependency><groupId>").append(escapeXml(coordinate.getNamespace()))
+                    .append("</groupId><artifactId>").append(escapeXml(coordinate.getName()))
+                    .append("</artifactId><version>").append(escapeXml(coordinate.getVersion()))
+                    .append("</version><exclusions><exclusion><groupId>*</groupId><artifactId>*</artifactId>")
+                    .append("</exclusion></exclusions></dependency>\n");
+        }
+        pom.append("  </dependencies>\n")
+                .append("  <build><plugins><plugin>\n")
+                .append("    <groupId>org.apache.maven.plugins</groupId>\n")
+                .append("    <artifactId>maven-dependency-plugin</artifactId>\n")
+                .append("    <version>").append(DEPENDENCY_PLUGIN_VERSION).append("</version>\n")
+                .append("    <executions>\n");
+        int executionId = 0;
+        for (String classifier : classifiers) {
+            pom.append("      <execution><id>antenna-").append(executionId++)
+                    .append("</id><phase>validate</phase><goals><goal>copy-dependencies</goal></goals><configuration>")
+                    .append("<outputDirectory>").append(escapeXml(targetDirectory.toAbsolutePath().toString()))
+                    .append("</outputDirectory><excludeTransitive>true</excludeTransitive>");
+            if (!classifier.isEmpty()) {
+                pom.append("<classifier>").append(escapeXml(classifier)).append("</classifier>")
+                        .append("<failOnMissingClassifierArtifact>false</failOnMissingClassifierArtifact>");
+            }
+            pom.append("</configuration></execution>\n");
+        }
+        return pom.append("    </executions>\n")
+                .append("  </plugin></plugins></build>\n")
+                .append("</project>\n")
+                .toString();
+    }
+
+    private static String escapeXml(String value) {
+        return value.replace("&", "&amp;")
+                .replace("<", "&lt;")
+                .replace(">", "&gt;")
+                .replace("\"", "&quot;");
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LOGGER.debug("Could not delete temporary file {}", file, e);
+            }
+        }
+    }
+
     private boolean callMavenInvoker(Coordinate mavenCoordinate, Path targetDirectory, String classifier) {
         final List<String> mvnDownloadCmd = buildBasicMvnDownloadCmd(mavenCoordinate, targetDirectory);
         sourceRepositoryUrl
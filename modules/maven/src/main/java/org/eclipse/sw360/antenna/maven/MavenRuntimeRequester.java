@@ -44,8 +44,21 @@ public class MavenRuntimeRequester extends IArtifactRequester {
     private final RepositorySystem repositorySystem;
     private final ArtifactRepository localRepository;
     private final List<ArtifactRepository> remoteRepositories;
+    private final MissingArtifactCache missingArtifactCache;
 
     public MavenRuntimeRequester(RepositorySystem repositorySystem, ArtifactRepository localRepository, List<ArtifactRepository> remoteRepositories, Optional<URL> sourcesRepositoryUrl) {
+        this(repositorySystem, localRepository, remoteRepositories, sourcesRepositoryUrl, Optional.empty());
+    }
+
+    /**
+     * Creates a requester like the other constructor, which in addition
+     * skips files that were recently not found and records the files it
+     * does not find.
+     *
+     * @param missingArtifactCache the cache of missing files, if any
+     */
+    public MavenRuntimeRequester(RepositorySystem repositorySystem, ArtifactRepository localRepository, List<ArtifactRepository> remoteRepositories, Optional<URL> sourcesRepositoryUrl,
+                                 Optional<MissingArtifactCache> missingArtifactCache) {
         super();
         if (sourcesRepositoryUrl.isPresent()) {
             List<ArtifactRepository> repositories = new ArrayList<>();
@@ -63,6 +76,7 @@ public class MavenRuntimeRequester extends IArtifactRequester {
         }
         this.repositorySystem = repositorySystem;
         this.localRepository = localRepository;
+        this.missingArtifactCache = missingArtifactCache.orElse(null);
         LOGGER.debug("Maven is running, using the MavenRuntimeRequester for artifact resolution");
     }
 
@@ -83,9 +97,19 @@ public class MavenRuntimeRequester extends IArtifactRequester {
                 ? repositorySystem.createArtifact(groupId, artifactId, version, type)
                 : repositorySystem.createArtifactWithClassifier(groupId, artifactId, version, type, classifier.classifier);
 
+        String classifierExtension = classifier.classifier.isEmpty() ? "" : "-" + classifier.classifier;
+        MissingArtifactCache missingFiles = missingArtifactCache;
+        String location = getLocation(mvnArtifact);
+        if (missingFiles != null && missingFiles.isKnownMissing(location)) {
+            LOGGER.debug("Skipping " + type + " for artifact=[" + groupId + ":" + artifactId + ":" + version + classifierExtension + "], it was not found recently");
+            return Optional.empty();
+        }
+
         ArtifactResolutionResult result = doArtifactRequest(mvnArtifact);
 
-        String classifierExtension = classifier.classifier.isEmpty() ? "" : "-" + classifier.classifier;
+        if (missingFiles != null) {
+            recordResult(missingFiles, location, result, mvnArtifact);
+        }
         if (!wasSuccessful(result, mvnArtifact)) {
             LOGGER.error("Could not successfully fetch " + type + " for artifact=[" + groupId + ":" + artifactId + ":" + version + classifierExtension + "]");
             return Optional.empty();
@@ -121,6 +145,26 @@ public class MavenRuntimeRequester extends IArtifactRequester {
         return repositorySystem.resolve(artifactRequest);
     }
 
+    /**
+     * Files are resolved from all remote repositories at once, so a miss is
+     * recorded for the whole list of repositories.
+     */
+    private String getLocation(Artifact mvnArtifact) {
+        return mvnArtifact.getGroupId() + ":" + mvnArtifact.getArtifactId() + ":" + mvnArtifact.getVersion() + ":"
+                + mvnArtifact.getType() + ":" + (mvnArtifact.hasClassifier() ? mvnArtifact.getClassifier() : "")
+                + "@" + remoteRepositories.stream().map(ArtifactRepository::getUrl).collect(Collectors.joining(","));
+    }
+
+    private void recordResult(MissingArtifactCache missingFiles, String location, ArtifactResolutionResult result,
+                              Artifact mvnArtifact) {
+        List<Artifact> missingArtifacts = result.getMissingArtifacts();
+        if (missingArtifacts != null && missingArtifacts.contains(mvnArtifact)) {
+            missingFiles.recordMissing(location);
+        } else if (wasSuccessful(result, mvnArtifact)) {
+            missingFiles.recordFound(location);
+        }
+    }
+
     private boolean wasSuccessful(ArtifactResolutionResult result, Artifact mvnArtifact) {
         final List<ArtifactResolutionException> resolutionErrors = result.getErrorArtifactExceptions();
         final List<Artifact> missingArtifacts = result.getMissingArtifacts();
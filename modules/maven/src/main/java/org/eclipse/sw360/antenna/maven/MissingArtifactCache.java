@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.maven;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers files which could not be found in a repository, so that they are
+ * not requested again until a time to live has passed. Many artifacts have
+ * no sources jar, and without this cache every run asks every repository for
+ * them again.
+ * <p>
+ * A file is identified by its location, e.g. its URL or its coordinates
+ * together with the repositories it was searched in. The misses are kept in
+ * a properties file with the time they were recorded. It is read when the
+ * cache is created and written by {@link #save()}, which merges the misses
+ * recorded by other processes in the meantime. The cache can be used by
+ * several threads.
+ */
+public class MissingArtifactCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MissingArtifactCache.class);
+
+    private final Path cacheFile;
+    private final long timeToLiveMillis;
+    private final Clock clock;
+    private final Map<String, Long> misses = new ConcurrentHashMap<>();
+    private final Set<String> foundLocations = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param cacheFile  the properties file holding the misses, which is
+     *                   created by {@link #save()} if it does not exist
+     * @param timeToLive how long a file is considered missing after it was
+     *                   not found
+     */
+    public MissingArtifactCache(Path cacheFile, Duration timeToLive) {
+        this(cacheFile, timeToLive, Clock.systemUTC());
+    }
+
+    MissingArtifactCache(Path cacheFile, Duration timeToLive, Clock clock) {
+        this.cacheFile = cacheFile;
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.clock = clock;
+        misses.putAll(readMisses());
+    }
+
+    /**
+     * @param location the location of the file
+     * @return whether the file was not found at this location recently
+     */
+    public boolean isKnownMissing(String location) {
+        Long missedAt = misses.get(location);
+        return missedAt != null && !isExpired(missedAt);
+    }
+
+    /**
+     * Records that the file could not be found at the given location.
+     *
+     * @param location the location of the file
+     */
+    public void recordMissing(String location) {
+        foundLocations.remove(location);
+        misses.put(location, clock.millis());
+    }
+
+    /**
+     * Records that the file was found at the given location, so that an
+     * earlier miss is forgotten.
+     *
+     * @param location the location of the file
+     */
+    public void recordFound(String location) {
+        if (misses.remove(location) != null) {
+            foundLocations.add(location);
+        }
+    }
+
+    /**
+     * Writes the misses which have not expired yet to the cache file. Misses
+     * recorded in the file by other processes are kept.
+     *
+     * @throws IOException if the cache file cannot be written
+     */
+    public void save() throws IOException {
+        Map<String, Long> storedMisses = readMisses();
+        storedMisses.keySet().removeAll(foundLocations);
+        misses.forEach((location, missedAt) -> storedMisses.merge(location, missedAt, Math::max));
+
+        Properties properties = new Properties();
+        storedMisses.forEach((location, missedAt) -> {
+            if (!isExpired(missedAt)) {
+                properties.setProperty(location, Long.toString(missedAt));
+            }
+        });
+
+        Path directory = cacheFile.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path tempFile = Files.createTempFile(directory, cacheFile.getFileName().toString(), null);
+        try {
+            try (OutputStream stream = Files.newOutputStream(tempFile)) {
+                properties.store(stream, "Files which could not be found, with the time of the last request");
+            }
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private boolean isExpired(long missedAt) {
+        return clock.millis() - missedAt >= timeToLiveMillis;
+    }
+
+    private Map<String, Long> readMisses() {
+        Map<String, Long> storedMisses = new ConcurrentHashMap<>();
+        if (!Files.isRegularFile(cacheFile)) {
+            return storedMisses;
+        }
+        Properties properties = new Properties();
+        try (InputStream stream = Files.newInputStream(cacheFile)) {
+            properties.load(stream);
+        } catch (IOException e) {
+            LOGGER.debug("Could not read {}, requesting all files again.", cacheFile, e);
+            return storedMisses;
+        }
+        for (String location : properties.stringPropertyNames()) {
+            try {
+                long missedAt = Long.parseLong(properties.getProperty(location));
+                if (!isExpired(missedAt)) {
+                    storedMisses.put(location, missedAt);
+                }
+            } catch (NumberFormatException e) {
+                LOGGER.debug("Ignoring invalid entry for {} in {}.", location, cacheFile);
+            }
+        }
+        return storedMisses;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.maven;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps track of the health and latency of the repositories files are
+ * downloaded from, and decides in which order they are asked.
+ * <p>
+ * By default the repositories are asked in their configured order, followed
+ * by the fallback repository. Only if the order is adapted to the health and
+ * latency of the repositories, healthy repositories are asked before
+ * repositories which failed several times in a row, and among them the
+ * repositories which answered faster so far are asked first. Repositories
+ * without measurements keep their configured order and are asked before the
+ * measured ones, so that every repository gets measured. The fallback
+ * repository is always asked last.
+ * <p>
+ * The latency of a repository is the time until its response arrives,
+ * without the time needed to transfer the file, so that repositories
+ * answering that they do not have a file are not preferred over the ones
+ * delivering it. A repository answering that it does not have a file is
+ * healthy; only connection errors and server errors count as failures. An
+ * unhealthy repository is asked last until a cool-down period has passed.
+ */
+class RepositoryMirrors {
+    static final int FAILURE_THRESHOLD = 3;
+    static final long COOL_DOWN_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * The weight of the newest latency measurement in the moving average.
+     */
+    private static final double LATENCY_WEIGHT = 0.3;
+
+    private final List<Mirror> mirrors;
+    private final Mirror fallback;
+    private final LongSupplier nanoClock;
+    private volatile boolean adaptiveOrder;
+
+    /**
+     * @param repositoryUrls the URLs of the repositories in their configured
+     *                       order
+     * @param fallbackUrl    the URL of the repository which is asked last
+     */
+    RepositoryMirrors(List<String> repositoryUrls, String fallbackUrl) {
+        this(repositoryUrls, fallbackUrl, System::nanoTime);
+    }
+
+    RepositoryMirrors(List<String> repositoryUrls, String fallbackUrl, LongSupplier nanoClock) {
+        List<Mirror> configuredMirrors = new ArrayList<>(repositoryUrls.size());
+        for (int position = 0; position < repositoryUrls.size(); position++) {
+            configuredMirrors.add(new Mirror(repositoryUrls.get(position), position));
+        }
+        this.mirrors = Collections.unmodifiableList(configuredMirrors);
+        this.fallback = new Mirror(fallbackUrl, repositoryUrls.size());
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @param adaptiveOrder whether the repositories are ordered by their
+     *                      health and latency instead of their configured
+     *                      order
+     */
+    void orderByHealthAndLatency(boolean adaptiveOrder) {
+        this.adaptiveOrder = adaptiveOrder;
+    }
+
+    /**
+     * @return all repositories in the order they should be asked now
+     */
+    List<Mirror> getOrderedMirrors() {
+        List<Mirror> orderedMirrors = new ArrayList<>(mirrors);
+        if (adaptiveOrder) {
+            long now = nanoClock.getAsLong();
+            orderedMirrors.sort(Comparator.<Mirror, Boolean>comparing(mirror -> !mirror.isHealthy(now))
+                    .thenComparingLong(Mirror::getAverageLatencyNanos)
+                    .thenComparingInt(mirror -> mirror.position));
+        }
+        orderedMirrors.add(fallback);
+        return orderedMirrors;
+    }
+
+    long nanoTime() {
+        return nanoClock.getAsLong();
+    }
+
+    /**
+     * A repository together with its statistics. The statistics are updated
+     * by concurrent downloads; as they only influence the order of the
+     * requests, updates which get lost in a race are acceptable.
+     */
+    final class Mirror {
+        private final String url;
+        private final int position;
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile long averageLatencyNanos;
+        private volatile long unhealthySince;
+
+        private Mirror(String url, int position) {
+            this.url = url;
+            this.position = position;
+        }
+
+        String getUrl() {
+            return url;
+        }
+
+        /**
+         * @return the moving average of the response times, 0 if the
+         * repository has not answered yet
+         */
+        long getAverageLatencyNanos() {
+            return averageLatencyNanos;
+        }
+
+        boolean isHealthy(long now) {
+            return consecutiveFailures.get() < FAILURE_THRESHOLD || now - unhealthySince >= COOL_DOWN_NANOS;
+        }
+
+        /**
+         * Records an answer of the repository, whether or not it had the
+         * requested file.
+         *
+         * @param latencyNanos the time until the response of the repository
+         *                     arrived
+         */
+        void recordResponse(long latencyNanos) {
+            consecutiveFailures.set(0);
+            long average = averageLatencyNanos;
+            averageLatencyNanos = average == 0 ? Math.max(1, latencyNanos)
+                    : Math.max(1, Math.round(LATENCY_WEIGHT * latencyNanos + (1 - LATENCY_WEIGHT) * average));
+        }
+
+        /**
+         * Records that the repository could not be reached or failed.
+         */
+        void recordFailure() {
+            if (consecutiveFailures.incrementAndGet() >= FAILURE_THRESHOLD) {
+                unhealthySince = nanoClock.getAsLong();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return url;
+        }
+    }
+}
@@ -13,7 +13,9 @@ package org.eclipse.sw360.antenna.maven.workflow.processors.enricher;
 
 import org.eclipse.sw360.antenna.api.configuration.AntennaContext;
 import org.eclipse.sw360.antenna.api.workflow.AbstractProcessor;
+import org.eclipse.sw360.antenna.api.workflow.ArtifactFactDeclaration;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactCoordinates;
 import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactFile;
 import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
 import org.eclipse.sw360.antenna.model.reporting.MessageType;
@@ -23,6 +25,7 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Optional;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
@@ -110,4 +113,16 @@ public class ManifestResolver extends AbstractProcessor {
         LOGGER.debug("Resolve manifest... done");
         return artifacts;
     }
+
+    @Override
+    public boolean isPerArtifact() {
+        return true;
+    }
+
+    @Override
+    public Optional<ArtifactFactDeclaration> getArtifactFactDeclaration() {
+        return Optional.of(new ArtifactFactDeclaration(
+                Collections.singleton(ArtifactFile.class),
+                Collections.singleton(ArtifactCoordinates.class)));
+    }
 }
@@ -18,23 +18,42 @@ import org.apache.maven.repository.RepositorySystem;
 import org.eclipse.sw360.antenna.api.configuration.ToolConfiguration;
 import org.eclipse.sw360.antenna.api.exceptions.ConfigurationException;
 import org.eclipse.sw360.antenna.api.workflow.AbstractProcessor;
+import org.eclipse.sw360.antenna.maven.MissingArtifactCache;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
 import org.eclipse.sw360.antenna.model.artifact.ArtifactSelector;
+import org.eclipse.sw360.antenna.util.DownloadCache;
 
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 public class MavenArtifactResolver extends AbstractProcessor {
     private static final String PREFERRED_SOURCE_QUALIFIER = "preferredSourceClassifier";
     private static final String SOURCES_REPOSITORY_URL = "sourcesRepositoryUrl";
+    private static final String PARALLELISM = "parallelism";
+    private static final String MAX_REQUESTS_PER_HOST = "maxRequestsPerHost";
+    private static final String MISSING_ARTIFACT_CACHE_HOURS = "missingArtifactCacheHours";
+    private static final String MIRROR_REPOSITORY_URLS = "mirrorRepositoryUrls";
+    private static final String HEDGE_DELAY_MILLIS = "hedgeDelayMillis";
+    private static final String ORDER_REPOSITORIES_BY_LATENCY = "orderRepositoriesByLatency";
+    private static final String MISSING_ARTIFACT_CACHE_FILE = "missing-maven-artifacts.properties";
     private Path dependencyTargetDirectory;
     private List<ArtifactSelector> sourceResolvingBlacklist;
     private String preferredSourceQualifier;
     private URL sourcesRepositoryUrl;
+    private int parallelism = 1;
+    private int maxRequestsPerHost;
+    private int missingArtifactCacheHours;
+    private List<URL> mirrorRepositoryUrls = Collections.emptyList();
+    private int hedgeDelayMillis;
+    private boolean orderRepositoriesByLatency;
 
     public MavenArtifactResolver() {
         this.workflowStepOrder = 300;
@@ -44,18 +63,26 @@ public class MavenArtifactResolver extends AbstractProcessor {
     @Override
     public Collection<Artifact> process(Collection<Artifact> artifacts) {
         ToolConfiguration toolConfig = context.getToolConfiguration();
-        return new MavenArtifactResolverImpl(
-                context.getHttpClient(),
-                context.getGeneric(RepositorySystem.class),
-                context.getGeneric(MavenProject.class),
-                context.getGeneric(LegacySupport.class),
-                dependencyTargetDirectory,
-                sourceResolvingBlacklist,
-                preferredSourceQualifier,
-                sourcesRepositoryUrl,
-                context.getProcessingReporter(),
-                toolConfig.isMavenInstalled(),
-                context.getProject().getBasedir())
+        return MavenArtifactResolverImpl.builder()
+                .withHttpClient(context.getHttpClient())
+                .withMavenRuntime(context.getGeneric(RepositorySystem.class),
+                        context.getGeneric(MavenProject.class),
+                        context.getGeneric(LegacySupport.class))
+                .withDependencyTargetDirectory(dependencyTargetDirectory)
+                .withSourceResolvingBlacklist(sourceResolvingBlacklist)
+                .withPreferredSourceQualifier(preferredSourceQualifier)
+                .withSourcesRepositoryUrl(sourcesRepositoryUrl)
+                .withProcessingReporter(context.getProcessingReporter())
+                .withMavenInstalled(toolConfig.isMavenInstalled())
+                .withBasedir(context.getProject().getBasedir())
+                .withParallelism(parallelism)
+                .withMaxRequestsPerHost(maxRequestsPerHost)
+                .withDownloadCache(DownloadCache.of(toolConfig))
+                .withMissingArtifactCache(createMissingArtifactCache(toolConfig))
+                .withMirrorRepositoryUrls(mirrorRepositoryUrls)
+                .withHedgeDelay(Duration.ofMillis(hedgeDelayMillis))
+                .withOrderRepositoriesByLatency(orderRepositoriesByLatency)
+                .build()
                 .process(artifacts);
     }
 
@@ -72,5 +99,44 @@ public class MavenArtifactResolver extends AbstractProcessor {
             }
         }
         preferredSourceQualifier = configMap.get(PREFERRED_SOURCE_QUALIFIER);
+        parallelism = getIntegerConfigValue(PARALLELISM, configMap, 1);
+        maxRequestsPerHost = getIntegerConfigValue(MAX_REQUESTS_PER_HOST, configMap, 0);
+        missingArtifactCacheHours = getIntegerConfigValue(MISSING_ARTIFACT_CACHE_HOURS, configMap, 0);
+        mirrorRepositoryUrls = getUrlListConfigValue(configMap, MIRROR_REPOSITORY_URLS);
+        hedgeDelayMillis = Math.max(0, getIntegerConfigValue(HEDGE_DELAY_MILLIS, configMap, 0));
+        orderRepositoriesByLatency = getBooleanConfigValue(ORDER_REPOSITORIES_BY_LATENCY, configMap);
+    }
+
+    private static List<URL> getUrlListConfigValue(Map<String, String> configMap, String key) {
+        String value = configMap.get(key);
+        if (value == null) {
+            return Collections.emptyList();
+        }
+        List<URL> urls = new ArrayList<>();
+        for (String url : value.split(",")) {
+            if (!url.trim().isEmpty()) {
+                try {
+                    urls.add(new URL(url.trim()));
+                } catch (MalformedURLException e) {
+                    throw new ConfigurationException("The URL '" + url.trim() + "' in '" + key + "' is not valid.");
+                }
+            }
+        }
+        return urls;
+    }
+
+    /**
+     * The misses are kept in the download cache directory if there is one,
+     * as it outlives the target directory of a single workspace.
+     */
+    private Optional<MissingArtifactCache> createMissingArtifactCache(ToolConfiguration toolConfig) {
+        if (missingArtifactCacheHours <= 0) {
+            return Optional.empty();
+        }
+        Path cacheDirectory = toolConfig.getDownloadCacheDirectory() != null
+                ? toolConfig.getDownloadCacheDirectory()
+                : toolConfig.getAntennaTargetDirectory();
+        return Optional.of(new MissingArtifactCache(cacheDirectory.resolve(MISSING_ARTIFACT_CACHE_FILE),
+                Duration.ofHours(missingArtifactCacheHours)));
     }
 }
\ No newline at end of file
@@ -18,14 +18,19 @@ import org.eclipse.sw360.antenna.api.IProcessingReporter;
 import org.eclipse.sw360.antenna.api.exceptions.ExecutionException;
 import org.eclipse.sw360.antenna.http.HttpClient;
 import org.eclipse.sw360.antenna.maven.ArtifactRequesterFactory;
+import org.eclipse.sw360.antenna.maven.ArtifactRequesterSettings;
 import org.eclipse.sw360.antenna.maven.ClassifierInformation;
 import org.eclipse.sw360.antenna.maven.IArtifactRequester;
+import org.eclipse.sw360.antenna.maven.MissingArtifactCache;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
 import org.eclipse.sw360.antenna.model.artifact.ArtifactSelector;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactSelectorIndex;
 import org.eclipse.sw360.antenna.model.artifact.facts.java.ArtifactJar;
 import org.eclipse.sw360.antenna.model.artifact.facts.java.ArtifactSourceJar;
 import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
 import org.eclipse.sw360.antenna.model.reporting.MessageType;
+import org.eclipse.sw360.antenna.util.DownloadCache;
+import org.eclipse.sw360.antenna.workflow.WorkflowStepExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,8 +39,13 @@ import java.io.IOException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -45,38 +55,55 @@ public class MavenArtifactResolverImpl {
 
     private final IProcessingReporter processingReporter;
     private final Path dependencyTargetDirectory;
-    private final List<ArtifactSelector> sourceResolvingBlacklist;
+    private final ArtifactSelectorIndex sourceResolvingBlacklist;
     private final String preferredSourceQualifier;
-    private final URL sourcesRepositoryUrl;
     private final HttpClient httpClient;
     private final Optional<RepositorySystem> optionalRepositorySystem;
     private final Optional<MavenProject> optionalMavenProject;
     private final Optional<LegacySupport> optionalLegacySupport;
     private final boolean isMavenInstalled;
     private final File basedir;
+    private final int parallelism;
+    private final ArtifactRequesterSettings requesterSettings;
 
-    public MavenArtifactResolverImpl(HttpClient httpClient,
-                                     Optional<RepositorySystem> optionalRepositorySystem,
-                                     Optional<MavenProject> optionalMavenProject,
-                                     Optional<LegacySupport> optionalLegacySupport,
-                                     Path dependencyTargetDirectory,
-                                     List<ArtifactSelector> sourceResolvingBlacklist,
-                                     String preferredSourceQualifier,
-                                     URL sourcesRepositoryUrl,
-                                     IProcessingReporter processingReporter,
-                                     boolean isMavenInstalled,
-                                     File basedir) {
-        this.dependencyTargetDirectory = dependencyTargetDirectory;
-        this.sourceResolvingBlacklist = sourceResolvingBlacklist;
-        this.sourcesRepositoryUrl = sourcesRepositoryUrl;
-        this.preferredSourceQualifier = preferredSourceQualifier;
-        this.processingReporter = processingReporter;
-        this.httpClient = httpClient;
-        this.optionalRepositorySystem = optionalRepositorySystem;
-        this.optionalMavenProject = optionalMavenProject;
-        this.optionalLegacySupport = optionalLegacySupport;
-        this.isMavenInstalled = isMavenInstalled;
-        this.basedir = basedir;
+    private MavenArtifactResolverImpl(Builder builder) {
+        this.dependencyTargetDirectory = builder.dependencyTargetDirectory;
+        this.sourceResolvingBlacklist = ArtifactSelectorIndex.of(builder.sourceResolvingBlacklist);
+        this.preferredSourceQualifier = builder.preferredSourceQualifier;
+        this.processingReporter = builder.processingReporter;
+        this.httpClient = builder.httpClient;
+        this.optionalRepositorySystem = builder.optionalRepositorySystem;
+        this.optionalMavenProject = builder.optionalMavenProject;
+        this.optionalLegacySupport = builder.optionalLegacySupport;
+        this.isMavenInstalled = builder.isMavenInstalled;
+        this.basedir = builder.basedir;
+        this.parallelism = Math.max(1, builder.parallelism);
+
+        List<URL> repositoryUrls = new ArrayList<>();
+        if (builder.sourcesRepositoryUrl != null) {
+            repositoryUrls.add(builder.sourcesRepositoryUrl);
+        }
+        repositoryUrls.addAll(builder.mirrorRepositoryUrls);
+        this.requesterSettings = ArtifactRequesterSettings.builder()
+                .withRepositoryUrls(repositoryUrls)
+                .withDownloadCache(builder.downloadCache)
+                .withMissingArtifactCache(builder.missingArtifactCache)
+                .withMaxConcurrentRequests(parallelism)
+                .withMaxRequestsPerHost(parallelism > 1 ? builder.maxRequestsPerHost : 0)
+                .withHedgeDelay(builder.hedgeDelay)
+                .withOrderRepositoriesByLatency(builder.orderRepositoriesByLatency)
+                .build();
+    }
+
+    /**
+     * Returns a new {@code Builder} for a resolver which resolves the
+     * artifacts one after the other, from the configured repository and
+     * Maven Central, without caches.
+     *
+     * @return the new builder
+     */
+    public static Builder builder() {
+        return new Builder();
     }
 
     public Collection<Artifact> process(Collection<Artifact> artifacts) {
@@ -86,10 +113,20 @@ public class MavenArtifactResolverImpl {
             LOGGER.info("Resolving Maven artifacts succeeded.");
         } catch (IOException e) {
             throw new ExecutionException("Resolving Maven artifacts failed.", e);
+        } finally {
+            requesterSettings.getMissingArtifactCache().ifPresent(MavenArtifactResolverImpl::saveMissingArtifactCache);
         }
         return artifacts;
     }
 
+    private static void saveMissingArtifactCache(MissingArtifactCache cache) {
+        try {
+            cache.save();
+        } catch (IOException e) {
+            LOGGER.warn("Could not save the missing artifact cache, missing files will be requested again.", e);
+        }
+    }
+
     /**
      * Downloads the maven artifacts for the given lists, if possible.
      *
@@ -101,69 +138,344 @@ public class MavenArtifactResolverImpl {
             Files.createDirectories(dependencyTargetDirectory);
         }
 
-        IArtifactRequester artifactRequester = getArtifactRequester();
+        try (IArtifactRequester artifactRequester = getArtifactRequester()) {
+            List<Artifact> filteredArtifacts = artifacts.stream()
+                    .filter(getFilterPredicate())
+                    .filter(artifact -> !isIgnoredForSourceResolving(artifact))
+                    .collect(Collectors.toList());
+            prefetchFiles(filteredArtifacts, artifactRequester);
+            if (parallelism > 1) {
+                resolveConcurrently(filteredArtifacts, artifactRequester);
+            } else {
+                for (Artifact artifact : filteredArtifacts) {
+                    download(artifact, artifactRequester, dependencyTargetDirectory)
+                            .ifPresent(files -> attach(artifact, files));
+                }
+            }
+        }
+    }
+
+    /**
+     * Artifacts which would be stored in the same files, because they have
+     * the same name and version, are resolved by the same task one after
+     * the other, so that no file is downloaded by two threads at once. The
+     * facts are attached on the calling thread after all downloads have
+     * finished, in the order of the artifacts.
+     */
+    private void resolveConcurrently(List<Artifact> artifacts, IArtifactRequester artifactRequester) {
+        Map<String, List<Artifact>> artifactsByFileName = new LinkedHashMap<>();
+        artifacts.forEach(artifact -> artifactsByFileName
+                .computeIfAbsent(getFileBaseName(artifact), key -> new ArrayList<>())
+                .add(artifact));
+        List<List<Artifact>> groups = new ArrayList<>(artifactsByFileName.values());
+        LOGGER.debug("Resolving {} Maven artifacts with a parallelism of {}", artifacts.size(), parallelism);
+
+        List<List<Optional<ResolvedFiles>>> results;
+        try (WorkflowStepExecutor executor = new WorkflowStepExecutor("maven-resolver", parallelism)) {
+            results = executor.invokeAll(groups, group -> group.stream()
+                    .map(artifact -> download(artifact, artifactRequester, dependencyTargetDirectory))
+                    .collect(Collectors.toList()));
+        }
+
+        for (int i = 0; i < groups.size(); i++) {
+            List<Artifact> group = groups.get(i);
+            List<Optional<ResolvedFiles>> groupResults = results.get(i);
+            for (int j = 0; j < group.size(); j++) {
+                Artifact artifact = group.get(j);
+                groupResults.get(j).ifPresent(files -> attach(artifact, files));
+            }
+        }
+    }
 
-        List<Artifact> filteredArtifacts = artifacts.stream()
-                .filter(getFilterPredicate())
-                .filter(artifact -> !isIgnoredForSourceResolving(artifact))
+    /**
+     * Lets the requester fetch the files of all artifacts which are still
+     * missing files at once, before they are requested artifact by artifact.
+     */
+    private void prefetchFiles(List<Artifact> artifacts, IArtifactRequester artifactRequester) {
+        List<Coordinate> coordinates = artifacts.stream()
+                .filter(artifact -> !artifact.getSourceFile().isPresent() || !artifact.getFile().isPresent())
+                .map(MavenArtifactResolverImpl::getMavenCoordinate)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
                 .collect(Collectors.toList());
-        for (Artifact artifact : filteredArtifacts) {
-            resolve(artifact, artifactRequester, dependencyTargetDirectory);
+        if (coordinates.isEmpty()) {
+            return;
         }
+
+        List<ClassifierInformation> classifiers = new ArrayList<>();
+        if (preferredSourceQualifier != null) {
+            classifiers.add(new ClassifierInformation(preferredSourceQualifier, true));
+        }
+        classifiers.add(ClassifierInformation.DEFAULT_SOURCE_JAR);
+        classifiers.add(ClassifierInformation.DEFAULT_JAR);
+        artifactRequester.prefetchFiles(coordinates, dependencyTargetDirectory, classifiers);
     }
 
+    private static Optional<Coordinate> getMavenCoordinate(Artifact artifact) {
+        return artifact.getCoordinateForType(Coordinate.Types.MAVEN)
+                .filter(coordinate -> coordinate.getName() != null &&
+                        coordinate.getNamespace() != null &&
+                        Coordinate.Types.MAVEN.equals(coordinate.getType()));
+    }
 
-    private void resolve(Artifact artifact, IArtifactRequester artifactRequester, Path dependencyTargetDirectory) {
-        final Optional<Coordinate> oMavenPurl = artifact.getCoordinateForType(Coordinate.Types.MAVEN);
+    private static String getFileBaseName(Artifact artifact) {
+        return artifact.getCoordinateForType(Coordinate.Types.MAVEN)
+                .map(coordinate -> coordinate.getName() + "-" + coordinate.getVersion())
+                .orElse("");
+    }
+
+    /**
+     * Requests the missing files of the artifact without modifying it.
+     *
+     * @return the requested files, or an empty optional if the artifact has
+     * no usable Maven coordinates
+     */
+    private Optional<ResolvedFiles> download(Artifact artifact, IArtifactRequester artifactRequester, Path dependencyTargetDirectory) {
+        final Optional<Coordinate> oMavenPurl = getMavenCoordinate(artifact);
         if (!oMavenPurl.isPresent()) {
-            return;
+            return Optional.empty();
         }
         final Coordinate coordinate = oMavenPurl.get();
-        if (coordinate.getName() == null ||
-                coordinate.getNamespace() == null ||
-                ! (Coordinate.Types.MAVEN.equals(coordinate.getType()))) {
-            return;
-        }
+
+        boolean hasSourceFile = artifact.getSourceFile().isPresent();
+        Optional<File> sourceJar = Optional.empty();
 
         // Try to download source with preferred qualifier first
-        if (!artifact.getSourceFile().isPresent() && preferredSourceQualifier != null) {
-            Optional<File> sourceJar = artifactRequester.requestFile(coordinate, dependencyTargetDirectory, new ClassifierInformation(preferredSourceQualifier, true));
-            sourceJar.ifPresent(sourceJarFile -> artifact.addFact(new ArtifactSourceJar(sourceJarFile.toPath())));
+        if (!hasSourceFile && preferredSourceQualifier != null) {
+            sourceJar = artifactRequester.requestFile(coordinate, dependencyTargetDirectory, new ClassifierInformation(preferredSourceQualifier, true));
         }
 
-        if (!artifact.getSourceFile().isPresent()) {
-            Optional<File> sourceJar = artifactRequester.requestFile(coordinate, dependencyTargetDirectory, ClassifierInformation.DEFAULT_SOURCE_JAR);
-            sourceJar.ifPresent(sourceJarFile -> artifact.addFact(new ArtifactSourceJar(sourceJarFile.toPath())));
+        if (!hasSourceFile && !sourceJar.isPresent()) {
+            sourceJar = artifactRequester.requestFile(coordinate, dependencyTargetDirectory, ClassifierInformation.DEFAULT_SOURCE_JAR);
         }
 
+        Optional<File> jar = Optional.empty();
         if (!artifact.getFile().isPresent()) {
-            Optional<File> jar = artifactRequester.requestFile(coordinate, dependencyTargetDirectory, ClassifierInformation.DEFAULT_JAR);
-            jar.ifPresent(jarFile -> artifact.addFact(new ArtifactJar(jarFile.toPath())));
+            jar = artifactRequester.requestFile(coordinate, dependencyTargetDirectory, ClassifierInformation.DEFAULT_JAR);
         }
 
+        return Optional.of(new ResolvedFiles(sourceJar, jar));
+    }
+
+    private void attach(Artifact artifact, ResolvedFiles files) {
+        files.sourceJar.ifPresent(sourceJarFile -> artifact.addFact(new ArtifactSourceJar(sourceJarFile.toPath())));
+        files.jar.ifPresent(jarFile -> artifact.addFact(new ArtifactJar(jarFile.toPath())));
+
         if (!artifact.getSourceFile().isPresent() && !artifact.getFile().isPresent()) {
             processingReporter.add(artifact, MessageType.MISSING_SOURCES, "Maven Artifact Coordinates present but non resolvable sources.");
         }
     }
 
+    private static class ResolvedFiles {
+        private final Optional<File> sourceJar;
+        private final Optional<File> jar;
+
+        ResolvedFiles(Optional<File> sourceJar, Optional<File> jar) {
+            this.sourceJar = sourceJar;
+            this.jar = jar;
+        }
+    }
+
     IArtifactRequester getArtifactRequester(){
-        return sourcesRepositoryUrl != null
-                ? ArtifactRequesterFactory.getArtifactRequester(
-                optionalRepositorySystem, optionalMavenProject, optionalLegacySupport,
-                basedir, httpClient, isMavenInstalled, sourcesRepositoryUrl)
-                : ArtifactRequesterFactory.getArtifactRequester(
+        return ArtifactRequesterFactory.getArtifactRequester(
                 optionalRepositorySystem, optionalMavenProject, optionalLegacySupport,
-                basedir, httpClient, isMavenInstalled);
+                basedir, httpClient, isMavenInstalled, requesterSettings);
+    }
+
+    ArtifactRequesterSettings getRequesterSettings() {
+        return requesterSettings;
     }
 
 
     private boolean isIgnoredForSourceResolving(Artifact artifact) {
-        return sourceResolvingBlacklist.stream()
-                .anyMatch(artifactSelector -> artifactSelector.matches(artifact));
+        return sourceResolvingBlacklist.matchesAny(artifact);
     }
 
     private Predicate<Artifact> getFilterPredicate() {
         return artifact -> !artifact.getFlag(Artifact.IS_PROPRIETARY_FLAG_KEY);
     }
 
+    /**
+     * A builder for {@code MavenArtifactResolverImpl}.
+     */
+    public static final class Builder {
+        private HttpClient httpClient;
+        private Optional<RepositorySystem> optionalRepositorySystem = Optional.empty();
+        private Optional<MavenProject> optionalMavenProject = Optional.empty();
+        private Optional<LegacySupport> optionalLegacySupport = Optional.empty();
+        private Path dependencyTargetDirectory;
+        private List<ArtifactSelector> sourceResolvingBlacklist = Collections.emptyList();
+        private String preferredSourceQualifier;
+        private URL sourcesRepositoryUrl;
+        private IProcessingReporter processingReporter;
+        private boolean isMavenInstalled;
+        private File basedir;
+        private int parallelism = 1;
+        private int maxRequestsPerHost;
+        private Optional<DownloadCache> downloadCache = Optional.empty();
+        private Optional<MissingArtifactCache> missingArtifactCache = Optional.empty();
+        private List<URL> mirrorRepositoryUrls = Collections.emptyList();
+        private Duration hedgeDelay = Duration.ZERO;
+        private boolean orderRepositoriesByLatency;
+
+        private Builder() {
+        }
+
+        public Builder withHttpClient(HttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        /**
+         * Sets the objects of a running Maven build. If all of them are
+         * present, the files are requested from the Maven runtime.
+         *
+         * @return this builder
+         */
+        public Builder withMavenRuntime(Optional<RepositorySystem> optionalRepositorySystem,
+                                        Optional<MavenProject> optionalMavenProject,
+                                        Optional<LegacySupport> optionalLegacySupport) {
+            this.optionalRepositorySystem = optionalRepositorySystem;
+            this.optionalMavenProject = optionalMavenProject;
+            this.optionalLegacySupport = optionalLegacySupport;
+            return this;
+        }
+
+        public Builder withDependencyTargetDirectory(Path dependencyTargetDirectory) {
+            this.dependencyTargetDirectory = dependencyTargetDirectory;
+            return this;
+        }
+
+        public Builder withSourceResolvingBlacklist(List<ArtifactSelector> sourceResolvingBlacklist) {
+            this.sourceResolvingBlacklist = sourceResolvingBlacklist;
+            return this;
+        }
+
+        public Builder withPreferredSourceQualifier(String preferredSourceQualifier) {
+            this.preferredSourceQualifier = preferredSourceQualifier;
+            return this;
+        }
+
+        /**
+         * Sets the repository which is asked before the mirror repositories
+         * and Maven Central.
+         *
+         * @param sourcesRepositoryUrl the repository, null for none
+         * @return this builder
+         */
+        public Builder withSourcesRepositoryUrl(URL sourcesRepositoryUrl) {
+            this.sourcesRepositoryUrl = sourcesRepositoryUrl;
+            return this;
+        }
+
+        public Builder withProcessingReporter(IProcessingReporter processingReporter) {
+            this.processingReporter = processingReporter;
+            return this;
+        }
+
+        public Builder withMavenInstalled(boolean isMavenInstalled) {
+            this.isMavenInstalled = isMavenInstalled;
+            return this;
+        }
+
+        public Builder withBasedir(File basedir) {
+            this.basedir = basedir;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of artifacts resolved at the same time. The
+         * files of an artifact are still requested one after the other, and
+         * the facts are only attached to the artifact after all of its
+         * requests have finished.
+         *
+         * @param parallelism the number of artifacts resolved concurrently, 1
+         *                    resolves them one after the other
+         * @return this builder
+         */
+        public Builder withParallelism(int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of concurrent downloads from the same host
+         * if artifacts are resolved concurrently. Only requesters which
+         * download from known hosts can apply it.
+         *
+         * @param maxRequestsPerHost the limit, 0 for no limit
+         * @return this builder
+         */
+        public Builder withMaxRequestsPerHost(int maxRequestsPerHost) {
+            this.maxRequestsPerHost = maxRequestsPerHost;
+            return this;
+        }
+
+        /**
+         * Sets the cache which jar files downloaded via HTTP are taken from
+         * if possible.
+         *
+         * @param downloadCache the cache for downloaded files, if any
+         * @return this builder
+         */
+        public Builder withDownloadCache(Optional<DownloadCache> downloadCache) {
+            this.downloadCache = downloadCache;
+            return this;
+        }
+
+        /**
+         * Sets the cache of files which were recently not found. The cache is
+         * saved after all artifacts have been resolved.
+         *
+         * @param missingArtifactCache the cache of missing files, if any
+         * @return this builder
+         */
+        public Builder withMissingArtifactCache(Optional<MissingArtifactCache> missingArtifactCache) {
+            this.missingArtifactCache = missingArtifactCache;
+            return this;
+        }
+
+        /**
+         * Sets further repositories which are asked after the sources
+         * repository. Only requesters downloading via HTTP use them.
+         *
+         * @param mirrorRepositoryUrls the further repositories
+         * @return this builder
+         */
+        public Builder withMirrorRepositoryUrls(List<URL> mirrorRepositoryUrls) {
+            this.mirrorRepositoryUrls = mirrorRepositoryUrls;
+            return this;
+        }
+
+        /**
+         * Sets the time after which a further repository is asked if a
+         * repository has not answered.
+         *
+         * @param hedgeDelay the hedge delay, zero to ask the repositories one
+         *                   after the other
+         * @return this builder
+         */
+        public Builder withHedgeDelay(Duration hedgeDelay) {
+            this.hedgeDelay = hedgeDelay;
+            return this;
+        }
+
+        /**
+         * Sets whether the repositories other than Maven Central are asked in
+         * the order of their health and latency instead of their configured
+         * order.
+         *
+         * @param orderRepositoriesByLatency whether the repositories are
+         *                                   ordered by health and latency
+         * @return this builder
+         */
+        public Builder withOrderRepositoriesByLatency(boolean orderRepositoriesByLatency) {
+            this.orderRepositoriesByLatency = orderRepositoriesByLatency;
+            return this;
+        }
+
+        public MavenArtifactResolverImpl build() {
+            return new MavenArtifactResolverImpl(this);
+        }
+    }
 }
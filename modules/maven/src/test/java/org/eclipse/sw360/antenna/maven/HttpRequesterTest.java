@@ -12,6 +12,8 @@
 package org.eclipse.sw360.antenna.maven;
 
 import org.eclipse.sw360.antenna.http.HttpClient;
+import org.eclipse.sw360.antenna.http.utils.FailedRequestException;
+import org.eclipse.sw360.antenna.http.utils.HttpConstants;
 import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
 import org.eclipse.sw360.antenna.testing.AntennaTestWithMockedContext;
 import org.eclipse.sw360.antenna.util.HttpHelper;
@@ -24,18 +26,30 @@ import org.mockito.Mockito;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.eclipse.sw360.antenna.testing.util.AntennaTestingUtils.setVariableValueInObject;
+import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.startsWith;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -71,13 +85,14 @@ public class HttpRequesterTest extends AntennaTestWithMockedContext {
         hr.requestFile(mavenCoordinate, targetDirectory, classifierInformation);
 
         String filename = "artifactId-version" + (classifierInformation.isSource ? "-sources" : "") + ".jar";
-        verify(httpHelperMock).downloadFile("http://test.repo/groupId/artifactId/version/" + filename, targetDirectory, filename);
+        verify(httpHelperMock).downloadFile(eq("http://test.repo/groupId/artifactId/version/" + filename), eq(targetDirectory),
+                eq(filename), eq("groupId:artifactId:version:" + filename), any(IntConsumer.class));
     }
 
     @Test
     public void requestFileDealsWithExceptionReturningAnEmptyRequest() throws Exception {
         Path targetDirectory = temporaryFolder.newFolder("target").toPath();
-        when(httpHelperMock.downloadFile(anyString(), eq(targetDirectory), anyString())).thenThrow(new IOException("Failed to download"));
+        when(httpHelperMock.downloadFile(anyString(), eq(targetDirectory), anyString(), anyString(), any(IntConsumer.class))).thenThrow(new IOException("Failed to download"));
 
         Optional<File> file = hr.requestFile(mavenCoordinate, targetDirectory, classifierInformation);
         assertThat(file).isEmpty();
@@ -93,6 +108,67 @@ public class HttpRequesterTest extends AntennaTestWithMockedContext {
 
         hr.requestFile(mavenCoordinate, targetDirectory, classifierInformation);
 
-        verify(httpHelperMock, never()).downloadFile(anyString(), eq(targetDirectory), anyString());
+        verify(httpHelperMock, never()).downloadFile(anyString(), eq(targetDirectory), anyString(), anyString(), any(IntConsumer.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void requestFileSkipsFilesRecentlyNotFound() throws Exception {
+        Path targetDirectory = temporaryFolder.newFolder("target").toPath();
+        hr = new HttpRequester(mock(HttpClient.class), ArtifactRequesterSettings.builder()
+                .withRepositoryUrls(Collections.singletonList(new URL("http://test.repo")))
+                .withMissingArtifactCache(Optional.of(new MissingArtifactCache(
+                        temporaryFolder.getRoot().toPath().resolve("missing.properties"), Duration.ofHours(1))))
+                .build());
+        setVariableValueInObject(hr, "httpHelper", httpHelperMock);
+        when(httpHelperMock.downloadFile(anyString(), eq(targetDirectory), anyString(), anyString(), any(IntConsumer.class)))
+                .thenThrow(new FailedRequestException("download", HttpConstants.STATUS_ERR_NOT_FOUND));
+
+        assertThat(hr.requestFile(mavenCoordinate, targetDirectory, classifierInformation)).isEmpty();
+        assertThat(hr.requestFile(mavenCoordinate, targetDirectory, classifierInformation)).isEmpty();
+
+        verify(httpHelperMock, times(2)).downloadFile(anyString(), eq(targetDirectory), anyString(), anyString(), any(IntConsumer.class));
+    }
+
+    @Test
+    public void hedgedRequestUsesTheFastestRepositoryAndCancelsTheOthers() throws Exception {
+        Path targetDirectory = temporaryFolder.newFolder("target").toPath();
+        String filename = "artifactId-version" + (classifierInformation.isSource ? "-sources" : "") + ".jar";
+        CountDownLatch slowDownloadCancelled = new CountDownLatch(1);
+        HttpRequester hedgingRequester = new HttpRequester(mock(HttpClient.class), ArtifactRequesterSettings.builder()
+                .withRepositoryUrls(Arrays.asList(new URL("http://slow.repo"), new URL("http://fast.repo")))
+                .withHedgeDelay(Duration.ofMillis(50))
+                .build());
+        setVariableValueInObject(hedgingRequester, "httpHelper", httpHelperMock);
+        when(httpHelperMock.downloadFile(startsWith("http://slow.repo"), eq(targetDirectory), anyString(), any(), any(IntConsumer.class)))
+                .thenAnswer(invocation -> {
+                    Path attemptFile = writeAttemptFile(invocation.getArgument(1), invocation.getArgument(2), "slow");
+                    try {
+                        Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        slowDownloadCancelled.countDown();
+                        throw new InterruptedIOException("cancelled");
+                    }
+                    return attemptFile.toFile();
+                });
+        when(httpHelperMock.downloadFile(startsWith("http://fast.repo"), eq(targetDirectory), anyString(), any(), any(IntConsumer.class)))
+                .thenAnswer(invocation -> writeAttemptFile(invocation.getArgument(1), invocation.getArgument(2), "fast").toFile());
+
+        try {
+            Optional<File> file = hedgingRequester.requestFile(mavenCoordinate, targetDirectory, classifierInformation);
+
+            assertThat(file).contains(targetDirectory.resolve(filename).toFile());
+            assertThat(new String(Files.readAllBytes(targetDirectory.resolve(filename)), StandardCharsets.UTF_8)).isEqualTo("fast");
+            assertThat(slowDownloadCancelled.await(10, TimeUnit.SECONDS)).isTrue();
+            try (Stream<Path> files = Files.list(targetDirectory)) {
+                assertThat(files.map(path -> path.getFileName().toString())).containsExactly(filename);
+            }
+        } finally {
+            hedgingRequester.close();
+        }
+    }
+
+    private static Path writeAttemptFile(Path targetDirectory, String fileName, String content) throws IOException {
+        return Files.write(targetDirectory.resolve(fileName), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -27,8 +27,13 @@ import org.mockito.stubbing.Answer;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -137,4 +142,43 @@ public class MavenInvokerRequesterTest extends AntennaTestWithMockedContext {
         Optional<File> requestResult = mir.requestFile(mavenCoordinate, targetDirectory, ClassifierInformation.DEFAULT_JAR);
         assertThat(requestResult).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void prefetchFilesResolvesAllArtifactsWithOneInvocation() throws Exception {
+        Path targetDirectory = temporaryFolder.newFolder("target").toPath();
+        Coordinate otherCoordinate = new Coordinate(Coordinate.Types.MAVEN, "otherGroupId", "otherArtifactId", "1.0");
+        List<String> batchPoms = new ArrayList<>();
+
+        Mockito.when(defaultInvokerMock.execute(ArgumentMatchers.any(InvocationRequest.class)))
+                .then((Answer<InvocationResult>) invocationOnMock -> {
+                    InvocationRequest request = invocationOnMock.getArgument(0);
+                    batchPoms.add(new String(Files.readAllBytes(request.getPomFile().toPath()), StandardCharsets.UTF_8));
+                    return getDummyInvocationResult(0);
+                });
+
+        mir.prefetchFiles(Arrays.asList(mavenCoordinate, otherCoordinate), targetDirectory,
+                Arrays.asList(ClassifierInformation.DEFAULT_SOURCE_JAR, ClassifierInformation.DEFAULT_JAR));
+
+        Mockito.verify(defaultInvokerMock, Mockito.times(1)).execute(captor.capture());
+        assertThat(batchPoms).hasSize(1);
+        assertThat(batchPoms.get(0))
+                .contains("<artifactId>" + mavenCoordinate.getName() + "</artifactId>")
+                .contains("<artifactId>" + otherCoordinate.getName() + "</artifactId>")
+                .contains("<classifier>sources</classifier>")
+                .contains(targetDirectory.toAbsolutePath().toString());
+        assertThat(captor.getValue().getPomFile()).doesNotExist();
+    }
+
+    @Test
+    public void differentVersionsOfAnArtifactAreSplitIntoSeparateBatches() {
+        Coordinate otherVersion = new Coordinate(Coordinate.Types.MAVEN, "groupId", "artifactId", "otherVersion");
+        Coordinate otherArtifact = new Coordinate(Coordinate.Types.MAVEN, "groupId", "otherArtifactId", "version");
+
+        List<List<Coordinate>> batches = MavenInvokerRequester.splitIntoBatchesWithUniqueArtifacts(
+                Arrays.asList(mavenCoordinate, otherVersion, otherArtifact));
+
+        assertThat(batches).containsExactly(
+                Arrays.asList(mavenCoordinate, otherArtifact),
+                Arrays.asList(otherVersion));
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.maven;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MissingArtifactCacheTest {
+    private static final String LOCATION = "https://repo.example.org/org/example/library/1.0/library-1.0-sources.jar";
+    private static final String OTHER_LOCATION = "https://repo.example.org/org/example/other/1.0/other-1.0-sources.jar";
+    private static final Duration TIME_TO_LIVE = Duration.ofHours(24);
+    private static final Instant NOW = Instant.parse("2021-03-01T10:00:00Z");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path cacheFile;
+
+    @Before
+    public void setUp() {
+        cacheFile = temporaryFolder.getRoot().toPath().resolve("cache").resolve("missing.properties");
+    }
+
+    private MissingArtifactCache createCache(Instant now) {
+        return new MissingArtifactCache(cacheFile, TIME_TO_LIVE, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    @Test
+    public void savedMissesAreKnownUntilTheyExpire() throws IOException {
+        MissingArtifactCache cache = createCache(NOW);
+        cache.recordMissing(LOCATION);
+        cache.save();
+
+        assertThat(cache.isKnownMissing(LOCATION)).isTrue();
+        assertThat(cache.isKnownMissing(OTHER_LOCATION)).isFalse();
+        assertThat(createCache(NOW.plus(Duration.ofHours(23))).isKnownMissing(LOCATION)).isTrue();
+        assertThat(createCache(NOW.plus(TIME_TO_LIVE)).isKnownMissing(LOCATION)).isFalse();
+    }
+
+    @Test
+    public void foundFilesAreForgotten() throws IOException {
+        MissingArtifactCache cache = createCache(NOW);
+        cache.recordMissing(LOCATION);
+        cache.save();
+
+        MissingArtifactCache laterCache = createCache(NOW.plus(Duration.ofHours(1)));
+        laterCache.recordFound(LOCATION);
+        laterCache.save();
+
+        assertThat(laterCache.isKnownMissing(LOCATION)).isFalse();
+        assertThat(createCache(NOW.plus(Duration.ofHours(1))).isKnownMissing(LOCATION)).isFalse();
+    }
+
+    @Test
+    public void missesOfConcurrentRunsAreMerged() throws IOException {
+        MissingArtifactCache firstCache = createCache(NOW);
+        MissingArtifactCache secondCache = createCache(NOW);
+        firstCache.recordMissing(LOCATION);
+        secondCache.recordMissing(OTHER_LOCATION);
+
+        firstCache.save();
+        secondCache.save();
+
+        MissingArtifactCache reloadedCache = createCache(NOW);
+        assertThat(reloadedCache.isKnownMissing(LOCATION)).isTrue();
+        assertThat(reloadedCache.isKnownMissing(OTHER_LOCATION)).isTrue();
+    }
+}
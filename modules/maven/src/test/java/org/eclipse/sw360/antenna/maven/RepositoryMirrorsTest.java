@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.maven;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RepositoryMirrorsTest {
+    private static final String FIRST = "https://first.example.org/repo/";
+    private static final String SECOND = "https://second.example.org/repo/";
+    private static final String THIRD = "https://third.example.org/repo/";
+    private static final String FALLBACK = "https://fallback.example.org/repo/";
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private RepositoryMirrors mirrors;
+
+    @Before
+    public void setUp() {
+        mirrors = new RepositoryMirrors(Arrays.asList(FIRST, SECOND, THIRD), FALLBACK, now::get);
+        mirrors.orderByHealthAndLatency(true);
+    }
+
+    private List<String> orderedUrls() {
+        return mirrors.getOrderedMirrors().stream()
+                .map(RepositoryMirrors.Mirror::getUrl)
+                .collect(Collectors.toList());
+    }
+
+    private RepositoryMirrors.Mirror mirror(String url) {
+        return mirrors.getOrderedMirrors().stream()
+                .filter(mirror -> mirror.getUrl().equals(url))
+                .findFirst()
+                .orElseThrow(IllegalArgumentException::new);
+    }
+
+    @Test
+    public void unmeasuredRepositoriesKeepTheirConfiguredOrder() {
+        assertThat(orderedUrls()).containsExactly(FIRST, SECOND, THIRD, FALLBACK);
+    }
+
+    @Test
+    public void fasterRepositoriesAreAskedFirst() {
+        mirror(FIRST).recordResponse(TimeUnit.MILLISECONDS.toNanos(900));
+        mirror(SECOND).recordResponse(TimeUnit.MILLISECONDS.toNanos(100));
+        mirror(THIRD).recordResponse(TimeUnit.MILLISECONDS.toNanos(300));
+
+        assertThat(orderedUrls()).containsExactly(SECOND, THIRD, FIRST, FALLBACK);
+    }
+
+    @Test
+    public void fallbackIsAlwaysAskedLast() {
+        mirror(FALLBACK).recordResponse(TimeUnit.MILLISECONDS.toNanos(10));
+        mirror(FIRST).recordResponse(TimeUnit.MILLISECONDS.toNanos(900));
+
+        assertThat(orderedUrls()).containsExactly(SECOND, THIRD, FIRST, FALLBACK);
+    }
+
+    @Test
+    public void configuredOrderIsKeptUnlessRequested() {
+        mirrors.orderByHealthAndLatency(false);
+        mirror(FIRST).recordResponse(TimeUnit.MILLISECONDS.toNanos(900));
+        for (int i = 0; i < RepositoryMirrors.FAILURE_THRESHOLD; i++) {
+            mirror(SECOND).recordFailure();
+        }
+
+        assertThat(orderedUrls()).containsExactly(FIRST, SECOND, THIRD, FALLBACK);
+    }
+
+    @Test
+    public void failingRepositoriesAreAskedLastUntilTheCoolDownHasPassed() {
+        mirror(SECOND).recordResponse(TimeUnit.MILLISECONDS.toNanos(100));
+        mirror(THIRD).recordResponse(TimeUnit.MILLISECONDS.toNanos(300));
+        for (int i = 0; i < RepositoryMirrors.FAILURE_THRESHOLD - 1; i++) {
+            mirror(SECOND).recordFailure();
+        }
+        assertThat(orderedUrls()).containsExactly(FIRST, SECOND, THIRD, FALLBACK);
+
+        mirror(SECOND).recordFailure();
+        assertThat(orderedUrls()).containsExactly(FIRST, THIRD, SECOND, FALLBACK);
+
+        now.addAndGet(RepositoryMirrors.COOL_DOWN_NANOS);
+        assertThat(orderedUrls()).containsExactly(FIRST, SECOND, THIRD, FALLBACK);
+    }
+
+    @Test
+    public void answersMakeRepositoriesHealthyAgain() {
+        for (int i = 0; i < RepositoryMirrors.FAILURE_THRESHOLD; i++) {
+            mirror(FIRST).recordFailure();
+        }
+        assertThat(orderedUrls()).containsExactly(SECOND, THIRD, FIRST, FALLBACK);
+
+        mirror(FIRST).recordResponse(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(mirror(FIRST).isHealthy(now.get())).isTrue();
+    }
+}
@@ -33,6 +33,7 @@ import org.mockito.Mock;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -75,13 +76,7 @@ public class MavenArtifactResolverImplTest extends AntennaTestWithMockedContext
         when(toolConfigMock.getAntennaTargetDirectory()).thenReturn(targetDir);
         when(toolConfigMock.getDependenciesDirectory()).thenReturn(targetDir.resolve("dependencies"));
 
-        mavenArtifactResolverImpl = new MavenArtifactResolverImpl(mock(HttpClient.class),
-                antennaContextMock.getGeneric(RepositorySystem.class),
-                antennaContextMock.getGeneric(MavenProject.class),
-                antennaContextMock.getGeneric(LegacySupport.class),
-                toolConfigMock.getDependenciesDirectory(),
-                Collections.emptyList(), null,null, reporterMock, false,
-                antennaContextMock.getProject().getBasedir());
+        mavenArtifactResolverImpl = resolverBuilder().build();
 
         artifacts = Collections.singletonList(mkArtifact("groupId", "artifactId", "version"));
     }
@@ -125,6 +120,35 @@ public class MavenArtifactResolverImplTest extends AntennaTestWithMockedContext
                 .anyMatch(a -> a.askFor(ArtifactFile.class).isPresent())).isFalse();
     }
 
+    @Test
+    public void testConcurrentResolutionAttachesFilesToAllArtifacts() throws IOException {
+        MavenArtifactResolverImpl concurrentResolver = spy(resolverBuilder()
+                .withParallelism(4)
+                .withMaxRequestsPerHost(2)
+                .build());
+        List<Artifact> manyArtifacts = Arrays.asList(
+                mkArtifact("groupId", "artifactId", "1.0"),
+                mkArtifact("groupId", "artifactId", "2.0"),
+                mkArtifact("otherGroupId", "artifactId", "1.0"),
+                mkArtifact("groupId", "otherArtifactId", "1.0"),
+                mkArtifact("groupId", "thirdArtifactId", "1.0"));
+
+        doReturn(requester)
+                .when(concurrentResolver).getArtifactRequester();
+        doReturn(Optional.of(temporaryFolder.newFile("http-downloader-result.jar")))
+                .when(requester).requestFile(any(Coordinate.class), any(Path.class), eq(ClassifierInformation.DEFAULT_JAR));
+        doReturn((Optional.of(temporaryFolder.newFile("http-downloader-result-sources.jar"))))
+                .when(requester).requestFile(any(Coordinate.class), any(Path.class), eq(ClassifierInformation.DEFAULT_SOURCE_JAR));
+
+        Collection<Artifact> result = concurrentResolver.process(manyArtifacts);
+
+        assertThat(result).hasSize(manyArtifacts.size());
+        assertThat(result).allMatch(a -> a.askFor(ArtifactFile.class).isPresent());
+        assertThat(result).allMatch(a -> a.askFor(ArtifactSourceFile.class).isPresent());
+        assertThat(concurrentResolver.getRequesterSettings().getMaxConcurrentRequests()).isEqualTo(4);
+        assertThat(concurrentResolver.getRequesterSettings().getMaxRequestsPerHost()).isEqualTo(2);
+    }
+
     @Test
     public void testWithIncompatibleCoordinates() {
         Artifact artifact = new Artifact()
@@ -142,6 +166,17 @@ public class MavenArtifactResolverImplTest extends AntennaTestWithMockedContext
                 .requestFile(any(Coordinate.class), any(Path.class), any(ClassifierInformation.class));
     }
 
+    private MavenArtifactResolverImpl.Builder resolverBuilder() {
+        return MavenArtifactResolverImpl.builder()
+                .withHttpClient(mock(HttpClient.class))
+                .withMavenRuntime(antennaContextMock.getGeneric(RepositorySystem.class),
+                        antennaContextMock.getGeneric(MavenProject.class),
+                        antennaContextMock.getGeneric(LegacySupport.class))
+                .withDependencyTargetDirectory(toolConfigMock.getDependenciesDirectory())
+                .withProcessingReporter(reporterMock)
+                .withBasedir(antennaContextMock.getProject().getBasedir());
+    }
+
     private Artifact mkArtifact(String groupId, String name, String version) {
         Artifact artifact = new Artifact();
 
@@ -17,6 +17,7 @@ import org.eclipse.sw360.antenna.model.coordinates.Coordinate
 import org.eclipse.sw360.antenna.model.xml.generated.MatchState
 import org.eclipse.sw360.antenna.util.LicenseSupport
 
+import org.ossreviewtoolkit.model.Identifier
 import org.ossreviewtoolkit.model.OrtResult
 import org.ossreviewtoolkit.model.Package
 import org.ossreviewtoolkit.model.VcsInfo
@@ -75,31 +76,44 @@ private fun mapHomepage(pkg: Package): ArtifactHomepage? =
         ArtifactHomepage(it)
     }
 
+/**
+ * Maps the information ORT's analyzer determined for a package to an artifact. This does not depend on the rest of
+ * the ORT result, so packages can be mapped while the result is still being read.
+ */
+fun mapPackage(pkg: Package): Artifact =
+    Artifact("OrtResult").addFact(ArtifactMatchingMetadata(MatchState.EXACT)).also { a ->
+        a.addCoordinate(mapCoordinates(pkg))
+
+        mapSourceUrl(pkg)?.let { a.addFact(it) }
+        mapToArtifactVcsInfo(pkg)?.let { a.addFact(it) }
+        mapDeclaredLicense(pkg)?.let { a.addFact(it) }
+        mapFilename(pkg)?.let { a.addFact(it) }
+        mapHomepage(pkg)?.let { a.addFact(it) }
+    }
+
 class OrtResultArtifactResolver(result: OrtResult) : Function<Package, Artifact> {
     private val licenseFindings = result.collectLicenseFindings()
 
-    private fun mapObservedLicense(pkg: Package): ObservedLicenseInformation? =
-        licenseFindings[pkg.id]?.keys?.map { it.license }?.let {
+    private fun mapObservedLicense(id: Identifier): ObservedLicenseInformation? =
+        licenseFindings[id]?.keys?.map { it.license }?.let {
             ObservedLicenseInformation(LicenseSupport.mapLicenses(it))
         }
 
-    private fun mapCopyrights(pkg: Package): CopyrightStatement? =
-        licenseFindings[pkg.id]?.keys?.flatMap { it.copyrights }
+    private fun mapCopyrights(id: Identifier): CopyrightStatement? =
+        licenseFindings[id]?.keys?.flatMap { it.copyrights }
                 ?.takeUnless { it.isEmpty() }
                 ?.map { CopyrightStatement(it.statement) }
                 ?.reduce(CopyrightStatement::mergeWith)
 
-    override fun apply(pkg: Package): Artifact =
-        Artifact("OrtResult").addFact(ArtifactMatchingMetadata(MatchState.EXACT)).also { a ->
-            a.addCoordinate(mapCoordinates(pkg))
-
-            mapSourceUrl(pkg)?.let { a.addFact(it) }
-            mapToArtifactVcsInfo(pkg)?.let { a.addFact(it) }
-            mapDeclaredLicense(pkg)?.let { a.addFact(it) }
-            mapFilename(pkg)?.let { a.addFact(it) }
-            mapHomepage(pkg)?.let { a.addFact(it) }
+    override fun apply(pkg: Package): Artifact = addScanFindings(mapPackage(pkg), pkg.id)
 
-            mapObservedLicense(pkg)?.let { a.addFact(it) }
-            mapCopyrights(pkg)?.let { a.addFact(it) }
+    /**
+     * Adds the licenses and copyrights the scanner found for the package with the given [id] to an [artifact]
+     * created by [mapPackage].
+     */
+    fun addScanFindings(artifact: Artifact, id: Identifier): Artifact =
+        artifact.also { a ->
+            mapObservedLicense(id)?.let { a.addFact(it) }
+            mapCopyrights(id)?.let { a.addFact(it) }
         }
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2021.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.ort.utils
+
+import com.fasterxml.jackson.core.JsonParser
+import com.fasterxml.jackson.core.JsonToken
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.databind.util.TokenBuffer
+
+import org.ossreviewtoolkit.model.CuratedPackage
+import org.ossreviewtoolkit.model.OrtResult
+import org.ossreviewtoolkit.model.mapper
+
+import java.io.File
+import java.io.IOException
+
+/**
+ * Reads an ORT result file with a token parser instead of binding the whole file at once. The packages found by the
+ * analyzer are passed on one by one while the file is read, so they never have to be held in memory together. Of the
+ * rest of the file only the sections needed to resolve the packages are kept: the repository, the projects found by
+ * the analyzer and the scan results without the raw output of the scanners.
+ */
+class OrtResultStreamReader(private val ortResultFile: File) {
+    companion object {
+        private const val ANALYZER = "analyzer"
+        private const val SCANNER = "scanner"
+        private const val ANALYZER_RESULT = "result"
+        private const val PACKAGES = "packages"
+        private const val RAW_RESULT = "raw_result"
+        private val KEPT_SECTIONS = setOf("repository", ANALYZER, SCANNER, "labels")
+    }
+
+    private val mapper: ObjectMapper = ortResultFile.mapper()
+
+    /**
+     * Reads the file and passes every package of the analyzer result to [packageConsumer], in the order of the file.
+     * Returns the rest of the result, in which the analyzer result does not contain any packages.
+     */
+    @Throws(IOException::class)
+    fun read(packageConsumer: (CuratedPackage) -> Unit): OrtResult =
+        mapper.factory.createParser(ortResultFile).use { parser ->
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw IOException("The file '$ortResultFile' does not contain an ORT result.")
+            }
+
+            val reducedResult = TokenBuffer(parser)
+            copyFields(parser, reducedResult, { it in KEPT_SECTIONS }) { name ->
+                when (name) {
+                    ANALYZER -> copyAnalyzerRun(parser, reducedResult, packageConsumer)
+                    SCANNER -> copyWithoutRawResults(parser, reducedResult)
+                    else -> reducedResult.copyCurrentStructure(parser)
+                }
+            }
+            mapper.readValue(reducedResult.asParser(), OrtResult::class.java)
+        }
+
+    /**
+     * Copies the object the parser is positioned at. The values of the fields accepted by [keep] are passed to
+     * [copyValue] after their names have been written, all other fields are skipped.
+     */
+    private fun copyFields(parser: JsonParser, target: TokenBuffer, keep: (String) -> Boolean = { true },
+                           copyValue: (String) -> Unit) {
+        target.writeStartObject()
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            val name = parser.currentName
+            parser.nextToken()
+            if (!keep(name)) {
+                parser.skipChildren()
+            } else {
+                target.writeFieldName(name)
+                copyValue(name)
+            }
+        }
+        target.writeEndObject()
+    }
+
+    private fun copyAnalyzerRun(parser: JsonParser, target: TokenBuffer, packageConsumer: (CuratedPackage) -> Unit) {
+        if (parser.currentToken != JsonToken.START_OBJECT) {
+            target.copyCurrentStructure(parser)
+            return
+        }
+
+        copyFields(parser, target) { name ->
+            if (name == ANALYZER_RESULT && parser.currentToken == JsonToken.START_OBJECT) {
+                copyFields(parser, target) { resultName ->
+                    if (resultName == PACKAGES) {
+                        target.writeStartArray()
+                        target.writeEndArray()
+                        readPackages(parser, packageConsumer)
+                    } else {
+                        target.copyCurrentStructure(parser)
+                    }
+                }
+            } else {
+                target.copyCurrentStructure(parser)
+            }
+        }
+    }
+
+    private fun readPackages(parser: JsonParser, packageConsumer: (CuratedPackage) -> Unit) {
+        if (parser.currentToken != JsonToken.START_ARRAY) {
+            parser.skipChildren()
+            return
+        }
+
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            packageConsumer(mapper.readValue(parser, CuratedPackage::class.java))
+        }
+    }
+
+    /**
+     * The raw results contain the complete native output of the scanners, which is usually the largest part of a
+     * scanned ORT result and is not needed to collect the license findings.
+     */
+    private fun copyWithoutRawResults(parser: JsonParser, target: TokenBuffer) {
+        when (parser.currentToken) {
+            JsonToken.START_OBJECT -> copyFields(parser, target, { it != RAW_RESULT }) {
+                copyWithoutRawResults(parser, target)
+            }
+            JsonToken.START_ARRAY -> {
+                target.writeStartArray()
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    copyWithoutRawResults(parser, target)
+                }
+                target.writeEndArray()
+            }
+            else -> target.copyCurrentEvent(parser)
+        }
+    }
+}
@@ -11,13 +11,21 @@
  */
 package org.eclipse.sw360.antenna.ort.workflow.analyzers
 
+import org.ossreviewtoolkit.model.CuratedPackage
+import org.ossreviewtoolkit.model.Identifier
 import org.ossreviewtoolkit.model.OrtResult
+import org.ossreviewtoolkit.model.Package
+import org.ossreviewtoolkit.model.RemoteArtifact
+import org.ossreviewtoolkit.model.VcsInfo
 import org.ossreviewtoolkit.model.readValue
 
 import org.eclipse.sw360.antenna.api.workflow.ManualAnalyzer
 import org.eclipse.sw360.antenna.api.workflow.WorkflowStepResult
 import org.eclipse.sw360.antenna.model.artifact.Artifact
 import org.eclipse.sw360.antenna.ort.resolver.OrtResultArtifactResolver
+import org.eclipse.sw360.antenna.ort.resolver.mapPackage
+import org.eclipse.sw360.antenna.ort.utils.OrtResultStreamReader
+import org.eclipse.sw360.antenna.workflow.WorkflowStepExecutor
 
 import org.slf4j.LoggerFactory
 
@@ -27,10 +35,19 @@ import java.io.IOException
 class OrtResultAnalyzer : ManualAnalyzer() {
     companion object {
         private val LOGGER = LoggerFactory.getLogger(OrtResultAnalyzer::class.java)
+
+        /**
+         * The number of packages mapped to artifacts by one task in the streaming mode.
+         */
+        private const val PACKAGES_PER_CHUNK = 64
     }
 
     private val keepExcludedArtifactsProperty = "keep.excluded.artifacts"
+    private val streamingProperty = "streaming"
+    private val parallelismProperty = "parallelism"
     private var omitExcludedArtifacts = true
+    private var streaming = false
+    private var parallelism = Runtime.getRuntime().availableProcessors()
 
     init {
         workflowStepOrder = 700
@@ -43,10 +60,14 @@ class OrtResultAnalyzer : ManualAnalyzer() {
     override fun configure(configMap: Map<String, String>) {
         super.configure(configMap)
         omitExcludedArtifacts = !getBooleanConfigValue(keepExcludedArtifactsProperty, configMap)
+        streaming = getBooleanConfigValue(streamingProperty, configMap)
+        parallelism = getIntegerConfigValue(parallelismProperty, configMap, parallelism)
     }
 
     @Throws(IOException::class)
     fun createArtifactList(ortResultFile: File): Collection<Artifact> {
+        if (streaming) return streamArtifactList(ortResultFile, parallelism)
+
         LOGGER.debug("Creating artifact list from ORT result file '$ortResultFile'.")
 
         val result = ortResultFile.readValue<OrtResult>()
@@ -55,4 +76,70 @@ class OrtResultAnalyzer : ManualAnalyzer() {
         val resolver = OrtResultArtifactResolver(result)
         return result.getPackages(omitExcludedArtifacts).map { (pkg, _) -> resolver.apply(pkg) }.toSet()
     }
+
+    /**
+     * Creates the same artifacts as [createArtifactList] without binding the whole ORT result file at once. The
+     * packages are read one after the other and mapped to artifacts on [parallelism] threads while the file is
+     * read. The scan findings and the excludes are applied after the whole file has been read, as they are stored
+     * after the packages.
+     */
+    @Throws(IOException::class)
+    fun streamArtifactList(ortResultFile: File, parallelism: Int): Collection<Artifact> {
+        LOGGER.debug("Streaming artifact list from ORT result file '$ortResultFile' with a parallelism of $parallelism.")
+
+        val artifacts = mutableListOf<Pair<Identifier, Artifact>>()
+        val executor = WorkflowStepExecutor("ort-package-mapper", parallelism)
+        val result = try {
+            val chunks = mutableListOf<List<Package>>()
+            var chunk = mutableListOf<Package>()
+
+            fun mapChunks() {
+                if (chunk.isNotEmpty()) {
+                    chunks += chunk
+                    chunk = mutableListOf()
+                }
+                executor.invokeAll(chunks) { packages -> packages.map { it.id to mapPackage(it) } }
+                    .forEach { artifacts += it }
+                chunks.clear()
+            }
+
+            val reducedResult = OrtResultStreamReader(ortResultFile).read { (pkg, _) ->
+                chunk.add(pkg)
+                if (chunk.size == PACKAGES_PER_CHUNK) {
+                    chunks += chunk
+                    chunk = mutableListOf()
+                    if (chunks.size >= parallelism) mapChunks()
+                }
+            }
+            mapChunks()
+            reducedResult
+        } finally {
+            executor.close()
+        }
+
+        val analyzerRun = result.analyzer ?: throw IOException("No analyzer run found in ORT result file.")
+
+        // The excludes are evaluated by ORT on a result with placeholders for the packages, which only carry their ids.
+        val packagePlaceholders = artifacts.map { (id, _) -> CuratedPackage(placeholderPackage(id), emptyList()) }
+        val resultWithPackageIds = result.copy(analyzer = analyzerRun.copy(
+            result = analyzerRun.result.copy(packages = packagePlaceholders.toSortedSet())
+        ))
+        val includedIds = resultWithPackageIds.getPackages(omitExcludedArtifacts).map { (pkg, _) -> pkg.id }.toSet()
+
+        val resolver = OrtResultArtifactResolver(result)
+        return artifacts.filter { (id, _) -> id in includedIds }
+            .map { (id, artifact) -> resolver.addScanFindings(artifact, id) }
+            .toSet()
+    }
+
+    private fun placeholderPackage(id: Identifier) =
+        Package(
+            id = id,
+            declaredLicenses = sortedSetOf(),
+            description = "",
+            homepageUrl = "",
+            binaryArtifact = RemoteArtifact.EMPTY,
+            sourceArtifact = RemoteArtifact.EMPTY,
+            vcs = VcsInfo.EMPTY
+        )
 }
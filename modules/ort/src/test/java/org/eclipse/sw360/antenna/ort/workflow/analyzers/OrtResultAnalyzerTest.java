@@ -106,6 +106,16 @@ public class OrtResultAnalyzerTest {
         assertThat(sourceUrls).contains("https://registry.npmjs.org/babel-generator/-/babel-generator-6.26.0.tgz");
     }
 
+    @Test
+    public void testStreamingParsesTheSameArtifacts() throws URISyntaxException, IOException {
+        for (String filename : new String[]{"analyzer-result.yml", "scan-result.yml"}) {
+            File ortResultFile = new File(this.getClass().getClassLoader().getResource(filename).toURI());
+
+            assertThat(ortResultAnalyzer.streamArtifactList(ortResultFile, 2))
+                    .containsExactlyInAnyOrderElementsOf(ortResultAnalyzer.createArtifactList(ortResultFile));
+        }
+    }
+
     private List<String> makeListOfSourceUrlStrings(List<Artifact> artifacts) {
         return artifacts.stream()
                 .map(artifact -> artifact.askForGet(ArtifactSourceUrl.class))
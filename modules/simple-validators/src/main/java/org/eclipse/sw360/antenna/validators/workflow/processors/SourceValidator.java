@@ -15,7 +15,7 @@ import org.eclipse.sw360.antenna.api.IEvaluationResult;
 import org.eclipse.sw360.antenna.api.IPolicyEvaluation;
 import org.eclipse.sw360.antenna.api.IProcessingReporter;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
-import org.eclipse.sw360.antenna.model.artifact.ArtifactSelector;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactSelectorIndex;
 import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
 import org.eclipse.sw360.antenna.model.reporting.MessageType;
 import org.eclipse.sw360.antenna.workflow.stubs.AbstractComplianceChecker;
@@ -40,8 +40,8 @@ import java.util.jar.JarFile;
 public class SourceValidator extends AbstractComplianceChecker {
     private IProcessingReporter reporter;
     private int threshold = 80;
-    private Collection<ArtifactSelector> missingSourcesWhiteList = Collections.emptySet();
-    private Collection<ArtifactSelector> incompleteSourcesWhiteList = Collections.emptySet();
+    private ArtifactSelectorIndex missingSourcesWhiteList = new ArtifactSelectorIndex(Collections.emptySet());
+    private ArtifactSelectorIndex incompleteSourcesWhiteList = new ArtifactSelectorIndex(Collections.emptySet());
     private IEvaluationResult.Severity missingSourcesSeverity;
     private IEvaluationResult.Severity incompleteSourcesSeverity;
 
@@ -50,13 +50,11 @@ public class SourceValidator extends AbstractComplianceChecker {
     }
 
     private boolean isArtifactAllowedToHaveNoSourceJar(Artifact artifact) {
-        return missingSourcesWhiteList.stream()
-                .anyMatch(artifactSelector -> artifactSelector.matches(artifact));
+        return missingSourcesWhiteList.matchesAny(artifact);
     }
 
     private boolean isArtifactAllowedToHaveIncompleteSources(Artifact artifact) {
-        return isArtifactAllowedToHaveNoSourceJar(artifact) ||  incompleteSourcesWhiteList.stream()
-                .anyMatch(artifactSelector -> artifactSelector.matches(artifact));
+        return isArtifactAllowedToHaveNoSourceJar(artifact) || incompleteSourcesWhiteList.matchesAny(artifact);
     }
 
     private List<IEvaluationResult> validateSources(Artifact artifact) {
@@ -182,8 +180,8 @@ public class SourceValidator extends AbstractComplianceChecker {
 
         threshold = Integer.parseInt(getConfigValue("threshold", configMap, "80"));
 
-        missingSourcesWhiteList = context.getConfiguration().getValidForMissingSources();
-        incompleteSourcesWhiteList = context.getConfiguration().getValidForIncompleteSources();
+        missingSourcesWhiteList = ArtifactSelectorIndex.of(context.getConfiguration().getValidForMissingSources());
+        incompleteSourcesWhiteList = ArtifactSelectorIndex.of(context.getConfiguration().getValidForIncompleteSources());
 
         final String MISSING_SOURCES_KEY = "missingSourcesSeverity";
         final String INCOMPLETE_SOURCES_KEY = "incompleteSourcesSeverity";